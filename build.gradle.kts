@@ -8,6 +8,8 @@
 plugins {
     id("java-library")
     id("com.gradleup.shadow") version "8.3.6"
+    // JMH benchmarks for the plugin's hot paths, in the 'jmh' source set (src/jmh/java).
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 // Set the group and version for the MythicForge plugin
@@ -28,6 +30,12 @@ repositories {
     maven { url = uri("https://repo.fancyplugins.de/releases") }
 }
 
+// Headless load test (src/loadtest/java): boots the plugin on MockBukkit with simulated players.
+val loadtest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
 // Define all the external plugins MythicForge needs to hook into
 dependencies {
     // Use Paper API for better performance and more features
@@ -42,6 +50,34 @@ dependencies {
     // This will resolve all the "cannot find symbol" errors related to the NPC system.
     compileOnly("de.oliver:FancyNpcs:2.6.0")
     compileOnly("de.oliver:FancyLib:37")
+
+    // Benchmarks run headless against MockBukkit, which brings a compatible Paper API with it.
+    jmh("com.github.seeseemelk:MockBukkit-v1.20:3.9.0")
+    "loadtestImplementation"("com.github.seeseemelk:MockBukkit-v1.20:3.9.0")
+}
+
+// The benchmarks load the real plugin class, so they need every API it links against at runtime.
+configurations.named("jmhImplementation") {
+    extendsFrom(configurations.compileOnly.get())
+}
+configurations.named("loadtestImplementation") {
+    extendsFrom(configurations.compileOnly.get())
+}
+
+// Run with: gradle jmh            (all benchmarks)
+//           gradle jmh -PjmhIncludes=ItemDecode   (a subset, matched as a regex)
+// Results are written to build/results/jmh/results.json.
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // Allocation rates (gc.alloc.rate.norm) are reported next to every score.
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    if (project.hasProperty("jmhIncludes")) {
+        includes.add(project.property("jmhIncludes").toString())
+    }
 }
 
 // Configure the output JAR file using the shadow plugin
@@ -71,4 +107,52 @@ tasks {
         options.encoding = Charsets.UTF_8.name()
         options.release.set(17)
     }
+
+    named<JavaCompile>("compileJmhJava") {
+        options.encoding = Charsets.UTF_8.name()
+        options.release.set(17)
+    }
+
+    named<JavaCompile>("compileLoadtestJava") {
+        options.encoding = Charsets.UTF_8.name()
+        options.release.set(17)
+    }
+
+    // Simulates ten minutes of play and fails if it regressed against src/loadtest/baseline.json.
+    // Opt-in: it is not part of 'check', so run 'gradle loadTest' as its own CI job on a
+    // dedicated runner. Tune with -PloadTestPlayers, -PloadTestMinutes and -PloadTestThreshold;
+    // record a baseline on that runner with -PupdateLoadTestBaseline and commit it.
+    // Tick-time percentiles are only gated with -PloadTestGateTiming, since wall-clock
+    // times on shared machines vary far more than the threshold.
+    register<JavaExec>("loadTest") {
+        group = "verification"
+        description = "Runs the headless tick-simulation load test against the JSON baseline."
+        classpath = loadtest.runtimeClasspath
+        mainClass.set("com.vortex.mythicforge.loadtest.LoadTestRunner")
+        workingDir = projectDir
+        // A fixed heap keeps the heap measurements comparable between runs.
+        jvmArgs("-Xms1g", "-Xmx1g", "-XX:+UseG1GC")
+        args(
+            "--players=" + (project.findProperty("loadTestPlayers") ?: "200"),
+            "--minutes=" + (project.findProperty("loadTestMinutes") ?: "10"),
+            "--threshold=" + (project.findProperty("loadTestThreshold") ?: "0.25"),
+            "--baseline=src/loadtest/baseline.json",
+            "--results=" + layout.buildDirectory.file("loadtest/results.json").get().asFile.path
+        )
+        if (project.hasProperty("updateLoadTestBaseline")) args("--update-baseline")
+        if (project.hasProperty("loadTestGateTiming")) args("--gate-timing")
+    }
+
+    // Replays recorded combat traces headlessly, e.g.:
+    // gradle replayCombat -Ptraces=recordings/combat-20240101-120000-0.mftrace -PserverContent=/srv/mc/plugins/MythicForge
+    register<JavaExec>("replayCombat") {
+        group = "verification"
+        description = "Replays combat traces recorded with /mf record through the EffectProcessor."
+        classpath = loadtest.runtimeClasspath
+        mainClass.set("com.vortex.mythicforge.loadtest.CombatReplay")
+        workingDir = projectDir
+        project.findProperty("serverContent")?.let { args("--content=$it") }
+        project.findProperty("replayRepeat")?.let { args("--repeat=$it") }
+        args(project.findProperty("traces")?.toString()?.split(",") ?: emptyList<String>())
+    }
 }
@@ -0,0 +1,51 @@
+package com.vortex.mythicforge.benchmarks;
+
+import com.vortex.mythicforge.enchants.CustomEnchant;
+import com.vortex.mythicforge.managers.EnchantmentManager;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checking every registered enchantment against an item, as the enchanting GUIs and the
+ * rotating shop do when they filter content.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public class ApplicabilityBenchmark extends ContentBenchmark {
+
+    private EnchantmentManager enchantmentManager;
+    private List<CustomEnchant> enchants;
+    private ItemStack sword;
+    private ItemStack chestplate;
+
+    @Override
+    protected void setUp() {
+        enchantmentManager = environment.plugin().getEnchantmentManager();
+        enchants = new ArrayList<>(enchantmentManager.getRegisteredEnchants().values());
+        sword = new ItemStack(Material.DIAMOND_SWORD);
+        chestplate = new ItemStack(Material.DIAMOND_CHESTPLATE);
+    }
+
+    @Benchmark
+    public int isApplicableSword() {
+        return countApplicable(sword);
+    }
+
+    @Benchmark
+    public int isApplicableArmor() {
+        return countApplicable(chestplate);
+    }
+
+    private int countApplicable(ItemStack item) {
+        int applicable = 0;
+        for (CustomEnchant enchant : enchants) {
+            if (enchantmentManager.isApplicable(enchant, item)) applicable++;
+        }
+        return applicable;
+    }
+}
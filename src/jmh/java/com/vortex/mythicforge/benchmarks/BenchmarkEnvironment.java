@@ -0,0 +1,166 @@
+package com.vortex.mythicforge.benchmarks;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.google.gson.Gson;
+import com.vortex.mythicforge.MythicForge;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * A headless MythicForge server for benchmarks. It boots the real plugin on MockBukkit and
+ * fills its data folder with generated content, so every benchmark measures the same code
+ * that runs in production against a known amount of content.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class BenchmarkEnvironment {
+
+    private static final String[] TIERS = {"common", "uncommon", "rare", "legendary"};
+    private static final String[] APPLICABLE = {"SWORD", "AXE", "ARMOR", "TOOL", "DIAMOND_SHOVEL"};
+    // Every set requires this many consecutive generated enchantments.
+    static final int SET_SIZE = 4;
+
+    private final ServerMock server;
+    private final MythicForge plugin;
+    private final int contentSize;
+    private final Gson gson = new Gson();
+
+    private BenchmarkEnvironment(int contentSize) {
+        this.contentSize = contentSize;
+        this.server = MockBukkit.mock();
+        this.plugin = MockBukkit.load(MythicForge.class);
+        generateEnchantments();
+        generateSets();
+        plugin.getEnchantmentManager().loadEnchantments();
+        plugin.getSetBonusManager().loadSets();
+    }
+
+    /**
+     * Boots a server with the given amount of content.
+     *
+     * @param contentSize The number of enchantments to generate. One set is generated for
+     *                    every {@value #SET_SIZE} enchantments.
+     * @return The running environment. Must be closed with {@link #stop()}.
+     */
+    public static BenchmarkEnvironment start(int contentSize) {
+        return new BenchmarkEnvironment(contentSize);
+    }
+
+    public void stop() {
+        MockBukkit.unmock();
+    }
+
+    public MythicForge plugin() { return plugin; }
+    public ServerMock server() { return server; }
+    public int contentSize() { return contentSize; }
+
+    public static String enchantId(int index) {
+        return "bench_enchant_" + index;
+    }
+
+    public static String setId(int index) {
+        return "bench_set_" + index;
+    }
+
+    public int setCount() {
+        return Math.max(1, contentSize / SET_SIZE);
+    }
+
+    /**
+     * Creates an item carrying the given enchantments and sockets, written straight to the
+     * item's data so that building large items does not rebuild the lore for every enchant.
+     */
+    public ItemStack createItem(Material material, Map<String, Integer> enchants, List<String> sockets) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+        meta.getPersistentDataContainer().set(new NamespacedKey(plugin, "mythic_enchants_json"),
+                PersistentDataType.STRING, gson.toJson(enchants));
+        meta.getPersistentDataContainer().set(new NamespacedKey(plugin, "mythic_sockets_json"),
+                PersistentDataType.STRING, gson.toJson(sockets));
+        plugin.getItemManager().refreshLore(meta);
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    /**
+     * @return An item carrying every generated enchantment and one socket per ten of them.
+     */
+    public ItemStack createFullyEnchantedItem(Material material) {
+        Map<String, Integer> enchants = new LinkedHashMap<>();
+        for (int i = 0; i < contentSize; i++) enchants.put(enchantId(i), 1 + i % 3);
+        List<String> sockets = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, contentSize / 10); i++) sockets.add(i % 2 == 0 ? "empty" : "bench_rune");
+        return createItem(material, enchants, sockets);
+    }
+
+    /**
+     * Adds a player wearing a full set: one piece of the last generated set in each armor slot.
+     */
+    public PlayerMock addPlayerWearingSet() {
+        PlayerMock player = server.addPlayer();
+        int set = setCount() - 1;
+        PlayerInventory inv = player.getInventory();
+        inv.setHelmet(createItem(Material.DIAMOND_HELMET, Map.of(enchantId(set * SET_SIZE), 1), List.of()));
+        inv.setChestplate(createItem(Material.DIAMOND_CHESTPLATE, Map.of(enchantId(set * SET_SIZE + 1), 1), List.of()));
+        inv.setLeggings(createItem(Material.DIAMOND_LEGGINGS, Map.of(enchantId(set * SET_SIZE + 2), 1), List.of()));
+        inv.setBoots(createItem(Material.DIAMOND_BOOTS, Map.of(enchantId(set * SET_SIZE + 3), 1), List.of()));
+        return player;
+    }
+
+    private void generateEnchantments() {
+        File dir = new File(plugin.getDataFolder(), "enchants");
+        dir.mkdirs();
+        for (int i = 0; i < contentSize; i++) {
+            YamlConfiguration config = new YamlConfiguration();
+            config.set("id", enchantId(i));
+            config.set("tier", TIERS[i % TIERS.length]);
+            config.set("max_level", 3);
+            config.set("display_name", "&bBench Enchant " + i + " {level_roman}");
+            config.set("description", List.of("&7A generated enchantment."));
+            config.set("applicable_to", List.of(APPLICABLE[i % APPLICABLE.length]));
+            config.set("effects", List.of(Map.of(
+                    "trigger", i % 2 == 0 ? "ATTACK" : "DEFEND",
+                    "conditions", List.of("health_below_percent 100", "chance 10 + {level_number} * 5"),
+                    "effects", List.of("HEAL:{level_number} * 0.5", "TARGET_POTION:SLOW:0:40"))));
+            save(config, new File(dir, enchantId(i) + ".yml"));
+        }
+    }
+
+    private void generateSets() {
+        File dir = new File(plugin.getDataFolder(), "sets");
+        dir.mkdirs();
+        for (int s = 0; s < setCount(); s++) {
+            List<String> required = new ArrayList<>();
+            for (int i = 0; i < SET_SIZE; i++) required.add(enchantId((s * SET_SIZE + i) % contentSize));
+            YamlConfiguration config = new YamlConfiguration();
+            config.set("set_id", setId(s));
+            config.set("set_display_name", "&6Bench Set " + s);
+            config.set("required_enchantments", required);
+            config.set("bonuses", List.of(
+                    Map.of("pieces_required", 2, "passive_effects", List.of("POTION:SPEED:0")),
+                    Map.of("pieces_required", 4, "passive_effects", List.of("POTION:SPEED:1"))));
+            save(config, new File(dir, setId(s) + ".yml"));
+        }
+    }
+
+    private static void save(YamlConfiguration config, File file) {
+        try {
+            config.save(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.vortex.mythicforge.benchmarks;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.vortex.mythicforge.utils.EffectProcessor;
+import org.bukkit.Material;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * A full combat event through the EffectProcessor: gathering effect groups from both
+ * participants, evaluating their conditions and expressions and executing the effects.
+ * The attacker's weapon carries every generated enchantment.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public class CombatBenchmark extends ContentBenchmark {
+
+    private PlayerMock attacker;
+    private PlayerMock victim;
+
+    @Override
+    protected void setUp() {
+        attacker = environment.server().addPlayer();
+        attacker.getInventory().setItemInMainHand(environment.createFullyEnchantedItem(Material.DIAMOND_SWORD));
+        victim = environment.addPlayerWearingSet();
+    }
+
+    @Benchmark
+    public EntityDamageByEntityEvent processCombatEvent() {
+        EntityDamageByEntityEvent event = new EntityDamageByEntityEvent(attacker, victim, DamageCause.ENTITY_ATTACK, 5.0);
+        EffectProcessor.processCombatEvent(event);
+        return event;
+    }
+}
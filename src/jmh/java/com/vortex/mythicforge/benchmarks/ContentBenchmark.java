@@ -0,0 +1,39 @@
+package com.vortex.mythicforge.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared setup for all MythicForge benchmarks: boots a fresh {@link BenchmarkEnvironment}
+ * for every content size and shuts it down afterwards.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public abstract class ContentBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int contentSize;
+
+    protected BenchmarkEnvironment environment;
+
+    @Setup(Level.Trial)
+    public final void startEnvironment() {
+        environment = BenchmarkEnvironment.start(contentSize);
+        setUp();
+    }
+
+    @TearDown(Level.Trial)
+    public final void stopEnvironment() {
+        environment.stop();
+    }
+
+    /**
+     * Prepares the benchmark's fixtures once the environment is running.
+     */
+    protected abstract void setUp();
+}
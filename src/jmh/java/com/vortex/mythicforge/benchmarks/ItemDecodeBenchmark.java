@@ -0,0 +1,38 @@
+package com.vortex.mythicforge.benchmarks;
+
+import com.vortex.mythicforge.managers.ItemManager;
+import org.bukkit.Material;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decoding an item's enchantments and sockets from its persistent data, which happens for
+ * every equipped item on every combat event and loadout refresh.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public class ItemDecodeBenchmark extends ContentBenchmark {
+
+    private ItemManager itemManager;
+    private ItemMeta meta;
+
+    @Override
+    protected void setUp() {
+        itemManager = environment.plugin().getItemManager();
+        meta = environment.createFullyEnchantedItem(Material.DIAMOND_SWORD).getItemMeta();
+    }
+
+    @Benchmark
+    public Map<String, Integer> getEnchants() {
+        return itemManager.getEnchants(meta);
+    }
+
+    @Benchmark
+    public List<String> getSockets() {
+        return itemManager.getSockets(meta);
+    }
+}
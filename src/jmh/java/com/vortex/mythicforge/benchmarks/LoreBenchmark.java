@@ -0,0 +1,31 @@
+package com.vortex.mythicforge.benchmarks;
+
+import com.vortex.mythicforge.managers.ItemManager;
+import org.bukkit.Material;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Rebuilding an item's lore, which runs whenever an enchantment, socket or rune is applied.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public class LoreBenchmark extends ContentBenchmark {
+
+    private ItemManager itemManager;
+    private ItemMeta meta;
+
+    @Override
+    protected void setUp() {
+        itemManager = environment.plugin().getItemManager();
+        meta = environment.createFullyEnchantedItem(Material.DIAMOND_SWORD).getItemMeta();
+    }
+
+    @Benchmark
+    public ItemMeta refreshLore() {
+        // refreshLore replaces the whole lore block, so running it repeatedly on one meta is stable.
+        itemManager.refreshLore(meta);
+        return meta;
+    }
+}
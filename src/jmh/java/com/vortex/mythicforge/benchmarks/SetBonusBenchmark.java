@@ -0,0 +1,32 @@
+package com.vortex.mythicforge.benchmarks;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.vortex.mythicforge.managers.SetBonusManager;
+import com.vortex.mythicforge.managers.SetBonusManager.ActiveBonus;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.Optional;
+
+/**
+ * Detecting a player's active set bonus, which scans every registered set against the
+ * enchantments on the player's equipment.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public class SetBonusBenchmark extends ContentBenchmark {
+
+    private SetBonusManager setBonusManager;
+    private PlayerMock player;
+
+    @Override
+    protected void setUp() {
+        setBonusManager = environment.plugin().getSetBonusManager();
+        player = environment.addPlayerWearingSet();
+    }
+
+    @Benchmark
+    public Optional<ActiveBonus> getActiveBonusFor() {
+        return setBonusManager.getActiveBonusFor(player);
+    }
+}
@@ -0,0 +1,37 @@
+package com.vortex.mythicforge.benchmarks;
+
+import com.vortex.mythicforge.managers.ShopManager;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sampling a new rotating shop stock from a weighted pool with one entry per generated
+ * enchantment. This includes building the scrolls and saving the shop data, as a real
+ * refresh does.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public class ShopStockBenchmark extends ContentBenchmark {
+
+    private ShopManager shopManager;
+
+    @Override
+    protected void setUp() {
+        List<String> pool = new ArrayList<>();
+        for (int i = 0; i < contentSize; i++) {
+            pool.add("TIER:" + BenchmarkEnvironment.enchantId(i) + ":1:" + (500 + i) + ":" + (1 + i % 100));
+        }
+        environment.plugin().getConfig().set("enchant_shop.stock_pool", pool);
+        environment.plugin().getConfig().set("enchant_shop.gui_rows", 3);
+        shopManager = environment.plugin().getShopManager();
+    }
+
+    @Benchmark
+    public int forceRefreshStock() {
+        shopManager.forceRefreshStock();
+        return shopManager.getCurrentStock().size();
+    }
+}
@@ -0,0 +1,229 @@
+package com.vortex.mythicforge.loadtest;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.managers.ProjectileManager.ProjectileSnapshot;
+import com.vortex.mythicforge.recording.CombatTrace;
+import com.vortex.mythicforge.recording.CombatTrace.CombatRecord;
+import com.vortex.mythicforge.recording.CombatTrace.Loadout;
+import com.vortex.mythicforge.recording.CombatTrace.Piece;
+import com.vortex.mythicforge.utils.EffectProcessor;
+import com.vortex.mythicforge.utils.EffectProcessor.TriggerType;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Arrow;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Replays combat traces written by the CombatRecorder through the EffectProcessor, headless
+ * and at full speed. Every event is processed with the RNG seed it was recorded with, so the
+ * same trace always makes the same chance rolls and engine changes can be compared against
+ * a captured fight. Cooldowns still run on the wall clock, so cooldown-gated effects fire
+ * less often than live when replaying faster than real time.
+ * <p>
+ * Projectile hits are replayed as projectile damage: a player shooter is equipped with the
+ * recorded loadout and a projectile carrying its snapshot is the damager, so PROJECTILE_HIT
+ * effects fire as they did live instead of ATTACK effects.
+ * <p>
+ * Usage: {@code CombatReplay [--content=plugins/MythicForge] [--repeat=1] <trace files...>}
+ * <br>
+ * {@code --content} copies the enchants, sets and runes of a server so the replay uses the
+ * same definitions as the recording.
+ *
+ * @author Vortex
+ * @version 1.0.1
+ */
+public final class CombatReplay {
+
+    private ServerMock server;
+    private WorldMock world;
+    private MythicForge plugin;
+    private NamespacedKey enchantsKey;
+    private NamespacedKey socketsKey;
+    // Entities are reused per role, type and loadout, so equipping them is not part of the measurement.
+    private final Map<EntityKey, LivingEntity> entities = new HashMap<>();
+    private final Map<EntityKey, Projectile> projectiles = new HashMap<>();
+
+    private record EntityKey(String role, String type, Loadout loadout) {}
+
+    public static void main(String[] args) throws IOException {
+        String content = null;
+        int repeat = 1;
+        List<File> traces = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--content=")) content = arg.substring("--content=".length());
+            else if (arg.startsWith("--repeat=")) repeat = Integer.parseInt(arg.substring("--repeat=".length()));
+            else traces.add(new File(arg));
+        }
+        if (traces.isEmpty()) {
+            System.err.println("Usage: CombatReplay [--content=<plugin folder>] [--repeat=N] <trace files...>");
+            System.exit(2);
+        }
+        new CombatReplay().run(content == null ? null : Path.of(content), repeat, traces);
+    }
+
+    private void run(Path content, int repeat, List<File> traces) throws IOException {
+        List<CombatRecord> records = new ArrayList<>();
+        for (File trace : traces) {
+            try (CombatTrace.Reader reader = new CombatTrace.Reader(trace)) {
+                CombatRecord record;
+                while ((record = reader.next()) != null) records.add(record);
+            }
+        }
+        System.out.println("Loaded " + records.size() + " combat events from " + traces.size() + " trace file(s).");
+
+        server = MockBukkit.mock();
+        try {
+            plugin = MockBukkit.load(MythicForge.class);
+            if (content != null) copyContent(content, plugin.getDataFolder().toPath());
+            plugin.getEnchantmentManager().loadEnchantments();
+            plugin.getRuneManager().loadRunes();
+            plugin.getSetBonusManager().loadSets();
+            enchantsKey = new NamespacedKey(plugin, "mythic_enchants_json");
+            socketsKey = new NamespacedKey(plugin, "mythic_sockets_json");
+            world = server.addSimpleWorld("replay");
+
+            // Build every entity up front, then replay.
+            for (CombatRecord record : records) {
+                damager(record);
+                entity("defender", record.defenderType(), record.defenderLoadout());
+            }
+
+            long[] eventNanos = new long[records.size() * repeat];
+            int index = 0;
+            long start = System.nanoTime();
+            for (int pass = 0; pass < repeat; pass++) {
+                for (CombatRecord record : records) {
+                    Entity attacker = damager(record);
+                    LivingEntity defender = entity("defender", record.defenderType(), record.defenderLoadout());
+                    EntityDamageByEntityEvent event = new EntityDamageByEntityEvent(attacker, defender,
+                            DamageCause.valueOf(record.cause()), record.damage());
+                    long eventStart = System.nanoTime();
+                    EffectProcessor.processCombatEvent(event, new SplittableRandom(record.seed()));
+                    eventNanos[index++] = System.nanoTime() - eventStart;
+                }
+            }
+            long total = System.nanoTime() - start;
+            report(eventNanos, total);
+        } finally {
+            MockBukkit.unmock();
+        }
+    }
+
+    /**
+     * @return The recorded damager: a projectile fired by an equipped shooter for projectile
+     *         hits, otherwise the attacking entity.
+     */
+    private Entity damager(CombatRecord record) {
+        if (!isProjectile(record.attackerType())) return entity("attacker", record.attackerType(), record.attackerLoadout());
+        return projectiles.computeIfAbsent(new EntityKey("projectile", record.attackerType(), record.attackerLoadout()), key -> {
+            LivingEntity shooter = entity("shooter", "PLAYER", record.attackerLoadout());
+            Projectile projectile = shooter.launchProjectile(Arrow.class);
+            projectile.setShooter(shooter);
+            // Attached the way EffectProcessor.processShootEvent does it when the bow was fired.
+            ItemStack bow = shooter.getEquipment() != null ? shooter.getEquipment().getItemInMainHand() : null;
+            ProjectileSnapshot snapshot = plugin.getProjectileManager().capture(shooter, bow);
+            if (snapshot.uses(TriggerType.PROJECTILE_HIT)) plugin.getProjectileManager().attach(projectile, shooter, bow);
+            return projectile;
+        });
+    }
+
+    private static boolean isProjectile(String type) {
+        try {
+            Class<? extends Entity> entityClass = EntityType.valueOf(type).getEntityClass();
+            return entityClass != null && Projectile.class.isAssignableFrom(entityClass);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private LivingEntity entity(String role, String type, Loadout loadout) {
+        return entities.computeIfAbsent(new EntityKey(role, type, loadout), key -> {
+            LivingEntity entity = spawn(type);
+            EntityEquipment equipment = entity.getEquipment();
+            if (equipment != null && loadout.pieces().size() == 5) {
+                List<Piece> pieces = loadout.pieces();
+                // Armor contents are recorded boots first, like getArmorContents().
+                equipment.setArmorContents(new ItemStack[]{item(pieces.get(0)), item(pieces.get(1)), item(pieces.get(2)), item(pieces.get(3))});
+                equipment.setItemInMainHand(item(pieces.get(4)));
+            }
+            return entity;
+        });
+    }
+
+    private LivingEntity spawn(String type) {
+        if (!"PLAYER".equals(type)) {
+            try {
+                EntityType entityType = EntityType.valueOf(type);
+                if (entityType.isAlive()) {
+                    return (LivingEntity) world.spawnEntity(new Location(world, 0, 64, 0), entityType);
+                }
+            } catch (RuntimeException ignored) {
+                // Not supported by MockBukkit; a player carries the same equipment just as well.
+            }
+        }
+        return server.addPlayer();
+    }
+
+    private ItemStack item(Piece piece) {
+        if (piece.material() == null) return null;
+        Material material = Material.matchMaterial(piece.material());
+        if (material == null) return null;
+        ItemStack item = new ItemStack(material);
+        if (piece.enchantsJson() == null && piece.socketsJson() == null) return item;
+        ItemMeta meta = item.getItemMeta();
+        if (piece.enchantsJson() != null) meta.getPersistentDataContainer().set(enchantsKey, PersistentDataType.STRING, piece.enchantsJson());
+        if (piece.socketsJson() != null) meta.getPersistentDataContainer().set(socketsKey, PersistentDataType.STRING, piece.socketsJson());
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    private static void copyContent(Path source, Path target) throws IOException {
+        for (String name : List.of("enchants", "sets")) {
+            Path dir = source.resolve(name);
+            if (!Files.isDirectory(dir)) continue;
+            Files.createDirectories(target.resolve(name));
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.copy(file, target.resolve(name).resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        Path runes = source.resolve("runes.yml");
+        if (Files.exists(runes)) Files.copy(runes, target.resolve("runes.yml"), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void report(long[] eventNanos, long totalNanos) {
+        Arrays.sort(eventNanos);
+        int n = eventNanos.length;
+        if (n == 0) {
+            System.out.println("Nothing to replay.");
+            return;
+        }
+        System.out.printf(Locale.ROOT, "Replayed %d events in %.1f ms (%.0f events/s)%n",
+                n, totalNanos / 1_000_000.0, n / (totalNanos / 1_000_000_000.0));
+        System.out.printf(Locale.ROOT, "  per event: p50 %.1f us, p95 %.1f us, p99 %.1f us, max %.1f us%n",
+                eventNanos[(int) (n * 0.50)] / 1000.0, eventNanos[Math.min(n - 1, (int) (n * 0.95))] / 1000.0,
+                eventNanos[Math.min(n - 1, (int) (n * 0.99))] / 1000.0, eventNanos[n - 1] / 1000.0);
+    }
+}
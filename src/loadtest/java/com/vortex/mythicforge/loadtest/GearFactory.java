@@ -0,0 +1,81 @@
+package com.vortex.mythicforge.loadtest;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.enchants.CustomEnchant;
+import com.vortex.mythicforge.enchants.Rune;
+import com.vortex.mythicforge.managers.ItemManager;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds randomized gear from the content the plugin has loaded: every piece gets a random
+ * material for its slot, a random selection of the enchantments applicable to it and a few
+ * sockets, some of them filled with runes. All randomness comes from the given seeded Random.
+ *
+ * @author Vortex
+ * @version 1.0.1
+ */
+final class GearFactory {
+
+    enum Slot {
+        HEAD(Material.LEATHER_HELMET, Material.IRON_HELMET, Material.DIAMOND_HELMET, Material.NETHERITE_HELMET),
+        CHEST(Material.LEATHER_CHESTPLATE, Material.IRON_CHESTPLATE, Material.DIAMOND_CHESTPLATE, Material.NETHERITE_CHESTPLATE),
+        LEGS(Material.LEATHER_LEGGINGS, Material.IRON_LEGGINGS, Material.DIAMOND_LEGGINGS, Material.NETHERITE_LEGGINGS),
+        FEET(Material.LEATHER_BOOTS, Material.IRON_BOOTS, Material.DIAMOND_BOOTS, Material.NETHERITE_BOOTS),
+        HAND(Material.IRON_SWORD, Material.DIAMOND_SWORD, Material.DIAMOND_AXE, Material.NETHERITE_SWORD, Material.BOW);
+
+        private final Material[] materials;
+
+        Slot(Material... materials) {
+            this.materials = materials;
+        }
+    }
+
+    private final ItemManager itemManager;
+    private final MythicForge plugin;
+    private final List<CustomEnchant> enchants;
+    private final List<Rune> runes;
+    private final Random random;
+
+    GearFactory(MythicForge plugin, Random random) {
+        this.plugin = plugin;
+        this.itemManager = plugin.getItemManager();
+        this.enchants = new ArrayList<>(plugin.getEnchantmentManager().getRegisteredEnchants().values());
+        this.runes = new ArrayList<>(plugin.getRuneManager().getRegisteredRunes().values());
+        this.random = random;
+        // Iteration order of the registries is not stable between runs; sort for reproducibility.
+        enchants.sort(Comparator.comparing(CustomEnchant::getId));
+        runes.sort(Comparator.comparing(Rune::getId));
+    }
+
+    /**
+     * Creates a random piece of gear for a slot.
+     *
+     * @param slot The equipment slot the item is for.
+     * @return The new item.
+     */
+    ItemStack create(Slot slot) {
+        ItemStack item = new ItemStack(slot.materials[random.nextInt(slot.materials.length)]);
+        // One edit, so the item's meta is read and written once however much it gets.
+        itemManager.edit(item, edit -> {
+            for (CustomEnchant enchant : enchants) {
+                if (random.nextInt(3) == 0 && plugin.getEnchantmentManager().isApplicable(enchant, item)) {
+                    edit.applyEnchant(enchant, 1 + random.nextInt(enchant.getMaxLevel()));
+                }
+            }
+            int sockets = random.nextInt(3);
+            for (int i = 0; i < sockets; i++) {
+                edit.addSocket();
+                if (!runes.isEmpty() && random.nextBoolean()) {
+                    edit.applyRune(runes.get(random.nextInt(runes.size())));
+                }
+            }
+        });
+        return item;
+    }
+}
@@ -0,0 +1,71 @@
+package com.vortex.mythicforge.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The measurements of one load test run, in the shape stored in the JSON baseline.
+ *
+ * @author Vortex
+ * @version 1.0.1
+ */
+record LoadTestResult(
+        int players,
+        int ticks,
+        long seed,
+        long combatEvents,
+        long equipmentChanges,
+        double tickP50Micros,
+        double tickP95Micros,
+        double tickP99Micros,
+        double tickP999Micros,
+        double tickMaxMicros,
+        double allocatedBytesPerTick,
+        double allocationRateMbPerSecond,
+        long retainedHeapBytes,
+        long heapGrowthBytes) {
+
+    /**
+     * Summarises raw per-tick durations.
+     *
+     * @param tickNanos The duration of every measured tick. Sorted in place.
+     */
+    static LoadTestResult of(int players, long seed, long combatEvents, long equipmentChanges, long[] tickNanos,
+                             long allocatedBytes, long retainedHeapBytes, long heapGrowthBytes) {
+        Arrays.sort(tickNanos);
+        int ticks = tickNanos.length;
+        double bytesPerTick = ticks == 0 ? 0 : allocatedBytes / (double) ticks;
+        return new LoadTestResult(players, ticks, seed, combatEvents, equipmentChanges,
+                percentile(tickNanos, 0.50), percentile(tickNanos, 0.95), percentile(tickNanos, 0.99),
+                percentile(tickNanos, 0.999), ticks == 0 ? 0 : tickNanos[ticks - 1] / 1000.0,
+                bytesPerTick,
+                // A server runs 20 ticks per second.
+                bytesPerTick * 20 / (1024.0 * 1024.0),
+                retainedHeapBytes, heapGrowthBytes);
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1000.0;
+    }
+
+    /**
+     * The metrics that are compared against the baseline, with the absolute slack each one
+     * is allowed on top of the relative threshold so near-zero baselines do not flap.
+     *
+     * @param includeTiming Whether to gate the wall-clock tick percentiles too.
+     */
+    Map<String, double[]> gatedMetrics(boolean includeTiming) {
+        Map<String, double[]> metrics = new LinkedHashMap<>();
+        if (includeTiming) {
+            metrics.put("tickP50Micros", new double[]{tickP50Micros, 5});
+            metrics.put("tickP95Micros", new double[]{tickP95Micros, 10});
+            metrics.put("tickP99Micros", new double[]{tickP99Micros, 25});
+        }
+        metrics.put("allocatedBytesPerTick", new double[]{allocatedBytesPerTick, 1024});
+        metrics.put("heapGrowthBytes", new double[]{heapGrowthBytes, 8 * 1024 * 1024});
+        return metrics;
+    }
+}
@@ -0,0 +1,262 @@
+package com.vortex.mythicforge.loadtest;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.destroystokyo.paper.event.player.PlayerArmorChangeEvent;
+import com.destroystokyo.paper.event.player.PlayerArmorChangeEvent.SlotType;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.loadtest.GearFactory.Slot;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Boots MythicForge on MockBukkit with hundreds of simulated players in random gear and
+ * drives it tick by tick: combat between random pairs of players, occasional equipment
+ * changes and the scheduler, which runs the ActiveEffectTask as on a real server.
+ * <p>
+ * Per-tick time percentiles, main-thread allocation and heap retention are written to a
+ * JSON result file and compared against a JSON baseline. The process exits with status 1
+ * when a gated metric regresses by more than the threshold, when the baseline is missing, or
+ * when it was recorded with a different player count or duration, which fails the Gradle
+ * task. Allocation and heap growth are always gated; tick times only with --gate-timing,
+ * as they depend on the machine the test runs on.
+ * <p>
+ * Arguments (all optional): {@code --players=200 --minutes=10 --seed=42 --threshold=0.25
+ * --baseline=src/loadtest/baseline.json --results=build/loadtest/results.json --update-baseline
+ * --gate-timing}
+ *
+ * @author Vortex
+ * @version 1.0.1
+ */
+public final class LoadTestRunner {
+
+    private static final int TICKS_PER_MINUTE = 20 * 60;
+    // Each player attacks about once per second, and changes one piece of gear about once per minute.
+    private static final double ATTACKS_PER_PLAYER_TICK = 1.0 / 20;
+    private static final double GEAR_CHANGES_PER_PLAYER_TICK = 1.0 / TICKS_PER_MINUTE;
+    private static final int WARMUP_TICKS = 2 * TICKS_PER_MINUTE;
+
+    private final int playerCount;
+    private final int ticks;
+    private final long seed;
+    private final Random random;
+
+    private ServerMock server;
+    private GearFactory gearFactory;
+    private final List<PlayerMock> players = new ArrayList<>();
+    private long combatEvents;
+    private long equipmentChanges;
+
+    private LoadTestRunner(int playerCount, int minutes, long seed) {
+        this.playerCount = playerCount;
+        this.ticks = minutes * TICKS_PER_MINUTE;
+        this.seed = seed;
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseArgs(args);
+        int players = Integer.parseInt(options.getOrDefault("players", "200"));
+        int minutes = Integer.parseInt(options.getOrDefault("minutes", "10"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        double threshold = Double.parseDouble(options.getOrDefault("threshold", "0.25"));
+        Path baselinePath = Paths.get(options.getOrDefault("baseline", "src/loadtest/baseline.json"));
+        Path resultsPath = Paths.get(options.getOrDefault("results", "build/loadtest/results.json"));
+
+        LoadTestResult result = new LoadTestRunner(players, minutes, seed).run();
+
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        write(gson, resultsPath, result);
+        print(result);
+
+        if (options.containsKey("update-baseline")) {
+            write(gson, baselinePath, result);
+            System.out.println("Baseline written to " + baselinePath + ". Commit it to gate future runs.");
+            return;
+        }
+        if (!Files.exists(baselinePath)) {
+            System.err.println("No baseline at " + baselinePath + ". Record one on the CI runner with"
+                    + " -PupdateLoadTestBaseline and commit it.");
+            System.exit(1);
+        }
+
+        LoadTestResult baseline;
+        try (Reader reader = Files.newBufferedReader(baselinePath, StandardCharsets.UTF_8)) {
+            baseline = gson.fromJson(reader, LoadTestResult.class);
+        }
+        if (baseline.players() != result.players() || baseline.ticks() != result.ticks()) {
+            System.err.println("Baseline was recorded with " + baseline.players() + " players and " + baseline.ticks()
+                    + " ticks, this run had " + result.players() + " and " + result.ticks() + ". Record a new baseline"
+                    + " with -PupdateLoadTestBaseline or run with the baseline's settings.");
+            System.exit(1);
+        }
+        List<String> regressions = compare(baseline, result, threshold, options.containsKey("gate-timing"));
+        if (!regressions.isEmpty()) {
+            System.err.println("Load test regressed by more than " + (int) (threshold * 100) + "% against " + baselinePath + ":");
+            regressions.forEach(line -> System.err.println("  " + line));
+            System.exit(1);
+        }
+        System.out.println("Load test is within " + (int) (threshold * 100) + "% of the baseline.");
+    }
+
+    private LoadTestResult run() {
+        server = MockBukkit.mock();
+        try {
+            MythicForge plugin = MockBukkit.load(MythicForge.class);
+            // The bundled example content is written to the data folder on the first load.
+            plugin.getEnchantmentManager().loadEnchantments();
+            plugin.getRuneManager().loadRunes();
+            plugin.getSetBonusManager().loadSets();
+            plugin.getTriggerRegistry().refresh();
+            long bootHeap = usedHeapAfterGc();
+
+            gearFactory = new GearFactory(plugin, random);
+            for (int i = 0; i < playerCount; i++) {
+                PlayerMock player = server.addPlayer();
+                PlayerInventory inv = player.getInventory();
+                inv.setHelmet(gearFactory.create(Slot.HEAD));
+                inv.setChestplate(gearFactory.create(Slot.CHEST));
+                inv.setLeggings(gearFactory.create(Slot.LEGS));
+                inv.setBoots(gearFactory.create(Slot.FEET));
+                inv.setItemInMainHand(gearFactory.create(Slot.HAND));
+                players.add(player);
+            }
+
+            for (int tick = 0; tick < WARMUP_TICKS; tick++) tick();
+            combatEvents = 0;
+            equipmentChanges = 0;
+            long warmHeap = usedHeapAfterGc();
+
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long[] tickNanos = new long[ticks];
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            for (int tick = 0; tick < ticks; tick++) {
+                long start = System.nanoTime();
+                tick();
+                tickNanos[tick] = System.nanoTime() - start;
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            long finalHeap = usedHeapAfterGc();
+
+            return LoadTestResult.of(playerCount, seed, combatEvents, equipmentChanges, tickNanos,
+                    allocated, finalHeap - bootHeap, finalHeap - warmHeap);
+        } finally {
+            MockBukkit.unmock();
+        }
+    }
+
+    private void tick() {
+        int attacks = sample(playerCount * ATTACKS_PER_PLAYER_TICK);
+        for (int i = 0; i < attacks; i++) {
+            PlayerMock attacker = players.get(random.nextInt(players.size()));
+            PlayerMock victim = players.get(random.nextInt(players.size()));
+            if (attacker == victim) continue;
+            DamageCause cause = random.nextInt(5) == 0 ? DamageCause.PROJECTILE : DamageCause.ENTITY_ATTACK;
+            server.getPluginManager().callEvent(new EntityDamageByEntityEvent(attacker, victim, cause, 2 + random.nextInt(8)));
+            combatEvents++;
+        }
+
+        int changes = sample(playerCount * GEAR_CHANGES_PER_PLAYER_TICK);
+        for (int i = 0; i < changes; i++) {
+            changeGear(players.get(random.nextInt(players.size())));
+            equipmentChanges++;
+        }
+
+        server.getScheduler().performOneTick();
+    }
+
+    private void changeGear(PlayerMock player) {
+        PlayerInventory inv = player.getInventory();
+        Slot slot = Slot.values()[random.nextInt(Slot.values().length)];
+        ItemStack item = gearFactory.create(slot);
+        ItemStack old;
+        SlotType slotType;
+        switch (slot) {
+            case HEAD -> { old = inv.getHelmet(); inv.setHelmet(item); slotType = SlotType.HEAD; }
+            case CHEST -> { old = inv.getChestplate(); inv.setChestplate(item); slotType = SlotType.CHEST; }
+            case LEGS -> { old = inv.getLeggings(); inv.setLeggings(item); slotType = SlotType.LEGS; }
+            case FEET -> { old = inv.getBoots(); inv.setBoots(item); slotType = SlotType.FEET; }
+            default -> {
+                inv.setItemInMainHand(item);
+                return;
+            }
+        }
+        // MockBukkit does not fire Paper's armor event itself, so fire it like the server would.
+        server.getPluginManager().callEvent(new PlayerArmorChangeEvent(player, slotType, old, item));
+    }
+
+    /** Turns an expected rate into a whole count, carrying the fraction as a probability. */
+    private int sample(double expected) {
+        int whole = (int) expected;
+        return whole + (random.nextDouble() < expected - whole ? 1 : 0);
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static List<String> compare(LoadTestResult baseline, LoadTestResult result, double threshold, boolean gateTiming) {
+        List<String> regressions = new ArrayList<>();
+        Map<String, double[]> expected = baseline.gatedMetrics(gateTiming);
+        result.gatedMetrics(gateTiming).forEach((name, values) -> {
+            double limit = expected.get(name)[0] * (1 + threshold) + values[1];
+            if (values[0] > limit) {
+                regressions.add(String.format(Locale.ROOT, "%s: %.2f (baseline %.2f, limit %.2f)",
+                        name, values[0], expected.get(name)[0], limit));
+            }
+        });
+        return regressions;
+    }
+
+    private static void print(LoadTestResult result) {
+        System.out.printf(Locale.ROOT, "MythicForge load test: %d players, %d ticks, %d combat events, %d gear changes%n",
+                result.players(), result.ticks(), result.combatEvents(), result.equipmentChanges());
+        System.out.printf(Locale.ROOT, "  tick p50 %.1f us, p95 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us%n",
+                result.tickP50Micros(), result.tickP95Micros(), result.tickP99Micros(), result.tickP999Micros(), result.tickMaxMicros());
+        System.out.printf(Locale.ROOT, "  allocation %.0f B/tick (%.2f MB/s), retained heap %d KB, heap growth %d KB%n",
+                result.allocatedBytesPerTick(), result.allocationRateMbPerSecond(),
+                result.retainedHeapBytes() / 1024, result.heapGrowthBytes() / 1024);
+    }
+
+    private static void write(Gson gson, Path path, LoadTestResult result) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            gson.toJson(result, writer);
+        }
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int split = arg.indexOf('=');
+            if (split < 0) options.put(arg.substring(2), "true");
+            else options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+}
@@ -1,17 +1,29 @@
 package com.vortex.mythicforge;
 
 import com.vortex.mythicforge.commands.MythicForgeCommand;
+import com.vortex.mythicforge.config.MythicConfig;
 import com.vortex.mythicforge.hooks.FancyNpcHook;
 import com.vortex.mythicforge.hooks.MythicForgeExpansion;
 import com.vortex.mythicforge.hooks.VaultHook;
-import com.vortex.mythicforge.listeners.GlobalListener;
+import com.vortex.mythicforge.listeners.GearRegistryListener;
 import com.vortex.mythicforge.listeners.InventoryListener;
+import com.vortex.mythicforge.listeners.ItemRefreshListener;
+import com.vortex.mythicforge.listeners.LoadoutListener;
 import com.vortex.mythicforge.listeners.NpcListener;
+import com.vortex.mythicforge.listeners.PassiveEffectListener;
+import com.vortex.mythicforge.listeners.SessionListener;
+import com.vortex.mythicforge.listeners.TickEndListener;
+import com.vortex.mythicforge.listeners.TimerListener;
 import com.vortex.mythicforge.listeners.TomeListener;
 import com.vortex.mythicforge.managers.*;
+import com.vortex.mythicforge.metrics.MetricsExporter;
+import com.vortex.mythicforge.recording.CombatRecorder;
 import com.vortex.mythicforge.tasks.ActiveEffectTask;
+import com.vortex.mythicforge.utils.MythicScheduler;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+
 /**
  * The main class for the MythicForge plugin. This class handles the core
  * functionality, including the enabling and disabling of the plugin, initialization
@@ -19,47 +31,91 @@ import org.bukkit.plugin.java.JavaPlugin;
  * It serves as the central hub for all plugin components.
  *
  * @author Vortex
- * @version 1.0.2
+ * @version 1.0.12
  */
 public final class MythicForge extends JavaPlugin {
 
     private static MythicForge instance;
+    // Replaced as a whole on reload, so readers on other threads never see a partial update.
+    private volatile MythicConfig mythicConfig;
 
     // Managers
     private EnchantmentManager enchantmentManager;
     private ItemManager itemManager;
+    private LoreRenderer loreRenderer;
     private TomeManager tomeManager;
     private RuneManager runeManager;
     private SetBonusManager setBonusManager;
     private ShopManager shopManager;
     private SetShopManager setShopManager;
+    private SalvageManager salvageManager;
+    private LoadoutManager loadoutManager;
+    private GearRegistry gearRegistry;
+    private MiningManager miningManager;
+    private SweepManager sweepManager;
+    private ProjectileManager projectileManager;
+    private CosmeticDispatcher cosmeticDispatcher;
+    private AoeManager aoeManager;
+    private AuraRenderer auraRenderer;
+    private TriggerRegistry triggerRegistry;
+    private TimerManager timerManager;
+    private TickTriggerManager tickTriggerManager;
+    private TickGovernor tickGovernor;
+    private SessionManager sessionManager;
     
     // API Hooks
     private VaultHook vaultHook;
     private FancyNpcHook fancyNpcHook;
 
+    // Monitoring
+    private MetricsExporter metricsExporter;
+    private CombatRecorder combatRecorder;
+
     @Override
     public void onEnable() {
         instance = this;
         
         // --- 1. Configuration & Data Loading ---
         saveDefaultConfig();
+        loadMythicConfig();
+        // Ship the Flight Recorder settings so admins can record MythicForge events.
+        if (!new File(getDataFolder(), "mythicforge.jfc").exists()) {
+            saveResource("mythicforge.jfc", false);
+        }
         
         // --- 2. Initialize All Managers ---
         // Data managers that read from files are loaded first.
         this.enchantmentManager = new EnchantmentManager(this);
         this.runeManager = new RuneManager(this);
         this.setBonusManager = new SetBonusManager(this);
-        this.setShopManager = new SetShopManager(this);
         
         // Functional managers that may depend on data.
+        this.tickGovernor = new TickGovernor(this);
+        this.sessionManager = new SessionManager(this);
+        this.loreRenderer = new LoreRenderer(this);
         this.itemManager = new ItemManager(this);
         this.tomeManager = new TomeManager(this);
         this.shopManager = new ShopManager(this);
+        this.salvageManager = new SalvageManager(this);
+        this.timerManager = new TimerManager(this);
+        this.tickTriggerManager = new TickTriggerManager(this);
+        this.loadoutManager = new LoadoutManager(this);
+        this.gearRegistry = new GearRegistry(this);
+        this.miningManager = new MiningManager(this);
+        this.projectileManager = new ProjectileManager(this);
+        projectileManager.rebuildIndex();
+        this.cosmeticDispatcher = new CosmeticDispatcher(this);
+        this.aoeManager = new AoeManager(this);
+        this.auraRenderer = new AuraRenderer(this);
+        this.combatRecorder = new CombatRecorder(this);
+        this.sweepManager = new SweepManager(this);
         
         // --- 3. Initialize API Hooks ---
         this.vaultHook = new VaultHook(this);
+        // Builds its items through the ItemManager and prices them through Vault, so it comes last.
+        this.setShopManager = new SetShopManager(this);
         this.fancyNpcHook = new FancyNpcHook(this);
+        MythicScheduler.runGlobal(this, gearRegistry::rebuild);
         if (getServer().getPluginManager().getPlugin("PlaceholderAPI") != null) {
             new MythicForgeExpansion(this).register();
         }
@@ -67,10 +123,18 @@ public final class MythicForge extends JavaPlugin {
         // --- 4. Register Persistent Event Listeners ---
         // Our GUI framework handles registering/unregistering its own listeners,
         // so we only need to register the main, always-on listeners here.
-        getServer().getPluginManager().registerEvents(new GlobalListener(), this);
+        // Trigger listeners are registered by the TriggerRegistry, only for triggers the content uses.
+        this.triggerRegistry = new TriggerRegistry(this);
+        triggerRegistry.refresh();
+        getServer().getPluginManager().registerEvents(new SessionListener(this), this);
         getServer().getPluginManager().registerEvents(new InventoryListener(this), this);
         getServer().getPluginManager().registerEvents(new TomeListener(this), this);
         getServer().getPluginManager().registerEvents(new NpcListener(), this);
+        getServer().getPluginManager().registerEvents(new LoadoutListener(this), this);
+        getServer().getPluginManager().registerEvents(new ItemRefreshListener(this), this);
+        getServer().getPluginManager().registerEvents(new GearRegistryListener(this), this);
+        getServer().getPluginManager().registerEvents(new TickEndListener(this), this);
+        getServer().getPluginManager().registerEvents(new TimerListener(this), this);
 
         // --- 5. Register Commands ---
         MythicForgeCommand commandExecutor = new MythicForgeCommand();
@@ -79,7 +143,14 @@ public final class MythicForge extends JavaPlugin {
         
         // --- 6. Schedule Repeating Tasks ---
         // This starts last, after everything else is fully loaded.
-        new ActiveEffectTask(this).runTaskTimer(this, 100L, 20L);
+        ActiveEffectTask activeEffectTask = new ActiveEffectTask(this);
+        activeEffectTask.start(100L);
+        getServer().getPluginManager().registerEvents(new PassiveEffectListener(activeEffectTask), this);
+        this.metricsExporter = new MetricsExporter(this);
+        metricsExporter.start();
+        if (getConfig().getBoolean("combat_recorder.enabled", false)) {
+            combatRecorder.start();
+        }
 
         getLogger().info("MythicForge v" + getDescription().getVersion() + " by Vortex has been fully enabled.");
     }
@@ -88,20 +159,51 @@ public final class MythicForge extends JavaPlugin {
     public void onDisable() {
         // Future logic for saving data on shutdown could go here.
         // For now, cancel all tasks to ensure a clean shutdown.
-        getServer().getScheduler().cancelTasks(this);
+        MythicScheduler.cancelAll(this);
+        if (miningManager != null) miningManager.shutdown();
+        if (sweepManager != null) sweepManager.shutdown();
+        if (sessionManager != null) sessionManager.shutdown();
+        if (metricsExporter != null) metricsExporter.stop();
+        if (combatRecorder != null) combatRecorder.shutdown();
         getLogger().info("MythicForge has been disabled.");
     }
 
+    /**
+     * Parses config.yml into a fresh {@link MythicConfig} and swaps it in. Called on startup
+     * and after every reload of the config file.
+     */
+    public void loadMythicConfig() {
+        this.mythicConfig = MythicConfig.load(getConfig(), getLogger());
+    }
+
     // --- Getters for all Managers and Hooks ---
 
     public static MythicForge getInstance() { return instance; }
+    public MythicConfig getMythicConfig() { return mythicConfig; }
     public EnchantmentManager getEnchantmentManager() { return enchantmentManager; }
     public ItemManager getItemManager() { return itemManager; }
+    public LoreRenderer getLoreRenderer() { return loreRenderer; }
     public TomeManager getTomeManager() { return tomeManager; }
     public RuneManager getRuneManager() { return runeManager; }
     public SetBonusManager getSetBonusManager() { return setBonusManager; }
     public ShopManager getShopManager() { return shopManager; }
     public SetShopManager getSetShopManager() { return setShopManager; }
+    public SalvageManager getSalvageManager() { return salvageManager; }
+    public LoadoutManager getLoadoutManager() { return loadoutManager; }
+    public GearRegistry getGearRegistry() { return gearRegistry; }
+    public MiningManager getMiningManager() { return miningManager; }
+    public SweepManager getSweepManager() { return sweepManager; }
+    public ProjectileManager getProjectileManager() { return projectileManager; }
+    public CosmeticDispatcher getCosmeticDispatcher() { return cosmeticDispatcher; }
+    public AoeManager getAoeManager() { return aoeManager; }
+    public AuraRenderer getAuraRenderer() { return auraRenderer; }
+    public TriggerRegistry getTriggerRegistry() { return triggerRegistry; }
+    public TimerManager getTimerManager() { return timerManager; }
+    public TickTriggerManager getTickTriggerManager() { return tickTriggerManager; }
+    public TickGovernor getTickGovernor() { return tickGovernor; }
+    public SessionManager getSessionManager() { return sessionManager; }
     public VaultHook getVaultHook() { return vaultHook; }
     public FancyNpcHook getFancyNpcHook() { return fancyNpcHook; }
+    public MetricsExporter getMetricsExporter() { return metricsExporter; }
+    public CombatRecorder getCombatRecorder() { return combatRecorder; }
                                         }
@@ -3,8 +3,18 @@ package com.vortex.mythicforge.commands;
 import com.vortex.mythicforge.MythicForge;
 import com.vortex.mythicforge.enchants.CustomEnchant;
 import com.vortex.mythicforge.enchants.Rune;
+import com.vortex.mythicforge.gui.BulkSalvageGui;
 import com.vortex.mythicforge.gui.SalvageGUI;
+import com.vortex.mythicforge.jfr.ContentReloadEvent;
 import com.vortex.mythicforge.listeners.NpcListener;
+import com.vortex.mythicforge.managers.SweepManager;
+import com.vortex.mythicforge.managers.SweepManager.Action;
+import com.vortex.mythicforge.managers.SweepManager.SweepRule;
+import com.vortex.mythicforge.managers.SweepManager.TargetType;
+import com.vortex.mythicforge.metrics.MythicMetrics;
+import com.vortex.mythicforge.recording.CombatRecorder;
+import com.vortex.mythicforge.utils.MythicProfiler;
+import com.vortex.mythicforge.utils.MythicScheduler;
 import de.oliver.fancynpcs.api.Npc;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
@@ -16,9 +26,12 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.StringUtil;
 import org.bukkit.ChatColor;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.logging.Level;
 import java.util.stream.Collectors;
 
 /**
@@ -26,7 +39,7 @@ import java.util.stream.Collectors;
  * Implements TabCompleter for a user-friendly, context-aware command experience.
  *
  * @author Vortex
- * @version 1.0.1
+ * @version 1.0.7
  */
 public final class MythicForgeCommand implements CommandExecutor, TabCompleter {
 
@@ -48,11 +61,17 @@ public final class MythicForgeCommand implements CommandExecutor, TabCompleter {
             case "reload":
                 return handleReloadCommand(sender);
             case "salvage":
-                return handleSalvageCommand(sender);
+                return handleSalvageCommand(sender, args);
             case "npc":
                 return handleNpcCommand(sender, args);
             case "shop":
                 return handleShopCommand(sender, args);
+            case "profile":
+                return handleProfileCommand(sender, args);
+            case "record":
+                return handleRecordCommand(sender, args);
+            case "sweep":
+                return handleSweepCommand(sender, args);
             default:
                 sender.sendMessage(ChatColor.RED + "Unknown subcommand. Use /mf help.");
                 return true;
@@ -75,6 +94,11 @@ public final class MythicForgeCommand implements CommandExecutor, TabCompleter {
             sender.sendMessage(ChatColor.RED + "Player not found: " + args[1]);
             return true;
         }
+        if (!MythicScheduler.ownsEntity(target)) {
+            // On Folia the target's inventory may only be touched from the target's region.
+            MythicScheduler.runFor(plugin, target, () -> handleGiveCommand(sender, args), 1L);
+            return true;
+        }
 
         String type = args[2].toLowerCase();
         String id = args[3];
@@ -98,7 +122,8 @@ public final class MythicForgeCommand implements CommandExecutor, TabCompleter {
                     sender.sendMessage(ChatColor.RED + "Enchantment '" + id + "' not found.");
                     return true;
                 }
-                plugin.getItemManager().applyEnchant(itemInHand, enchant, amount);
+                int level = amount;
+                plugin.getItemManager().edit(itemInHand, edit -> edit.applyEnchant(enchant, level));
                 sender.sendMessage(ChatColor.GREEN + "Applied " + id + " to " + target.getName() + "'s item.");
                 break;
             case "rune":
@@ -122,21 +147,49 @@ public final class MythicForgeCommand implements CommandExecutor, TabCompleter {
             sender.sendMessage(ChatColor.RED + "You do not have permission.");
             return true;
         }
+        long start = System.nanoTime();
+        ContentReloadEvent jfrEvent = new ContentReloadEvent();
+        jfrEvent.begin();
         plugin.reloadConfig();
+        plugin.loadMythicConfig();
         plugin.getEnchantmentManager().loadEnchantments();
         plugin.getRuneManager().loadRunes();
         plugin.getSetBonusManager().loadSets();
+        plugin.getTriggerRegistry().refresh();
+        plugin.getProjectileManager().rebuildIndex();
         plugin.getSetShopManager().loadAndCacheShopItems();
         plugin.getShopManager().forceRefreshStock();
+        plugin.getSalvageManager().loadYieldTable();
+        plugin.getItemManager().loadSettings();
+        plugin.getLoadoutManager().loadSettings();
+        plugin.getMiningManager().loadSettings();
+        plugin.getCosmeticDispatcher().loadSettings();
+        plugin.getAoeManager().loadSettings();
+        plugin.getAuraRenderer().loadSettings();
+        plugin.getTickGovernor().loadSettings();
+        plugin.getSessionManager().loadSettings();
+        plugin.getMetricsExporter().start();
+        MythicMetrics.RELOAD_DURATION.observe(System.nanoTime() - start);
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.enchantments = plugin.getEnchantmentManager().getRegisteredEnchants().size();
+            jfrEvent.runes = plugin.getRuneManager().getRegisteredRunes().size();
+            jfrEvent.sets = plugin.getSetBonusManager().getAllSets().size();
+            jfrEvent.commit();
+        }
         sender.sendMessage(ChatColor.GREEN + "MythicForge has been fully reloaded.");
         return true;
     }
 
-    private boolean handleSalvageCommand(CommandSender sender) {
+    private boolean handleSalvageCommand(CommandSender sender, String[] args) {
         if (!(sender instanceof Player)) {
             sender.sendMessage(ChatColor.RED + "This command can only be used by players.");
             return true;
         }
+        if (args.length > 1 && args[1].equalsIgnoreCase("bulk")) {
+            new BulkSalvageGui((Player) sender);
+            return true;
+        }
         new SalvageGUI((Player) sender);
         return true;
     }
@@ -176,10 +229,155 @@ public final class MythicForgeCommand implements CommandExecutor, TabCompleter {
         return true;
     }
 
+    private boolean handleProfileCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("mythicforge.admin.profile")) {
+            sender.sendMessage(ChatColor.RED + "You do not have permission.");
+            return true;
+        }
+        if (args.length < 2) {
+            sender.sendMessage(ChatColor.RED + "Usage: /mf profile <start [sample_rate]|stop|report>");
+            return true;
+        }
+
+        switch (args[1].toLowerCase()) {
+            case "start":
+                double sampleRate = plugin.getConfig().getDouble("profiler.sample_rate", 1.0);
+                if (args.length > 2) {
+                    try { sampleRate = Double.parseDouble(args[2]); } catch (NumberFormatException e) {
+                        sender.sendMessage(ChatColor.RED + "Invalid sample rate. Use a number between 0 and 1.");
+                        return true;
+                    }
+                }
+                MythicProfiler.start(sampleRate);
+                sender.sendMessage(ChatColor.GREEN + "Profiler started with a sample rate of " + MythicProfiler.getSampleRate() + ".");
+                break;
+            case "stop":
+                MythicProfiler.stop();
+                sender.sendMessage(ChatColor.GREEN + "Profiler stopped after " + MythicProfiler.getRecordingMillis() / 1000 + "s. Use /mf profile report to view the results.");
+                break;
+            case "report":
+                List<MythicProfiler.Entry> entries = MythicProfiler.getAllEntries();
+                if (entries.isEmpty()) {
+                    sender.sendMessage(ChatColor.YELLOW + "No profiling data recorded. Use /mf profile start first.");
+                    return true;
+                }
+                int top = plugin.getConfig().getInt("profiler.report_top", 10);
+                sender.sendMessage(ChatColor.GOLD + "--- MythicForge Profile (" + MythicProfiler.getRecordingMillis() / 1000 + "s, top " + top + ") ---");
+                for (MythicProfiler.Entry entry : entries.subList(0, Math.min(top, entries.size()))) {
+                    sender.sendMessage(ChatColor.YELLOW + entry.category().name() + " " + ChatColor.WHITE + entry.key()
+                            + ChatColor.GRAY + " - " + entry.calls() + " calls, "
+                            + String.format("%.2f", entry.totalNanos() / 1_000_000.0) + "ms total, "
+                            + String.format("%.1f", entry.averageMicros()) + "\u00b5s avg");
+                }
+                // Writing the full report is file I/O, so keep it off the main thread.
+                MythicScheduler.runAsync(plugin, () -> {
+                    try {
+                        File reportFile = MythicProfiler.writeReport(new File(plugin.getDataFolder(), "profiles"), entries);
+                        sender.sendMessage(ChatColor.GREEN + "Full report written to " + reportFile.getName() + ".");
+                    } catch (IOException e) {
+                        plugin.getLogger().log(Level.SEVERE, "Could not write profiler report!", e);
+                        sender.sendMessage(ChatColor.RED + "Could not write the report file. See console for details.");
+                    }
+                });
+                break;
+            default:
+                sender.sendMessage(ChatColor.RED + "Usage: /mf profile <start [sample_rate]|stop|report>");
+                break;
+        }
+        return true;
+    }
+
+    private boolean handleRecordCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("mythicforge.admin.record")) {
+            sender.sendMessage(ChatColor.RED + "You do not have permission.");
+            return true;
+        }
+        CombatRecorder recorder = plugin.getCombatRecorder();
+        String action = args.length > 1 ? args[1].toLowerCase() : "";
+        switch (action) {
+            case "start":
+                if (recorder.start()) {
+                    sender.sendMessage(ChatColor.GREEN + "Combat recording started. Traces are written to the recordings folder.");
+                } else {
+                    sender.sendMessage(ChatColor.YELLOW + "A combat recording is already running or still being written.");
+                }
+                break;
+            case "stop":
+                if (!recorder.isRecording()) {
+                    sender.sendMessage(ChatColor.YELLOW + "No combat recording is running.");
+                    return true;
+                }
+                recorder.stop();
+                sender.sendMessage(ChatColor.GREEN + "Combat recording stopped after " + recorder.getRecordedCount()
+                        + " events (" + recorder.getDroppedCount() + " dropped). Queued events are still being"
+                        + " written; the final count is logged to the console.");
+                break;
+            default:
+                sender.sendMessage(ChatColor.RED + "Usage: /mf record <start|stop>");
+                break;
+        }
+        return true;
+    }
+
+    private boolean handleSweepCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("mythicforge.admin.sweep")) {
+            sender.sendMessage(ChatColor.RED + "You do not have permission.");
+            return true;
+        }
+        if (MythicScheduler.FOLIA) {
+            // The sweep is driven from the global region, so it is only ever touched from there.
+            MythicScheduler.runGlobal(plugin, () -> runSweepCommand(sender, args));
+        } else {
+            runSweepCommand(sender, args);
+        }
+        return true;
+    }
+
+    private void runSweepCommand(CommandSender sender, String[] args) {
+        SweepManager sweepManager = plugin.getSweepManager();
+        String action = args.length > 1 ? args[1].toLowerCase() : "";
+        switch (action) {
+            case "count":
+            case "remove":
+            case "replace":
+                boolean replace = action.equals("replace");
+                if (args.length < (replace ? 5 : 4) || !(args[2].equalsIgnoreCase("enchant") || args[2].equalsIgnoreCase("rune"))) {
+                    sender.sendMessage(ChatColor.RED + "Usage: /mf sweep " + action + " <enchant|rune> <id>" + (replace ? " <new_id>" : ""));
+                    return;
+                }
+                SweepRule rule = new SweepRule(TargetType.valueOf(args[2].toUpperCase()), args[3],
+                        Action.valueOf(action.toUpperCase()), replace ? args[4] : null);
+                String error = sweepManager.start(sender, rule);
+                if (error != null) sender.sendMessage(ChatColor.RED + error);
+                break;
+            case "status":
+                String progress = sweepManager.describeProgress();
+                sender.sendMessage(progress != null ? ChatColor.GRAY + progress : ChatColor.YELLOW + "No sweep is running.");
+                break;
+            case "pause":
+                sender.sendMessage(sweepManager.pause()
+                        ? ChatColor.GREEN + "Sweep paused. Use /mf sweep resume to continue."
+                        : ChatColor.YELLOW + "No sweep is running.");
+                break;
+            case "resume":
+                sender.sendMessage(sweepManager.resume()
+                        ? ChatColor.GREEN + "Sweep resumed."
+                        : ChatColor.YELLOW + "No sweep is paused.");
+                break;
+            case "cancel":
+                if (!sweepManager.cancel()) sender.sendMessage(ChatColor.YELLOW + "No sweep is running.");
+                break;
+            default:
+                sender.sendMessage(ChatColor.RED + "Usage: /mf sweep <count|remove|replace> <enchant|rune> <id> [new_id]");
+                sender.sendMessage(ChatColor.RED + "       /mf sweep <status|pause|resume|cancel>");
+                break;
+        }
+    }
+
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         final List<String> completions = new ArrayList<>();
-        final List<String> commands = Arrays.asList("give", "reload", "salvage", "npc", "shop", "help");
+        final List<String> commands = Arrays.asList("give", "reload", "salvage", "npc", "shop", "profile", "record", "sweep", "help");
 
         if (args.length == 1) {
             StringUtil.copyPartialMatches(args[0], commands, completions);
@@ -191,9 +389,23 @@ public final class MythicForgeCommand implements CommandExecutor, TabCompleter {
                 case "npc":
                     if (sender.hasPermission("mythicforge.admin.npc")) completions.add("set");
                     break;
+                case "salvage":
+                    completions.add("bulk");
+                    break;
+                case "profile":
+                    if (sender.hasPermission("mythicforge.admin.profile")) completions.addAll(Arrays.asList("start", "stop", "report"));
+                    break;
+                case "record":
+                    if (sender.hasPermission("mythicforge.admin.record")) completions.addAll(Arrays.asList("start", "stop"));
+                    break;
                 case "shop":
                      if (sender.hasPermission("mythicforge.admin.shop")) completions.add("refresh");
                      break;
+                case "sweep":
+                    if (sender.hasPermission("mythicforge.admin.sweep")) {
+                        completions.addAll(Arrays.asList("count", "remove", "replace", "status", "pause", "resume", "cancel"));
+                    }
+                    break;
             }
         } else if (args.length == 3) {
             switch (args[0].toLowerCase()) {
@@ -205,6 +417,18 @@ public final class MythicForgeCommand implements CommandExecutor, TabCompleter {
                         completions.addAll(Arrays.asList("enchant_shop", "set_shop", "salvage_station"));
                     }
                     break;
+                case "sweep":
+                    if (Arrays.asList("count", "remove", "replace").contains(args[1].toLowerCase())) {
+                        completions.addAll(Arrays.asList("enchant", "rune"));
+                    }
+                    break;
+            }
+        } else if ((args.length == 4 || args.length == 5) && args[0].equalsIgnoreCase("sweep")) {
+            // Retired IDs cannot be suggested, but the registered ones are the usual targets.
+            if (args[2].equalsIgnoreCase("enchant")) {
+                completions.addAll(plugin.getEnchantmentManager().getRegisteredEnchants().keySet());
+            } else if (args[2].equalsIgnoreCase("rune")) {
+                completions.addAll(plugin.getRuneManager().getRegisteredRunes().keySet());
             }
         } else if (args.length == 4 && args[0].equalsIgnoreCase("give")) {
             switch (args[2].toLowerCase()) {
@@ -215,7 +439,7 @@ public final class MythicForgeCommand implements CommandExecutor, TabCompleter {
                     completions.addAll(plugin.getRuneManager().getRegisteredRunes().keySet());
                     break;
                 case "item":
-                    completions.addAll(plugin.getConfig().getConfigurationSection("mechanics.custom_items").getKeys(false));
+                    completions.addAll(plugin.getMythicConfig().getCustomItems().keySet());
                     break;
             }
         }
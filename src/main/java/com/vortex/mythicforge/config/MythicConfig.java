@@ -0,0 +1,226 @@
+package com.vortex.mythicforge.config;
+
+import com.vortex.mythicforge.utils.LoreTemplate;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * An immutable, validated snapshot of the gameplay settings in config.yml. It is parsed once
+ * on startup and on every reload, so code that runs per click or per item reads plain
+ * fields instead of walking config sections by path. Every display string is colored once
+ * here, and those with placeholders are compiled to {@link LoreTemplate}s.
+ * <p>
+ * A reload builds a new snapshot and swaps it in as a whole, so readers never see a mix of
+ * old and new settings. Callers should read {@code plugin.getMythicConfig()} each time
+ * rather than keep a snapshot around.
+ *
+ * @author Vortex
+ * @version 1.0.3
+ */
+public final class MythicConfig {
+
+    /**
+     * The settings of an enchantment tier.
+     *
+     * @param successRate  The chance, in percent, that a scroll of this tier applies.
+     * @param destroyRate  The chance, in percent, that a failed scroll destroys the item.
+     * @param dustPerLevel The salvage dust returned per enchantment level.
+     */
+    public record TierSettings(double successRate, double destroyRate, int dustPerLevel) {
+        public static final TierSettings NONE = new TierSettings(0, 0, 0);
+    }
+
+    /**
+     * An item from the 'custom_items' section, with its name and lore already colored.
+     *
+     * @param boostAmount The success boost it gives a scroll; only used by success dust.
+     */
+    public record CustomItemSpec(String id, Material material, String displayName, List<String> lore, double boostAmount) {}
+
+    /** The placeholders of the scroll templates, in the order their values are rendered. */
+    public static final String[] SCROLL_PLACEHOLDERS = {"enchant_name", "enchant_level_roman", "success_rate", "destroy_rate"};
+
+    /**
+     * The appearance of enchantment scrolls, compiled with {@link #SCROLL_PLACEHOLDERS}.
+     */
+    public record ScrollSettings(double maxSuccessBoost, LoreTemplate displayName, List<LoreTemplate> lore) {}
+
+    /**
+     * The socket system. The filled line is compiled with the {rune_name} placeholder.
+     */
+    public record SocketSettings(int maxSocketsPerItem, String emptyLine, LoreTemplate filledLine) {}
+
+    /**
+     * The pacing of /mf sweep.
+     *
+     * @param maxNanosPerTick        The time a sweep may take per tick.
+     * @param progressIntervalMillis How often the requester is told how far it got.
+     */
+    public record SweepSettings(long maxNanosPerTick, long progressIntervalMillis) {}
+
+    private final Map<String, TierSettings> tiers;
+    private final Map<String, CustomItemSpec> customItems;
+    private final ScrollSettings scrolls;
+    private final SocketSettings sockets;
+    private final String salvageTitle;
+    private final String bulkSalvageTitle;
+    private final long npcInteractionCooldownMillis;
+    private final long itemScanIntervalMillis;
+    private final SweepSettings sweep;
+    private final int loreHash;
+
+    private MythicConfig(Map<String, TierSettings> tiers, Map<String, CustomItemSpec> customItems, ScrollSettings scrolls,
+                         SocketSettings sockets, String salvageTitle, String bulkSalvageTitle, long npcInteractionCooldownMillis,
+                         long itemScanIntervalMillis, SweepSettings sweep, int loreHash) {
+        this.tiers = tiers;
+        this.customItems = customItems;
+        this.scrolls = scrolls;
+        this.sockets = sockets;
+        this.salvageTitle = salvageTitle;
+        this.bulkSalvageTitle = bulkSalvageTitle;
+        this.npcInteractionCooldownMillis = npcInteractionCooldownMillis;
+        this.itemScanIntervalMillis = itemScanIntervalMillis;
+        this.sweep = sweep;
+        this.loreHash = loreHash;
+    }
+
+    /**
+     * Parses and validates the settings. Problems are logged and replaced by defaults, so a
+     * typo in one setting never keeps the plugin from loading.
+     *
+     * @param config The loaded config.yml.
+     * @param logger Where to report problems.
+     * @return The snapshot.
+     */
+    public static MythicConfig load(FileConfiguration config, Logger logger) {
+        // Tiers and their dust yields are defined in two places in the file; join them by tier ID.
+        Map<String, TierSettings> tiers = new HashMap<>();
+        ConfigurationSection tierSection = config.getConfigurationSection("mechanics.tiers");
+        ConfigurationSection yieldSection = config.getConfigurationSection("mechanics.salvage_system.dust_yield");
+        Set<String> tierIds = new TreeSet<>();
+        if (tierSection != null) tierIds.addAll(tierSection.getKeys(false));
+        if (yieldSection != null) tierIds.addAll(yieldSection.getKeys(false));
+        for (String tier : tierIds) {
+            ConfigurationSection section = tierSection != null ? tierSection.getConfigurationSection(tier) : null;
+            if (section == null) logger.warning("Tier '" + tier + "' has no success and destroy rates in mechanics.tiers.");
+            tiers.put(tier.toLowerCase(Locale.ROOT), new TierSettings(
+                    clampPercent(section != null ? section.getDouble("success_rate", 0) : 0),
+                    clampPercent(section != null ? section.getDouble("destroy_rate", 0) : 0),
+                    Math.max(0, yieldSection != null ? yieldSection.getInt(tier, 0) : 0)));
+        }
+
+        // Older configs nested the items under 'mechanics'.
+        ConfigurationSection itemSection = config.getConfigurationSection("custom_items");
+        if (itemSection == null) itemSection = config.getConfigurationSection("mechanics.custom_items");
+        Map<String, CustomItemSpec> customItems = new LinkedHashMap<>();
+        if (itemSection != null) {
+            for (String id : itemSection.getKeys(false)) {
+                ConfigurationSection item = itemSection.getConfigurationSection(id);
+                if (item == null) continue;
+                String materialName = item.getString("material", "STONE");
+                Material material = Material.matchMaterial(materialName.toUpperCase(Locale.ROOT));
+                if (material == null || material.isAir()) {
+                    logger.severe("Invalid material '" + materialName + "' for custom item '" + id + "' in config.yml!");
+                    continue;
+                }
+                customItems.put(id, new CustomItemSpec(id, material, color(item.getString("display_name", id)),
+                        colorAll(item.getStringList("lore")), item.getDouble("boost_amount", 0)));
+            }
+        }
+        if (!customItems.containsKey("enchant_scroll")) logger.severe("Missing config section for 'enchant_scroll'!");
+
+        ScrollSettings scrolls = new ScrollSettings(
+                config.getDouble("mechanics.scrolls.max_success_boost", 100.0),
+                LoreTemplate.compile(config.getString("mechanics.scrolls.display_name", "&bEnchantment Scroll &7({enchant_name}&7)"), SCROLL_PLACEHOLDERS),
+                config.getStringList("mechanics.scrolls.lore").stream()
+                        .map(line -> LoreTemplate.compile(line, SCROLL_PLACEHOLDERS))
+                        .toList());
+
+        SocketSettings sockets = new SocketSettings(
+                Math.max(0, config.getInt("mechanics.socket_system.max_sockets_per_item", 4)),
+                color(config.getString("mechanics.socket_system.socket_lore.empty", "&7[ &8Empty Socket &7]")),
+                LoreTemplate.compile(config.getString("mechanics.socket_system.socket_lore.filled", "&7[ {rune_name} &7]"), "rune_name"));
+
+        SweepSettings sweep = new SweepSettings(
+                (long) (Math.max(0.1, config.getDouble("sweep.max_millis_per_tick", 1.0)) * 1_000_000L),
+                Math.max(1L, config.getLong("sweep.progress_interval_seconds", 10L)) * 1000L);
+
+        // Everything in this file that ends up on items. Stamped onto items and compared after
+        // restarts, so it must not depend on identity hashes such as those of enums.
+        int loreHash = Objects.hash(tiers,
+                config.getString("mechanics.scrolls.display_name"), config.getStringList("mechanics.scrolls.lore"),
+                config.getString("mechanics.socket_system.socket_lore.empty"), config.getString("mechanics.socket_system.socket_lore.filled"));
+        for (CustomItemSpec item : customItems.values()) {
+            loreHash = 31 * loreHash + Objects.hash(item.id(), item.material().name(), item.displayName(), item.lore());
+        }
+
+        return new MythicConfig(
+                Collections.unmodifiableMap(tiers),
+                Collections.unmodifiableMap(customItems),
+                scrolls,
+                sockets,
+                color(config.getString("mechanics.salvage_system.gui_title", "&8Salvage Station")),
+                color(config.getString("mechanics.salvage_system.bulk_gui_title", "&8Bulk Salvage Station")),
+                Math.max(0, config.getLong("npc_settings.interaction_cooldown_ms", 500L)),
+                Math.max(0L, config.getLong("item_refresh.scan_interval_ms", 5000L)),
+                sweep,
+                loreHash);
+    }
+
+    /**
+     * @param tier The tier ID, in any case.
+     * @return The tier's settings, or {@link TierSettings#NONE} for an unknown tier.
+     */
+    public TierSettings getTier(String tier) {
+        TierSettings settings = tier != null ? tiers.get(tier.toLowerCase(Locale.ROOT)) : null;
+        return settings != null ? settings : TierSettings.NONE;
+    }
+
+    public Map<String, TierSettings> getTiers() { return tiers; }
+
+    /**
+     * @param id The item ID, e.g. 'mythic_dust'.
+     * @return The item, or null if it is not defined.
+     */
+    public CustomItemSpec getCustomItem(String id) { return customItems.get(id); }
+
+    public Map<String, CustomItemSpec> getCustomItems() { return customItems; }
+    public ScrollSettings getScrolls() { return scrolls; }
+    public SocketSettings getSockets() { return sockets; }
+    public String getSalvageTitle() { return salvageTitle; }
+    public String getBulkSalvageTitle() { return bulkSalvageTitle; }
+    public long getNpcInteractionCooldownMillis() { return npcInteractionCooldownMillis; }
+
+    /**
+     * @return How often, at most, a player's items are checked for stale lore.
+     */
+    public long getItemScanIntervalMillis() { return itemScanIntervalMillis; }
+    public SweepSettings getSweep() { return sweep; }
+
+    /**
+     * @return A hash of every setting that appears on items, which changes when one of them does.
+     */
+    public int getLoreHash() { return loreHash; }
+
+    /**
+     * Colors the '&' codes of a value inserted into a colored template.
+     */
+    public static String color(String text) {
+        return ChatColor.translateAlternateColorCodes('&', text);
+    }
+
+    private static List<String> colorAll(List<String> lines) {
+        List<String> colored = new ArrayList<>(lines.size());
+        for (String line : lines) colored.add(color(line));
+        return List.copyOf(colored);
+    }
+
+    private static double clampPercent(double value) {
+        return Math.max(0, Math.min(100, value));
+    }
+}
@@ -0,0 +1,69 @@
+package com.vortex.mythicforge.events;
+
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Called once when a MINE effect (area or vein) is about to break extra blocks around the
+ * block a player broke. The original block has already passed its own BlockBreakEvent.
+ * <p>
+ * Protection and claim plugins should remove every block the player may not break from
+ * {@link #getBlocks()}, or cancel the event to break none of them. This replaces firing a
+ * BlockBreakEvent for each extra block.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class MythicMultiBreakEvent extends PlayerEvent implements Cancellable {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final Block origin;
+    private final List<Block> blocks;
+    private boolean cancelled;
+
+    public MythicMultiBreakEvent(@NotNull Player player, @NotNull Block origin, @NotNull List<Block> blocks) {
+        super(player);
+        this.origin = origin;
+        this.blocks = blocks;
+    }
+
+    /**
+     * @return The block the player broke, which triggered the effect.
+     */
+    public @NotNull Block getOrigin() {
+        return origin;
+    }
+
+    /**
+     * @return The mutable list of extra blocks that will be broken, in breaking order.
+     */
+    public @NotNull List<Block> getBlocks() {
+        return blocks;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancel) {
+        this.cancelled = cancel;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static @NotNull HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -1,6 +1,13 @@
 package com.vortex.mythicforge.gui;
 
 import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.jfr.GuiBuildEvent;
+import com.vortex.mythicforge.managers.SessionManager.PlayerSession;
+import com.vortex.mythicforge.metrics.MythicMetrics;
+import com.vortex.mythicforge.utils.MythicProfiler;
+import com.vortex.mythicforge.utils.MythicProfiler.Category;
+import com.vortex.mythicforge.utils.MythicScheduler;
+import com.vortex.mythicforge.utils.TimingWheel.Timeout;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -8,12 +15,16 @@ import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.inventory.Inventory;
 
 public abstract class AbstractGui implements Listener {
     protected final MythicForge plugin;
     protected final Player player;
     protected Inventory inventory;
+    // The deferred update while one is queued, so bursts of clicks collapse into one update.
+    // Timers are cancelled with their entity, e.g. on death, so a cancelled one no longer counts.
+    private Timeout pendingUpdate;
 
     public AbstractGui(Player player) {
         this.plugin = MythicForge.getInstance();
@@ -23,26 +34,99 @@ public abstract class AbstractGui implements Listener {
     protected abstract Inventory createInventory();
     protected abstract void handleClick(InventoryClickEvent event);
 
+    /**
+     * Called for clicks in the player's own inventory while this GUI is open.
+     * Does nothing by default; GUIs that accept items override it.
+     *
+     * @param event The inventory click event.
+     */
+    protected void handlePlayerInventoryClick(InventoryClickEvent event) {}
+
+    /**
+     * Called once when the player closes this GUI, before its listeners are unregistered.
+     * Does nothing by default; GUIs that hold player items override it to return them.
+     *
+     * @param event The inventory close event.
+     */
+    protected void handleClose(InventoryCloseEvent event) {}
+
     public void open() {
+        if (player != null && !MythicScheduler.ownsEntity(player)) {
+            // Opened from another region's thread or from the console on Folia; the inventory
+            // belongs to the player, so build and open it on their thread.
+            MythicScheduler.runFor(plugin, player, this::open, 1L);
+            return;
+        }
+        boolean profiled = MythicProfiler.shouldSample();
+        long start = profiled ? System.nanoTime() : 0L;
+        GuiBuildEvent jfrEvent = new GuiBuildEvent();
+        jfrEvent.begin();
         this.inventory = createInventory();
+        jfrEvent.end();
+        if (profiled) MythicProfiler.record(Category.GUI, getClass().getSimpleName() + ":build", System.nanoTime() - start);
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.gui = getClass().getSimpleName();
+            jfrEvent.slots = inventory != null ? inventory.getSize() : 0;
+            jfrEvent.commit();
+        }
         Bukkit.getPluginManager().registerEvents(this, plugin);
+        MythicMetrics.GUI_OPENS.inc(getClass().getSimpleName());
         if (player != null && player.isOnline()) {
+            plugin.getSessionManager().get(player).setOpenGui(this);
             player.openInventory(this.inventory);
         }
     }
 
+    /**
+     * Runs the given update one tick from now, after the current click has been applied
+     * to the inventory. Any further requests before it runs are merged into that single update.
+     *
+     * @param update The update to run.
+     */
+    protected final void scheduleUpdate(Runnable update) {
+        if (pendingUpdate != null && !pendingUpdate.isCancelled()) return;
+        pendingUpdate = plugin.getTimerManager().runLater(player, 1L, () -> {
+            pendingUpdate = null;
+            update.run();
+        });
+    }
+
     @EventHandler
     public final void onInventoryClick(InventoryClickEvent event) {
         if (!event.getInventory().equals(inventory)) return;
         if (!(event.getWhoClicked() instanceof Player)) return;
-        if (event.getClickedInventory() != inventory) return;
+        if (event.getClickedInventory() != inventory) {
+            if (event.getClickedInventory() != null) handlePlayerInventoryClick(event);
+            return;
+        }
+        boolean profiled = MythicProfiler.shouldSample();
+        long start = profiled ? System.nanoTime() : 0L;
         handleClick(event);
+        if (profiled) MythicProfiler.record(Category.GUI, getClass().getSimpleName() + ":click", System.nanoTime() - start);
+    }
+
+    @EventHandler
+    public final void onInventoryDrag(InventoryDragEvent event) {
+        if (!event.getInventory().equals(inventory)) return;
+        // Drags bypass handleClick, so they may never place items into the GUI's own slots.
+        int topSize = inventory.getSize();
+        for (int rawSlot : event.getRawSlots()) {
+            if (rawSlot < topSize) {
+                event.setCancelled(true);
+                return;
+            }
+        }
     }
 
     @EventHandler
     public final void onInventoryClose(InventoryCloseEvent event) {
         if (event.getInventory().equals(this.inventory)) {
+            handleClose(event);
             HandlerList.unregisterAll(this);
+            if (player != null) {
+                PlayerSession session = plugin.getSessionManager().get(player);
+                if (session.getOpenGui() == this) session.setOpenGui(null);
+            }
         }
     }
 
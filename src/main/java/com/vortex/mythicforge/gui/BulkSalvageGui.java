@@ -0,0 +1,250 @@
+package com.vortex.mythicforge.gui;
+
+import com.vortex.mythicforge.managers.SalvageManager;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.Sound;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The bulk variant of the Salvage Station. Players fill a multi-slot input grid (or
+ * salvage their whole backpack at once) and every salvageable item is broken down in a
+ * single operation, with the resulting dust coalesced into full stacks. Salvaging the
+ * backpack asks for a second click first, since it can destroy many items at once.
+ *
+ * @author Vortex
+ * @version 1.0.2
+ */
+public final class BulkSalvageGui extends AbstractGui {
+
+    // GUI Layout constants. The top five rows are the input grid, the last row holds controls.
+    private static final int INPUT_SLOTS = 45;
+    private static final int INVENTORY_SLOT = 47;
+    private static final int CONFIRM_SLOT = 49;
+    // Only the main storage of the player's inventory is salvaged, never the hotbar or armor.
+    private static final int STORAGE_START = 9;
+    private static final int STORAGE_END = 36;
+    // How long the armed "Salvage Inventory" button waits for its confirming click.
+    private static final long INVENTORY_CONFIRM_MILLIS = 5000L;
+
+    // When the "Salvage Inventory" button was armed by a first click, or 0 if it is not armed.
+    private long inventoryArmedAt = 0L;
+
+    private final SalvageManager salvageManager;
+
+    public BulkSalvageGui(Player player) {
+        super(player);
+        // A null check allows this class to be registered in onEnable without errors
+        if (player != null) {
+            this.salvageManager = plugin.getSalvageManager();
+            open(); // Immediately open the GUI upon creation for a real player.
+        } else {
+            this.salvageManager = null;
+        }
+    }
+
+    @Override
+    protected Inventory createInventory() {
+        Inventory gui = Bukkit.createInventory(null, 54, plugin.getMythicConfig().getBulkSalvageTitle());
+
+        ItemStack pane = new ItemStack(Material.BLACK_STAINED_GLASS_PANE);
+        ItemMeta paneMeta = pane.getItemMeta();
+        paneMeta.setDisplayName(" ");
+        pane.setItemMeta(paneMeta);
+        for (int i = INPUT_SLOTS; i < gui.getSize(); i++) {
+            gui.setItem(i, pane);
+        }
+
+        updateInventoryButton(gui, -1, 0);
+        updateConfirmButton(gui, 0, 0);
+        return gui;
+    }
+
+    @Override
+    protected void handleClick(InventoryClickEvent event) {
+        // Allow players to freely place and remove items in the input grid.
+        if (event.getSlot() < INPUT_SLOTS) {
+            event.setCancelled(false);
+            scheduleUpdate(this::refreshPreview);
+            return;
+        }
+
+        event.setCancelled(true);
+        if (event.getSlot() == CONFIRM_SLOT) {
+            salvageGrid();
+        } else if (event.getSlot() == INVENTORY_SLOT) {
+            if (inventoryArmedAt > 0 && System.currentTimeMillis() - inventoryArmedAt <= INVENTORY_CONFIRM_MILLIS) {
+                inventoryArmedAt = 0L;
+                updateInventoryButton(inventory, -1, 0);
+                salvagePlayerInventory();
+            } else {
+                armInventoryButton();
+            }
+        }
+    }
+
+    @Override
+    protected void handlePlayerInventoryClick(InventoryClickEvent event) {
+        // Shift-clicks move items into the grid without a click in the GUI itself.
+        if (event.isShiftClick()) scheduleUpdate(this::refreshPreview);
+    }
+
+    @Override
+    protected void handleClose(InventoryCloseEvent event) {
+        // Hand back everything still sitting in the input grid.
+        for (int slot = 0; slot < INPUT_SLOTS; slot++) {
+            ItemStack item = inventory.getItem(slot);
+            if (item == null || item.getType().isAir()) continue;
+            inventory.setItem(slot, null);
+            giveOrDrop(item);
+        }
+    }
+
+    private void salvageGrid() {
+        int totalDust = 0;
+        int salvaged = 0;
+        for (int slot = 0; slot < INPUT_SLOTS; slot++) {
+            int dust = salvageManager.calculateDustYield(inventory.getItem(slot));
+            if (dust <= 0) continue; // Non-salvageable items stay in the grid.
+            inventory.setItem(slot, null);
+            totalDust += dust;
+            salvaged++;
+        }
+        finishSalvage(totalDust, salvaged);
+    }
+
+    /**
+     * Shows what salvaging the backpack would yield and waits for a second click to do it.
+     */
+    private void armInventoryButton() {
+        PlayerInventory playerInventory = player.getInventory();
+        int totalDust = 0;
+        int salvageable = 0;
+        for (int slot = STORAGE_START; slot < STORAGE_END; slot++) {
+            int dust = salvageManager.calculateDustYield(playerInventory.getItem(slot));
+            if (dust <= 0) continue;
+            totalDust += dust;
+            salvageable++;
+        }
+        if (totalDust <= 0) {
+            finishSalvage(0, 0);
+            return;
+        }
+        inventoryArmedAt = System.currentTimeMillis();
+        updateInventoryButton(inventory, totalDust, salvageable);
+        player.playSound(player.getLocation(), Sound.UI_BUTTON_CLICK, 1.0f, 1.0f);
+        // Disarm the button again if the confirming click never comes.
+        long armedAt = inventoryArmedAt;
+        plugin.getTimerManager().runLater(player, INVENTORY_CONFIRM_MILLIS / 50L, () -> {
+            if (inventoryArmedAt != armedAt) return;
+            inventoryArmedAt = 0L;
+            updateInventoryButton(inventory, -1, 0);
+        });
+    }
+
+    private void salvagePlayerInventory() {
+        PlayerInventory playerInventory = player.getInventory();
+        int totalDust = 0;
+        int salvaged = 0;
+        for (int slot = STORAGE_START; slot < STORAGE_END; slot++) {
+            int dust = salvageManager.calculateDustYield(playerInventory.getItem(slot));
+            if (dust <= 0) continue;
+            playerInventory.setItem(slot, null);
+            totalDust += dust;
+            salvaged++;
+        }
+        finishSalvage(totalDust, salvaged);
+    }
+
+    private void finishSalvage(int totalDust, int salvagedItems) {
+        if (totalDust <= 0) {
+            player.sendMessage(ChatColor.YELLOW + "None of these items would yield any Mythic Dust.");
+            player.playSound(player.getLocation(), Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
+            return;
+        }
+
+        for (ItemStack stack : salvageManager.createDustStacks(totalDust)) {
+            giveOrDrop(stack);
+        }
+        updateConfirmButton(inventory, 0, 0);
+        player.sendMessage(ChatColor.GREEN + "Salvaged " + salvagedItems + " items into " + totalDust + " Mythic Dust.");
+        player.playSound(player.getLocation(), Sound.BLOCK_GRINDSTONE_USE, 1.0f, 1.2f);
+    }
+
+    private void refreshPreview() {
+        int totalDust = 0;
+        int salvageable = 0;
+        for (int slot = 0; slot < INPUT_SLOTS; slot++) {
+            int dust = salvageManager.calculateDustYield(inventory.getItem(slot));
+            if (dust <= 0) continue;
+            totalDust += dust;
+            salvageable++;
+        }
+        updateConfirmButton(inventory, totalDust, salvageable);
+    }
+
+    private void giveOrDrop(ItemStack item) {
+        player.getInventory().addItem(item).values()
+                .forEach(leftover -> player.getWorld().dropItemNaturally(player.getLocation(), leftover));
+    }
+
+    /**
+     * @param dustYield The yield to confirm, or -1 for the unarmed button.
+     */
+    private void updateInventoryButton(Inventory inventory, int dustYield, int itemCount) {
+        boolean armed = dustYield >= 0;
+        ItemStack inventoryButton = new ItemStack(armed ? Material.TNT : Material.CHEST);
+        ItemMeta inventoryMeta = inventoryButton.getItemMeta();
+        if (armed) {
+            inventoryMeta.setDisplayName(ChatColor.RED + "" + ChatColor.BOLD + "Click Again to Confirm");
+            inventoryMeta.setLore(Arrays.asList(
+                ChatColor.GRAY + "This will destroy " + itemCount + " items from your inventory.",
+                "",
+                ChatColor.YELLOW + "Yield: " + ChatColor.WHITE + dustYield + " Mythic Dust"
+            ));
+        } else {
+            inventoryMeta.setDisplayName(ChatColor.GOLD + "" + ChatColor.BOLD + "Salvage Inventory");
+            inventoryMeta.setLore(Arrays.asList(
+                ChatColor.GRAY + "Salvages every enchanted item in your",
+                ChatColor.GRAY + "inventory. Your hotbar and armor are safe."
+            ));
+        }
+        inventoryButton.setItemMeta(inventoryMeta);
+        inventory.setItem(INVENTORY_SLOT, inventoryButton);
+    }
+
+    private void updateConfirmButton(Inventory inventory, int dustYield, int itemCount) {
+        boolean canSalvage = dustYield > 0;
+        ItemStack confirmButton = new ItemStack(canSalvage ? Material.LIME_STAINED_GLASS_PANE : Material.ANVIL);
+        ItemMeta confirmMeta = confirmButton.getItemMeta();
+
+        List<String> lore;
+        if (canSalvage) {
+            confirmMeta.setDisplayName(ChatColor.GREEN + "" + ChatColor.BOLD + "Confirm Salvage");
+            lore = Arrays.asList(
+                ChatColor.GRAY + "This will destroy " + itemCount + " items.",
+                "",
+                ChatColor.YELLOW + "Yield: " + ChatColor.WHITE + dustYield + " Mythic Dust"
+            );
+        } else {
+            confirmMeta.setDisplayName(ChatColor.RED + "" + ChatColor.BOLD + "Salvage Items");
+            lore = Arrays.asList(
+                ChatColor.GRAY + "Place enchanted items in the grid above.",
+                ChatColor.GRAY + "Click here to break them all down into dust."
+            );
+        }
+        confirmMeta.setLore(lore);
+        confirmButton.setItemMeta(confirmMeta);
+        inventory.setItem(CONFIRM_SLOT, confirmButton);
+    }
+}
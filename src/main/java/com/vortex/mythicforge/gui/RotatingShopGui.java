@@ -1,6 +1,7 @@
 package com.vortex.mythicforge.gui;
 
 import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.metrics.MythicMetrics;
 import com.vortex.mythicforge.managers.ShopManager;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -108,6 +109,7 @@ public final class RotatingShopGui extends PaginatedGui {
             if (plugin.getVaultHook().withdraw(player, price).transactionSuccess()) {
                 player.getInventory().addItem(stockEntry.getKey().clone()); // Give a clean clone of the original item
                 player.sendMessage(ChatColor.GREEN + "Purchase successful!");
+                MythicMetrics.SHOP_PURCHASES.inc("rotating");
                 player.playSound(player.getLocation(), Sound.ENTITY_VILLAGER_YES, 1.0f, 1.0f);
                 player.closeInventory(); // Close GUI on successful purchase
             } else {
@@ -1,25 +1,20 @@
 package com.vortex.mythicforge.gui;
 
 import com.vortex.mythicforge.MythicForge;
-import com.vortex.mythicforge.enchants.CustomEnchant;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.Sound;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Handles the GUI and logic for the item salvaging system. This class extends
@@ -27,7 +22,7 @@ import java.util.Map;
  * only on the logic specific to salvaging.
  *
  * @author Vortex
- * @version 1.0.2
+ * @version 1.0.4
  */
 public final class SalvageGUI extends AbstractGui {
 
@@ -55,9 +50,7 @@ public final class SalvageGUI extends AbstractGui {
      */
     @Override
     protected Inventory createInventory() {
-        String title = ChatColor.translateAlternateColorCodes('&',
-                plugin.getConfig().getString("mechanics.salvage_system.gui_title", "&8Salvage Station"));
-        Inventory gui = Bukkit.createInventory(null, 27, title);
+        Inventory gui = Bukkit.createInventory(null, 27, plugin.getMythicConfig().getSalvageTitle());
 
         ItemStack pane = new ItemStack(Material.BLACK_STAINED_GLASS_PANE);
         ItemMeta paneMeta = pane.getItemMeta();
@@ -83,14 +76,8 @@ public final class SalvageGUI extends AbstractGui {
         // Allow players to place/remove items from the input slot.
         if (event.getSlot() == INPUT_SLOT) {
             event.setCancelled(false);
-            // Schedule a task to update the button 1 tick later, after the inventory has changed.
-            // This is required to get the correct item after the click event has finished.
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    updateSalvageButton(inventory, calculateDustYield(inventory.getItem(INPUT_SLOT)));
-                }
-            }.runTaskLater(plugin, 1L);
+            // Update the button after the click has been applied. Rapid clicks share one update.
+            scheduleUpdate(this::refreshPreview);
             return;
         }
 
@@ -113,7 +100,7 @@ public final class SalvageGUI extends AbstractGui {
                 return;
             }
 
-            int dustYield = calculateDustYield(itemToSalvage);
+            int dustYield = plugin.getSalvageManager().calculateDustYield(itemToSalvage);
             if (dustYield <= 0) {
                 player.sendMessage(ChatColor.YELLOW + "This item would not yield any Mythic Dust.");
                 player.playSound(player.getLocation(), Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
@@ -123,30 +110,26 @@ public final class SalvageGUI extends AbstractGui {
             inventory.setItem(INPUT_SLOT, null); // Consume the item
             // Important: Clear the output slot before adding the new item to prevent duplication bugs.
             inventory.setItem(OUTPUT_SLOT, null); 
-            inventory.setItem(OUTPUT_SLOT, plugin.getTomeManager().createMythicDust(dustYield)); // Give dust
+            List<ItemStack> dust = plugin.getSalvageManager().createDustStacks(dustYield);
+            if (!dust.isEmpty()) inventory.setItem(OUTPUT_SLOT, dust.remove(0)); // Give dust
+            // Anything that doesn't fit in one stack goes straight to the player.
+            if (!dust.isEmpty()) {
+                player.getInventory().addItem(dust.toArray(new ItemStack[0])).values()
+                        .forEach(leftover -> player.getWorld().dropItemNaturally(player.getLocation(), leftover));
+            }
             updateSalvageButton(inventory, 0); // Reset the confirm button
             player.playSound(player.getLocation(), Sound.BLOCK_GRINDSTONE_USE, 1.0f, 1.2f);
         }
     }
 
-    private int calculateDustYield(ItemStack item) {
-        if (item == null || !item.hasItemMeta()) return 0;
-        
-        Map<String, Integer> enchants = plugin.getItemManager().getEnchants(item.getItemMeta());
-        if (enchants.isEmpty()) return 0;
-
-        int totalDust = 0;
-        FileConfiguration config = plugin.getConfig();
-
-        for (Map.Entry<String, Integer> entry : enchants.entrySet()) {
-            CustomEnchant enchant = plugin.getEnchantmentManager().getEnchantById(entry.getKey());
-            if (enchant == null) continue;
-            
-            int level = entry.getValue();
-            int dustPerLevel = config.getInt("mechanics.salvage_system.dust_yield." + enchant.getTier(), 0);
-            totalDust += (level * dustPerLevel);
-        }
-        return totalDust;
+    @Override
+    protected void handlePlayerInventoryClick(InventoryClickEvent event) {
+        // Shift-clicks move items straight into the input slot, so the preview must follow.
+        if (event.isShiftClick()) scheduleUpdate(this::refreshPreview);
+    }
+
+    private void refreshPreview() {
+        updateSalvageButton(inventory, plugin.getSalvageManager().calculateDustYield(inventory.getItem(INPUT_SLOT)));
     }
 
     private void updateSalvageButton(Inventory inventory, int dustYield) {
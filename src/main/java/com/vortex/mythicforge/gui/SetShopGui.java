@@ -1,6 +1,7 @@
 package com.vortex.mythicforge.gui;
 
 import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.metrics.MythicMetrics;
 import com.vortex.mythicforge.managers.SetShopManager;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -170,6 +171,7 @@ public final class SetShopGui extends AbstractGui {
                 ItemStack cleanItem = shopManager.getShopItem(setId, pieceId);
                 player.getInventory().addItem(cleanItem);
                 player.sendMessage(ChatColor.GREEN + "You purchased " + cleanItem.getItemMeta().getDisplayName() + "!");
+                MythicMetrics.SHOP_PURCHASES.inc("set");
             } else {
                  player.sendMessage(ChatColor.RED + "An unexpected economy error occurred.");
             }
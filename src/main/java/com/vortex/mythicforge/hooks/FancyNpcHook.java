@@ -1,18 +1,32 @@
 package com.vortex.mythicforge.hooks;
 
 import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.metrics.MythicMetrics;
 import de.oliver.fancynpcs.api.FancyNpcs;
 import de.oliver.fancynpcs.api.Npc;
 import de.oliver.fancynpcs.api.NpcData;
 import org.bukkit.entity.Entity;
 import org.bukkit.persistence.PersistentDataType; // ADDED IMPORT
+
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class FancyNpcHook {
+    private final MythicForge plugin;
     private final boolean isEnabled;
     private static final String NPC_ROLE_METADATA_KEY = "mythicforge_role";
+    // Stored for clicked entities that turned out to have no role, so they are resolved only once.
+    private static final String NO_ROLE = "";
+    // Entity UUID -> MythicForge role, or NO_ROLE. Filled by the first click on an entity that
+    // is not known yet, including an NPC FancyNpcs respawned under a new UUID, so FancyNpcs is
+    // never asked about entities nobody clicks. Entries are dropped when the entity leaves its world.
+    // Read by NPC clicks in every region on Folia.
+    private final Map<UUID, String> npcRoles = new ConcurrentHashMap<>();
 
     public FancyNpcHook(MythicForge plugin) {
+        this.plugin = plugin;
         if (plugin.getServer().getPluginManager().getPlugin("FancyNpcs") != null) {
             this.isEnabled = true;
         } else {
@@ -22,21 +36,62 @@ public final class FancyNpcHook {
 
     public boolean isEnabled() { return isEnabled; }
 
-    public void setNpcRole(Npc npc, String role) {
+    public void setNpcRole(Npc npc, Entity entity, String role) {
         if (!isEnabled || npc == null) return;
         NpcData data = npc.getData();
         // CORRECTED: The API uses 'set' for this operation.
         data.set(NPC_ROLE_METADATA_KEY, role.toLowerCase());
+        if (entity != null) npcRoles.put(entity.getUniqueId(), role.toLowerCase());
+    }
+
+    /**
+     * Gets the MythicForge role of an entity. Known entities are answered from the cache;
+     * an entity seen for the first time is resolved through FancyNpcs once and cached,
+     * whether or not it has a role.
+     *
+     * @param entity The clicked entity.
+     * @return The role, or null if the entity is not a MythicForge NPC.
+     */
+    public String getCachedRole(Entity entity) {
+        if (!isEnabled || entity == null) return null;
+        String role = npcRoles.get(entity.getUniqueId());
+        if (role != null) {
+            MythicMetrics.CACHE_HITS.inc("npc_roles");
+        } else {
+            MythicMetrics.CACHE_MISSES.inc("npc_roles");
+            role = resolveNpcRole(entity);
+            if (role == null) role = NO_ROLE;
+            npcRoles.put(entity.getUniqueId(), role);
+        }
+        return role.isEmpty() ? null : role;
     }
 
     public Optional<String> getNpcRole(Entity entity) {
-        if (!isEnabled) return Optional.empty();
-        Npc npc = FancyNpcs.api().getNpc(entity);
+        return Optional.ofNullable(getCachedRole(entity));
+    }
+
+    public void untrackEntity(Entity entity) {
+        npcRoles.remove(entity.getUniqueId());
+    }
+
+    /**
+     * Looks up the FancyNpcs NPC behind an entity.
+     *
+     * @param entity The entity to look up.
+     * @return The NPC, or null if FancyNpcs is missing or the entity is not an NPC.
+     */
+    public Npc getNpc(Entity entity) {
+        if (!isEnabled || entity == null) return null;
+        return FancyNpcs.api().getNpc(entity);
+    }
+
+    private String resolveNpcRole(Entity entity) {
+        Npc npc = getNpc(entity);
         if (npc != null) {
             NpcData data = npc.getData();
             // CORRECTED: The API uses 'get' and requires the data type.
-            return Optional.ofNullable(data.get(NPC_ROLE_METADATA_KEY, PersistentDataType.STRING));
+            return data.get(NPC_ROLE_METADATA_KEY, PersistentDataType.STRING);
         }
-        return Optional.empty();
+        return null;
     }
 }
@@ -1,15 +1,12 @@
 package com.vortex.mythicforge.hooks;
 
 import com.vortex.mythicforge.MythicForge;
-import com.vortex.mythicforge.managers.SetBonusManager.ActiveBonus;
+import com.vortex.mythicforge.managers.LoadoutManager.LoadoutSnapshot;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -23,10 +20,16 @@ import java.util.concurrent.TimeUnit;
  * %mythicforge_total_runes%
  * %mythicforge_total_sets%
  * %mythicforge_active_set_name%
+ * %mythicforge_active_set_id%
+ * %mythicforge_set_pieces%
  * %mythicforge_held_enchant_count%
+ * %mythicforge_equipped_enchant_count%
+ * %mythicforge_equipped_enchants%
+ * %mythicforge_rune_count%
+ * %mythicforge_active_cooldowns%
  *
  * @author Vortex
- * @version 1.0.2
+ * @version 1.0.3
  */
 public final class MythicForgeExpansion extends PlaceholderExpansion {
 
@@ -79,31 +82,39 @@ public final class MythicForgeExpansion extends PlaceholderExpansion {
                 return String.valueOf(plugin.getSetBonusManager().getAllSets().size());
 
             // --- Player-Specific Placeholders ---
+            // All of these are served from the player's immutable loadout snapshot, which is
+            // safe to read from PlaceholderAPI's async threads and costs no item decoding.
             case "active_set_name":
-                if (player != null && player.isOnline()) {
-                    Optional<ActiveBonus> activeBonus = plugin.getSetBonusManager().getActiveBonusFor(player.getPlayer());
-                    // Use modern Java Optional handling to safely get the name or a default value.
-                    return activeBonus.map(b -> b.set().getDisplayName()).orElse("None");
-                }
-                return "Offline";
-                
+            case "active_set_id":
+            case "set_pieces":
             case "held_enchant_count":
-                if (player != null && player.isOnline()) {
-                    Player onlinePlayer = player.getPlayer();
-                    ItemStack itemInHand = onlinePlayer.getInventory().getItemInMainHand();
-                    if (itemInHand != null && itemInHand.hasItemMeta()) {
-                        Map<String, Integer> enchants = plugin.getItemManager().getEnchants(itemInHand.getItemMeta());
-                        return String.valueOf(enchants.size());
-                    }
-                    return "0";
-                }
-                return "Offline";
+            case "equipped_enchant_count":
+            case "equipped_enchants":
+            case "rune_count":
+            case "active_cooldowns":
+                Player onlinePlayer = player != null ? player.getPlayer() : null;
+                if (onlinePlayer == null) return "Offline";
+                return fromSnapshot(plugin.getLoadoutManager().getSnapshot(onlinePlayer), params.toLowerCase());
         }
 
         // Let PAPI know the placeholder was not recognized.
         return null;
     }
 
+    private String fromSnapshot(LoadoutSnapshot snapshot, String params) {
+        switch (params) {
+            case "active_set_name": return snapshot.activeSetName();
+            case "active_set_id": return snapshot.activeSetId() != null ? snapshot.activeSetId() : "none";
+            case "set_pieces": return String.valueOf(snapshot.activeSetPieces());
+            case "held_enchant_count": return String.valueOf(snapshot.heldEnchants().size());
+            case "equipped_enchant_count": return String.valueOf(snapshot.equippedEnchants().size());
+            case "equipped_enchants": return snapshot.equippedEnchantList();
+            case "rune_count": return String.valueOf(snapshot.socketedRunes().size());
+            case "active_cooldowns": return String.valueOf(snapshot.activeCooldowns());
+            default: return null;
+        }
+    }
+
     /**
      * Formats a duration in milliseconds into a human-readable HHh MMm SSs format.
      * @param millis The duration in milliseconds.
@@ -0,0 +1,36 @@
+package com.vortex.mythicforge.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Recorded once per entity and trigger when EffectProcessor handles a combat event.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+@Name("mythicforge.CombatTrigger")
+@Label("Combat Trigger")
+@Description("EffectProcessor gathering and running the effects of one entity for one trigger.")
+@Category({"MythicForge", "Combat"})
+@Enabled(false)
+@StackTrace(false)
+public final class CombatTriggerEvent extends Event {
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("Trigger")
+    public String trigger;
+
+    @Label("Enchantments")
+    @Description("Custom enchantments found on the entity's equipment.")
+    public int enchantCount;
+
+    @Label("Effect Groups")
+    @Description("Effect groups gathered from enchantments and set bonuses.")
+    public int effectGroups;
+
+    @Label("Procs")
+    @Description("Effect groups whose trigger and conditions matched and that were executed.")
+    public int procs;
+}
@@ -0,0 +1,26 @@
+package com.vortex.mythicforge.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Recorded for every full content reload.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+@Name("mythicforge.ContentReload")
+@Label("Content Reload")
+@Description("A full reload of the configuration, enchantments, runes, sets and shops.")
+@Category({"MythicForge", "Content"})
+@Enabled(false)
+public final class ContentReloadEvent extends Event {
+
+    @Label("Enchantments")
+    public int enchantments;
+
+    @Label("Runes")
+    public int runes;
+
+    @Label("Sets")
+    public int sets;
+}
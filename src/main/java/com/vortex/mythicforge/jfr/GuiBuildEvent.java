@@ -0,0 +1,24 @@
+package com.vortex.mythicforge.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Recorded whenever a GUI builds its inventory before being opened.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+@Name("mythicforge.GuiBuild")
+@Label("GUI Build")
+@Description("A MythicForge GUI creating and filling its inventory.")
+@Category({"MythicForge", "GUI"})
+@Enabled(false)
+@StackTrace(false)
+public final class GuiBuildEvent extends Event {
+
+    @Label("GUI")
+    public String gui;
+
+    @Label("Slots")
+    public int slots;
+}
@@ -0,0 +1,21 @@
+package com.vortex.mythicforge.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Recorded every time the ActiveEffectTask applies one player's passive effects.
+ *
+ * @author Vortex
+ * @version 1.0.1
+ */
+@Name("mythicforge.PassiveEffectPass")
+@Label("Passive Effect Pass")
+@Description("One run of the ActiveEffectTask applying a player's passive rune and set bonus effects.")
+@Category({"MythicForge", "Tasks"})
+@Enabled(false)
+@StackTrace(false)
+public final class PassiveEffectPassEvent extends Event {
+
+    @Label("Player")
+    public String player;
+}
@@ -0,0 +1,23 @@
+package com.vortex.mythicforge.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Recorded whenever the rotating shop generates new stock.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+@Name("mythicforge.ShopRefresh")
+@Label("Shop Refresh")
+@Description("The rotating shop sampling, building and saving a new stock.")
+@Category({"MythicForge", "Shops"})
+@Enabled(false)
+public final class ShopRefreshEvent extends Event {
+
+    @Label("Pool Size")
+    public int poolSize;
+
+    @Label("Stock Size")
+    public int stockSize;
+}
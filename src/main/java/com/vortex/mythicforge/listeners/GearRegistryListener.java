@@ -0,0 +1,78 @@
+package com.vortex.mythicforge.listeners;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.managers.GearRegistry;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockDispenseArmorEvent;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+
+/**
+ * Keeps the GearRegistry in sync for mobs: scans them when they spawn, load with their chunk
+ * or pick up and get equipped with items, and forgets them when they die or unload. Player
+ * gear is tracked through the LoadoutManager instead.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class GearRegistryListener implements Listener {
+
+    private final GearRegistry gearRegistry;
+
+    public GearRegistryListener(MythicForge plugin) {
+        this.gearRegistry = plugin.getGearRegistry();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onCreatureSpawn(CreatureSpawnEvent event) {
+        gearRegistry.scan(event.getEntity());
+        // Plugins that equip their mobs usually do so right after spawning them.
+        gearRegistry.scanLater(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            gearRegistry.scan(entity);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            gearRegistry.remove(entity.getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent event) {
+        if (!(event.getEntity() instanceof Player)) {
+            gearRegistry.scanLater(event.getEntity());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDispenseArmor(BlockDispenseArmorEvent event) {
+        gearRegistry.scanLater(event.getTargetEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(EntityDeathEvent event) {
+        if (!(event.getEntity() instanceof Player)) {
+            gearRegistry.remove(event.getEntity().getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        gearRegistry.remove(event.getPlayer().getUniqueId());
+    }
+}
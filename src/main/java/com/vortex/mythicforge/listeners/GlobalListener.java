@@ -1,74 +1,111 @@
 package com.vortex.mythicforge.listeners;
 
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.managers.GearRegistry;
+import com.vortex.mythicforge.managers.ItemManager;
+import com.vortex.mythicforge.managers.MiningManager;
+import com.vortex.mythicforge.managers.ProjectileManager;
+import com.vortex.mythicforge.metrics.MythicMetrics;
+import com.vortex.mythicforge.recording.CombatRecorder;
 import com.vortex.mythicforge.utils.EffectProcessor;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.EventPriority;
-import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityShootBowEvent;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.SplittableRandom;
+
 /**
  * A global listener for core gameplay events that can trigger custom abilities.
  * This class acts as the main entry point for delegating actions to the
  * EffectProcessor to keep the code clean and efficient.
+ * <p>
+ * The handlers are not registered directly: the TriggerRegistry registers each one only
+ * while the loaded content uses one of its triggers, at the priority noted on the handler.
  *
  * @author Vortex
- * @version 1.0.2
+ * @version 1.0.5
  */
-public final class GlobalListener implements Listener {
+public final class GlobalListener {
+
+    private final CombatRecorder combatRecorder;
+    private final GearRegistry gearRegistry;
+    private final MiningManager miningManager;
+    private final ProjectileManager projectileManager;
+    private final ItemManager itemManager;
+
+    public GlobalListener(MythicForge plugin) {
+        this.combatRecorder = plugin.getCombatRecorder();
+        this.gearRegistry = plugin.getGearRegistry();
+        this.miningManager = plugin.getMiningManager();
+        this.projectileManager = plugin.getProjectileManager();
+        this.itemManager = plugin.getItemManager();
+    }
 
     /**
-     * Handles all combat between entities to trigger ATTACK and DEFEND effects.
+     * Handles all combat between entities to trigger ATTACK, DEFEND and PROJECTILE_HIT effects.
      * Listens on HIGH priority to act after most other plugins have modified the event.
      *
      * @param event The damage event.
      */
-    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onEntityCombat(EntityDamageByEntityEvent event) {
+        // Most damage on a server (mob farms, mobs fighting mobs) involves no MythicForge gear at all.
+        if (!gearRegistry.isEquipped(event.getDamager()) && !gearRegistry.isEquipped(event.getEntity())
+                && !projectileManager.hasSnapshot(event.getDamager())) {
+            MythicMetrics.COMBAT_EVENTS.inc();
+            MythicMetrics.COMBAT_EVENTS_REJECTED.inc();
+            return;
+        }
         // This single call handles everything. The processor is now smart enough
         // to extract the attacker and defender and process all effects for both.
-        EffectProcessor.processCombatEvent(event);
+        if (combatRecorder.isRecording()) {
+            // Recorded events are processed with their own seed so a replay rolls the same way.
+            long seed = combatRecorder.record(event);
+            EffectProcessor.processCombatEvent(event, new SplittableRandom(seed));
+        } else {
+            EffectProcessor.processCombatEvent(event);
+        }
     }
 
     /**
      * Handles block breaking to trigger MINE effects.
-     * This is a placeholder for future expansion.
+     *
+     * Listens on HIGHEST priority.
      *
      * @param event The block break event.
      */
-    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onBlockBreak(BlockBreakEvent event) {
+        // Blocks broken by a MINE effect itself must not set off another one.
+        if (miningManager.isBreaking()) return;
         Player player = event.getPlayer();
+        if (!gearRegistry.isEquipped(player)) return;
         ItemStack tool = player.getInventory().getItemInMainHand();
         if (tool.getType().isAir()) {
             return;
         }
 
-        // TODO: Create and call a new 'EffectProcessor.processMineEvent(event)'
-        // to handle enchantments like Auto-Smelt or Explosive Touch.
+        EffectProcessor.processMineEvent(event);
     }
 
     /**
-     * Handles bow shooting to trigger SHOOT_BOW effects.
-     * This is a placeholder for future expansion.
+     * Handles bow shooting to trigger SHOOT_BOW effects and to snapshot the shot's
+     * loadout onto the projectile for PROJECTILE_HIT effects.
+     *
+     * Listens on HIGH priority.
      *
      * @param event The bow shoot event.
      */
-    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onBowShoot(EntityShootBowEvent event) {
-        if (!(event.getEntity() instanceof Player)) {
-            return;
-        }
-
         ItemStack bow = event.getBow();
         if (bow == null || bow.getType().isAir()) {
             return;
         }
+        // The bow may be in the off hand, which the gear registry does not look at.
+        if (!gearRegistry.isEquipped(event.getEntity()) && !itemManager.isMythicGear(bow)) {
+            return;
+        }
 
-        // TODO: Create and call a new 'EffectProcessor.processShootEvent(event)'
-        // to handle enchantments that modify the arrow before it's fired.
+        EffectProcessor.processShootEvent(event);
     }
 }
@@ -1,10 +1,10 @@
 package com.vortex.mythicforge.listeners;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.vortex.mythicforge.MythicForge;
 import com.vortex.mythicforge.enchants.CustomEnchant;
 import com.vortex.mythicforge.enchants.Rune;
+import com.vortex.mythicforge.utils.MythicProfiler;
+import com.vortex.mythicforge.utils.MythicProfiler.Category;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.Sound;
@@ -14,13 +14,9 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryAction;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.ChatColor;
 
-import java.util.ArrayList;
-import java.lang.reflect.Type;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -29,7 +25,7 @@ import java.util.concurrent.ThreadLocalRandom;
  * scrolls, creating sockets, and inserting runes.
  *
  * @author Vortex
- * @version 1.0.0
+ * @version 1.0.2
  */
 public final class InventoryListener implements Listener {
 
@@ -37,16 +33,11 @@ public final class InventoryListener implements Listener {
     // NBT Keys
     private final NamespacedKey itemTypeKey;
     private final NamespacedKey enchantsKey;
-    private final NamespacedKey socketsKey;
-    // Gson for data serialization
-    private final Gson gson = new Gson();
-    private final Type socketListType = new TypeToken<List<String>>() {}.getType();
 
     public InventoryListener(MythicForge plugin) {
         this.plugin = plugin;
         this.itemTypeKey = new NamespacedKey(plugin, "mythic_item_type");
         this.enchantsKey = new NamespacedKey(plugin, "mythic_enchants_json");
-        this.socketsKey = new NamespacedKey(plugin, "mythic_sockets_json");
     }
 
     @EventHandler
@@ -63,6 +54,8 @@ public final class InventoryListener implements Listener {
         String cursorItemType = getMythicItemType(cursorItem);
         if (cursorItemType == null || cursorItemType.isEmpty()) return;
         
+        boolean profiled = MythicProfiler.shouldSample();
+        long start = profiled ? System.nanoTime() : 0L;
         // Delegate to the appropriate handler based on the item type
         switch (cursorItemType) {
             case "enchant_scroll":
@@ -75,6 +68,7 @@ public final class InventoryListener implements Listener {
                 handleRuneApply(event, cursorItem, targetItem);
                 break;
         }
+        if (profiled) MythicProfiler.record(Category.LISTENER, "InventoryListener:" + cursorItemType, System.nanoTime() - start);
     }
 
     private void handleScrollApply(InventoryClickEvent event, ItemStack scroll, ItemStack targetItem) {
@@ -86,22 +80,17 @@ public final class InventoryListener implements Listener {
     private void handleChiselApply(InventoryClickEvent event, ItemStack chisel, ItemStack targetItem) {
         event.setCancelled(true);
         Player player = (Player) event.getWhoClicked();
-        ItemMeta targetMeta = targetItem.getItemMeta();
-        if (targetMeta == null) return;
 
-        List<String> sockets = getSockets(targetMeta);
-        int maxSockets = plugin.getConfig().getInt("mechanics.socket_system.max_sockets_per_item", 4);
-
-        if (sockets.size() >= maxSockets) {
+        int maxSockets = plugin.getMythicConfig().getSockets().maxSocketsPerItem();
+        // Add an empty socket, if the item has room for one
+        boolean added = plugin.getItemManager().edit(targetItem, edit -> {
+            if (edit.getSockets().size() < maxSockets) edit.addSocket();
+        });
+        if (!added) {
             player.sendMessage(ChatColor.RED + "This item cannot have any more sockets.");
             return;
         }
 
-        // Add an empty socket
-        sockets.add("empty");
-        saveSockets(targetMeta, sockets);
-        targetItem.setItemMeta(targetMeta);
-
         // Consume the chisel
         chisel.setAmount(chisel.getAmount() - 1);
         player.playSound(player.getLocation(), Sound.BLOCK_SMITHING_TABLE_USE, 1.0f, 1.2f);
@@ -111,26 +100,17 @@ public final class InventoryListener implements Listener {
     private void handleRuneApply(InventoryClickEvent event, ItemStack runeItem, ItemStack targetItem) {
         event.setCancelled(true);
         Player player = (Player) event.getWhoClicked();
-        ItemMeta targetMeta = targetItem.getItemMeta();
-        if (targetMeta == null) return;
-        
-        List<String> sockets = getSockets(targetMeta);
-        if (!sockets.contains("empty")) {
-            player.sendMessage(ChatColor.RED + "This item has no empty sockets.");
-            return;
-        }
 
         // Get the rune's ID from its NBT
         String runeId = getMythicItemType(runeItem); // Assuming rune ID is stored in the 'itemType' key for simplicity
         Rune rune = plugin.getRuneManager().getRuneById(runeId);
         if (rune == null) return;
-        
-        // Find the first empty socket and replace it with the rune's ID
-        int emptySocketIndex = sockets.indexOf("empty");
-        sockets.set(emptySocketIndex, rune.getId());
-        
-        saveSockets(targetMeta, sockets);
-        targetItem.setItemMeta(targetMeta);
+
+        // Put the rune into the first empty socket
+        if (!plugin.getItemManager().edit(targetItem, edit -> edit.applyRune(rune))) {
+            player.sendMessage(ChatColor.RED + "This item has no empty sockets.");
+            return;
+        }
 
         // Consume the rune
         runeItem.setAmount(runeItem.getAmount() - 1);
@@ -140,19 +120,6 @@ public final class InventoryListener implements Listener {
     
     // --- Helper Methods ---
 
-    private List<String> getSockets(ItemMeta meta) {
-        String json = meta.getPersistentDataContainer().get(socketsKey, PersistentDataType.STRING);
-        if (json == null || json.isEmpty()) return new ArrayList<>();
-        return gson.fromJson(json, socketListType);
-    }
-
-    private void saveSockets(ItemMeta meta, List<String> sockets) {
-        String json = gson.toJson(sockets);
-        meta.getPersistentDataContainer().set(socketsKey, PersistentDataType.STRING, json);
-        // Here, you would call a new method in ItemManager to update the lore
-        // plugin.getItemManager().updateSocketLore(meta, sockets);
-    }
-    
     private String getMythicItemType(ItemStack item) {
         if (item == null || item.getItemMeta() == null) return "";
         return item.getItemMeta().getPersistentDataContainer().get(itemTypeKey, PersistentDataType.STRING);
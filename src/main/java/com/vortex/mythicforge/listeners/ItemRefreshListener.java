@@ -0,0 +1,56 @@
+package com.vortex.mythicforge.listeners;
+
+import com.destroystokyo.paper.event.player.PlayerArmorChangeEvent;
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.managers.ItemManager;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Re-renders items whose lore is older than the loaded content at the cheap moments a
+ * player touches them, instead of sweeping every inventory after a reload. Held and
+ * equipped items are checked one by one; whole inventories are checked on join and when an
+ * inventory is opened, at most once per scan interval per player.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class ItemRefreshListener implements Listener {
+
+    private final ItemManager itemManager;
+
+    public ItemRefreshListener(MythicForge plugin) {
+        this.itemManager = plugin.getItemManager();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        itemManager.refreshStaleItems(event.getPlayer(), null);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryOpen(InventoryOpenEvent event) {
+        if (event.getPlayer() instanceof Player) {
+            itemManager.refreshStaleItems((Player) event.getPlayer(), event.getInventory());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHeldSlotChange(PlayerItemHeldEvent event) {
+        itemManager.refreshIfStale(event.getPlayer().getInventory().getItem(event.getNewSlot()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onArmorChange(PlayerArmorChangeEvent event) {
+        // The event only holds a copy of the new piece; refresh the worn ones instead.
+        for (ItemStack armor : event.getPlayer().getInventory().getArmorContents()) {
+            itemManager.refreshIfStale(armor);
+        }
+    }
+}
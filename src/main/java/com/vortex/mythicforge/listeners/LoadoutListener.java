@@ -0,0 +1,92 @@
+package com.vortex.mythicforge.listeners;
+
+import com.destroystokyo.paper.event.player.PlayerArmorChangeEvent;
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.managers.GearRegistry;
+import com.vortex.mythicforge.managers.LoadoutManager;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.player.*;
+
+/**
+ * Watches the cheap gameplay events that can change what a player has equipped and
+ * asks the LoadoutManager to rebuild that player's snapshot on the next tick. When the
+ * player puts a MythicForge item in hand or on, the GearRegistry hears of it right away,
+ * since the rebuild may be deferred while the server is busy.
+ *
+ * @author Vortex
+ * @version 1.0.1
+ */
+public final class LoadoutListener implements Listener {
+
+    private final LoadoutManager loadoutManager;
+    private final GearRegistry gearRegistry;
+
+    public LoadoutListener(MythicForge plugin) {
+        this.loadoutManager = plugin.getLoadoutManager();
+        this.gearRegistry = plugin.getGearRegistry();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        loadoutManager.markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        loadoutManager.invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHeldSlotChange(PlayerItemHeldEvent event) {
+        Player player = event.getPlayer();
+        // The new slot is not selected yet while the event runs.
+        gearRegistry.noteEquipped(player, player.getInventory().getItem(event.getNewSlot()));
+        loadoutManager.markDirty(player);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onArmorChange(PlayerArmorChangeEvent event) {
+        gearRegistry.noteEquipped(event.getPlayer(), event.getNewItem());
+        loadoutManager.markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        gearRegistry.noteEquipped(event.getPlayer(), event.getMainHandItem());
+        loadoutManager.markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDrop(PlayerDropItemEvent event) {
+        loadoutManager.markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player) {
+            loadoutManager.markDirty((Player) event.getEntity());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemBreak(PlayerItemBreakEvent event) {
+        loadoutManager.markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        loadoutManager.markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClose(InventoryCloseEvent event) {
+        if (event.getPlayer() instanceof Player) {
+            loadoutManager.markDirty((Player) event.getPlayer());
+        }
+    }
+}
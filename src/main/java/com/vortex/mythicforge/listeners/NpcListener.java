@@ -1,51 +1,49 @@
 package com.vortex.mythicforge.listeners;
 
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
 import com.vortex.mythicforge.MythicForge;
 import com.vortex.mythicforge.gui.RotatingShopGui;
 import com.vortex.mythicforge.gui.SalvageGUI;
 import com.vortex.mythicforge.gui.SetShopGui;
-import de.oliver.fancynpcs.api.FancyNpcs;
+import com.vortex.mythicforge.managers.SessionManager.PlayerSession;
 import de.oliver.fancynpcs.api.Npc;
 import org.bukkit.ChatColor;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
 import org.bukkit.inventory.EquipmentSlot;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.UUID;
-
 /**
  * Listens for player interactions with FancyNpcs and routes them to the correct
  * MythicForge system. This class handles both opening GUIs for players and
  * processing role assignments for administrators.
  *
  * @author Vortex
- * @version 1.0.2
+ * @version 1.0.8
  */
 public final class NpcListener implements Listener {
 
     private final MythicForge plugin = MythicForge.getInstance();
-    // A temporary map to store which admin is assigning which role.
-    private static final Map<UUID, String> roleSetters = new HashMap<>();
 
     /**
      * Called by the MythicForgeCommand to flag an admin for role assignment.
-     * Their next right-click on a valid NPC will assign the specified role.
+     * Their next right-click on a valid NPC will assign the specified role. The request
+     * is kept in their session, so it is forgotten if they leave first.
      *
      * @param player The admin player assigning a role.
      * @param role The role to be assigned on the next click.
      */
     public static void setPlayerForRoleAssignment(Player player, String role) {
-        roleSetters.put(player.getUniqueId(), role);
+        MythicForge.getInstance().getSessionManager().get(player).setPendingNpcRole(role);
     }
 
     /**
      * Handles right-clicks on any entity to check if it's a MythicForge NPC.
      * Contains two logical paths: one for admins setting roles, and one for players opening GUIs.
+     * Players rarely touch the FancyNpcs API here; their path is a single role registry probe.
      *
      * @param event The entity interaction event.
      */
@@ -56,52 +54,83 @@ public final class NpcListener implements Listener {
             return;
         }
 
-        // Use the modern API to get the NPC object from the clicked entity.
-        Npc npc = FancyNpcs.api().getNpc(event.getRightClicked());
-
-        // If the clicked entity is not a valid FancyNPC, do nothing.
-        if (npc == null) {
-            return;
-        }
-
         Player player = event.getPlayer();
+        PlayerSession session = plugin.getSessionManager().get(player);
 
         // --- ADMIN PATH: Role Assignment ---
-        // Check if the interacting player is currently in the role assignment map.
-        if (roleSetters.containsKey(player.getUniqueId())) {
+        // Check if the interacting player is currently assigning a role.
+        String roleToSet = session.getPendingNpcRole();
+        if (roleToSet != null) {
+            // Only this rare path resolves the NPC object through FancyNpcs.
+            Npc npc = plugin.getFancyNpcHook().getNpc(event.getRightClicked());
+            if (npc == null) {
+                return;
+            }
             event.setCancelled(true); // Prevent any other action
-            String roleToSet = roleSetters.remove(player.getUniqueId());
+            session.setPendingNpcRole(null);
 
-            plugin.getFancyNpcHook().setNpcRole(npc, roleToSet);
+            plugin.getFancyNpcHook().setNpcRole(npc, event.getRightClicked(), roleToSet);
             player.sendMessage(ChatColor.GREEN + "Successfully set NPC '" + npc.getData().getName() + "'s role to: " + roleToSet);
             return; // Stop further processing after assigning the role.
         }
 
         // --- PLAYER PATH: Open GUI ---
-        // If the player is not assigning a role, check if the NPC has a role to interact with.
-        Optional<String> roleOptional = plugin.getFancyNpcHook().getNpcRole(event.getRightClicked());
+        // A single probe of the role registry rejects every entity that is not a MythicForge NPC;
+        // only the first click on an entity the registry has not seen yet consults FancyNpcs.
+        String role = plugin.getFancyNpcHook().getCachedRole(event.getRightClicked());
+        if (role == null) {
+            return;
+        }
 
-        if (roleOptional.isPresent()) {
-            // Prevent any default NPC behavior.
-            event.setCancelled(true);
-            String role = roleOptional.get();
+        // Prevent any default NPC behavior.
+        event.setCancelled(true);
 
-            // Use a switch to handle different roles and open the correct GUI.
-            switch (role) {
-                case "enchant_shop":
-                    new RotatingShopGui(player);
-                    break;
-                case "set_shop":
-                    new SetShopGui(player);
-                    break;
-                case "salvage_station":
-                    new SalvageGUI(player);
-                    break;
-                case "enchanter":
-                case "rune_trader":
-                    player.sendMessage(ChatColor.GOLD + "[NPC] " + ChatColor.WHITE + "This feature is coming soon!");
-                    break;
-            }
+        // Debounce macro clickers so they can't build dozens of GUIs per second.
+        long now = System.currentTimeMillis();
+        long cooldown = plugin.getMythicConfig().getNpcInteractionCooldownMillis();
+        if (now - session.getLastNpcInteraction() < cooldown) {
+            return;
         }
+        session.setLastNpcInteraction(now);
+
+        // Use a switch to handle different roles and open the correct GUI.
+        switch (role) {
+            case "enchant_shop":
+                new RotatingShopGui(player);
+                break;
+            case "set_shop":
+                new SetShopGui(player);
+                break;
+            case "salvage_station":
+                new SalvageGUI(player);
+                break;
+            case "enchanter":
+            case "rune_trader":
+                player.sendMessage(ChatColor.GOLD + "[NPC] " + ChatColor.WHITE + "This feature is coming soon!");
+                break;
+        }
+    }
+
+    /**
+     * Forgets the roles of NPC entities as their chunks unload.
+     *
+     * @param event The entities unload event.
+     */
+    @EventHandler
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            plugin.getFancyNpcHook().untrackEntity(entity);
+        }
+    }
+
+    /**
+     * Forgets entities that leave their world while their chunk stays loaded, e.g. NPCs that
+     * FancyNpcs respawns or mobs that despawn.
+     *
+     * @param event The entity remove event.
+     */
+    @EventHandler
+    public void onEntityRemove(EntityRemoveFromWorldEvent event) {
+        plugin.getFancyNpcHook().untrackEntity(event.getEntity());
     }
 }
@@ -0,0 +1,31 @@
+package com.vortex.mythicforge.listeners;
+
+import com.vortex.mythicforge.tasks.ActiveEffectTask;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+/**
+ * Starts the passive effect task of every player who joins. The task ends on its own when
+ * the player leaves.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class PassiveEffectListener implements Listener {
+
+    // Gives the LoadoutManager's join refresh a moment to run first.
+    private static final long JOIN_DELAY_TICKS = 20L;
+
+    private final ActiveEffectTask activeEffectTask;
+
+    public PassiveEffectListener(ActiveEffectTask activeEffectTask) {
+        this.activeEffectTask = activeEffectTask;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        activeEffectTask.start(event.getPlayer(), JOIN_DELAY_TICKS);
+    }
+}
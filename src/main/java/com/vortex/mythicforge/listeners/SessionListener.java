@@ -0,0 +1,81 @@
+package com.vortex.mythicforge.listeners;
+
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.managers.SessionManager;
+import com.vortex.mythicforge.utils.EffectProcessor;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+
+/**
+ * Opens a player's session when they join and releases it when they leave, reading their
+ * saved cooldowns while they log in. Also forgets the cooldowns of mobs, which have no
+ * session, when they die, unload, despawn or are removed by another plugin.
+ *
+ * @author Vortex
+ * @version 1.0.1
+ */
+public final class SessionListener implements Listener {
+
+    private final SessionManager sessionManager;
+
+    public SessionListener(MythicForge plugin) {
+        this.sessionManager = plugin.getSessionManager();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() == AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            sessionManager.preload(event.getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            sessionManager.discardPreload(event.getPlayer().getUniqueId());
+        }
+    }
+
+    // Runs first, so every other join handler already finds the session.
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        sessionManager.open(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        sessionManager.close(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(EntityDeathEvent event) {
+        if (!(event.getEntity() instanceof Player)) {
+            EffectProcessor.forgetCooldowns(event.getEntity().getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            EffectProcessor.forgetCooldowns(entity.getUniqueId());
+        }
+    }
+
+    // Despawned mobs and mobs removed by other plugins neither die nor unload.
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemove(EntityRemoveFromWorldEvent event) {
+        if (!(event.getEntity() instanceof Player)) {
+            EffectProcessor.forgetCooldowns(event.getEntity().getUniqueId());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.vortex.mythicforge.listeners;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.managers.CosmeticDispatcher;
+import com.vortex.mythicforge.managers.TickGovernor;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+/**
+ * Runs the work MythicForge batches up over a tick once the tick is over, and tells the
+ * TickGovernor how long the tick took.
+ *
+ * @author Vortex
+ * @version 1.0.1
+ */
+public final class TickEndListener implements Listener {
+
+    private final CosmeticDispatcher cosmeticDispatcher;
+    private final TickGovernor tickGovernor;
+
+    public TickEndListener(MythicForge plugin) {
+        this.cosmeticDispatcher = plugin.getCosmeticDispatcher();
+        this.tickGovernor = plugin.getTickGovernor();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent event) {
+        long start = System.nanoTime();
+        cosmeticDispatcher.flush();
+        tickGovernor.recordWork(System.nanoTime() - start);
+        tickGovernor.onTickEnd(event.getTickDuration());
+    }
+}
@@ -0,0 +1,48 @@
+package com.vortex.mythicforge.listeners;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.managers.TickTriggerManager;
+import com.vortex.mythicforge.managers.TimerManager;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+
+/**
+ * Cancels an entity's pending timers, such as TICK triggers and the rest of DELAY chains,
+ * when it dies, leaves or unloads. A player's TICK triggers start again when they respawn.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class TimerListener implements Listener {
+
+    private final TimerManager timerManager;
+    private final TickTriggerManager tickTriggerManager;
+
+    public TimerListener(MythicForge plugin) {
+        this.timerManager = plugin.getTimerManager();
+        this.tickTriggerManager = plugin.getTickTriggerManager();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(EntityDeathEvent event) {
+        timerManager.cancelAll(event.getEntity().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        timerManager.cancelAll(event.getPlayer().getUniqueId());
+        tickTriggerManager.invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            timerManager.cancelAll(entity.getUniqueId());
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.vortex.mythicforge.listeners;
 
 import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.config.MythicConfig.CustomItemSpec;
+import com.vortex.mythicforge.utils.MythicProfiler;
+import com.vortex.mythicforge.utils.MythicProfiler.Category;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
@@ -15,15 +18,12 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Handles all inventory interactions for empowering Enchantment Scrolls with
  * Success Dust and Protection Orbs.
  *
  * @author Vortex
- * @version 1.0.0
+ * @version 1.0.2
  */
 public final class TomeListener implements Listener {
 
@@ -69,6 +69,8 @@ public final class TomeListener implements Listener {
         event.setCancelled(true);
         Player player = (Player) event.getWhoClicked();
         boolean changed = false;
+        boolean profiled = MythicProfiler.shouldSample();
+        long start = profiled ? System.nanoTime() : 0L;
 
         switch (empowermentItemType) {
             case "success_dust":
@@ -83,12 +85,13 @@ public final class TomeListener implements Listener {
             empowermentItem.setAmount(empowermentItem.getAmount() - 1);
             scroll.setItemMeta(scrollMeta);
         }
+        if (profiled) MythicProfiler.record(Category.LISTENER, "TomeListener:" + empowermentItemType, System.nanoTime() - start);
     }
 
     private boolean applyBoost(ItemMeta scrollMeta, Player player) {
         PersistentDataContainer pdc = scrollMeta.getPersistentDataContainer();
         double currentBoost = pdc.getOrDefault(boostKey, PersistentDataType.DOUBLE, 0.0);
-        double maxBoost = plugin.getConfig().getDouble("mechanics.scrolls.max_success_boost", 100.0);
+        double maxBoost = plugin.getMythicConfig().getScrolls().maxSuccessBoost();
 
         if (currentBoost >= maxBoost) {
             player.sendMessage(ChatColor.RED + "This scroll's success chance cannot be boosted any further.");
@@ -96,9 +99,10 @@ public final class TomeListener implements Listener {
             return false;
         }
 
-        double boostAmount = plugin.getConfig().getDouble("mechanics.custom_items.success_dust.boost_amount", 5.0);
+        CustomItemSpec successDust = plugin.getMythicConfig().getCustomItem("success_dust");
+        double boostAmount = successDust != null ? successDust.boostAmount() : 5.0;
         pdc.set(boostKey, PersistentDataType.DOUBLE, currentBoost + boostAmount);
-        updateScrollLore(scrollMeta);
+        plugin.getTomeManager().updateScrollLore(scrollMeta);
         player.playSound(player.getLocation(), Sound.BLOCK_BREWING_STAND_BREW, 1.0f, 1.5f);
         return true;
     }
@@ -111,32 +115,8 @@ public final class TomeListener implements Listener {
             return false;
         }
         pdc.set(protectionKey, PersistentDataType.BYTE, (byte) 1);
-        updateScrollLore(scrollMeta);
+        plugin.getTomeManager().updateScrollLore(scrollMeta);
         player.playSound(player.getLocation(), Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.5f);
         return true;
     }
-
-    /**
-     * Updates a scroll's lore to reflect its current empowerment status.
-     * This method cleanly removes old status lines before adding the new ones.
-     * @param scrollMeta The ItemMeta of the scroll to update.
-     */
-    private void updateScrollLore(ItemMeta scrollMeta) {
-        List<String> lore = scrollMeta.getLore() != null ? new ArrayList<>(scrollMeta.getLore()) : new ArrayList<>();
-
-        // Remove old status lines to prevent duplicates
-        lore.removeIf(line -> line.contains("Success Boost:") || line.contains("[Protected]"));
-
-        PersistentDataContainer pdc = scrollMeta.getPersistentDataContainer();
-        double boost = pdc.getOrDefault(boostKey, PersistentDataType.DOUBLE, 0.0);
-        if (boost > 0) {
-            lore.add(ChatColor.GREEN + "Success Boost: +" + String.format("%.1f", boost) + "%");
-        }
-
-        if (pdc.has(protectionKey, PersistentDataType.BYTE)) {
-            lore.add(ChatColor.LIGHT_PURPLE + "" + ChatColor.BOLD + "[Protected]");
-        }
-        
-        scrollMeta.setLore(lore);
-    }
           }
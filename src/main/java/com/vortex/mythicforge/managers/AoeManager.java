@@ -0,0 +1,211 @@
+package com.vortex.mythicforge.managers;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.utils.MythicScheduler;
+import com.vortex.mythicforge.utils.SpatialIndex;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.ArmorStand;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Tameable;
+import org.bukkit.scoreboard.Team;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Finds the targets of AOE_EFFECT procs. Every world gets a {@link SpatialIndex} the first
+ * time an AOE procs in it during a tick, and all other procs in that tick reuse it. Whether
+ * an entity is a friend or an enemy is decided from a profile (its side and whether it may
+ * take part in PvP) that is also computed at most once per entity per tick.
+ * <p>
+ * Sides and PvP rules are pluggable: other plugins can add a side resolver for their
+ * parties or guilds and a PvP check for their PvP toggles. By default an entity's side is
+ * its scoreboard team (or, for tamed animals, their owner), and PvP follows the world.
+ * <p>
+ * On Folia, regions tick concurrently, so nothing is cached between procs: each proc asks
+ * its own region for the entities around it.
+ *
+ * @author Vortex
+ * @version 1.0.1
+ */
+public final class AoeManager {
+
+    /** Which entities an AOE effect reaches, relative to its owner. */
+    public enum TargetGroup {
+        FRIENDS, ENEMIES, ALL
+    }
+
+    /**
+     * What the classification needs to know about an entity, captured once per tick.
+     *
+     * @param side The side the entity is on, or null if it is on nobody's side.
+     * @param pvp  Whether the entity takes part in PvP; only meaningful for players.
+     */
+    private record Profile(String side, boolean pvp) {}
+
+    private final MythicForge plugin;
+    private final List<Function<LivingEntity, String>> sideResolvers = new CopyOnWriteArrayList<>();
+    private final List<Predicate<Player>> pvpChecks = new CopyOnWriteArrayList<>();
+
+    private final Map<UUID, SpatialIndex> indexes = new HashMap<>();
+    private final Map<UUID, Profile> profiles = new HashMap<>();
+    private int cachedTick = -1;
+
+    // Settings
+    private double maxRadius;
+    private int maxTargetsPerProc;
+
+    public AoeManager(MythicForge plugin) {
+        this.plugin = plugin;
+        sideResolvers.add(AoeManager::scoreboardSide);
+        pvpChecks.add(player -> player.getWorld().getPVP());
+        loadSettings();
+    }
+
+    /**
+     * Reads the 'aoe' settings from config.yml. Safe to be called for reloads.
+     */
+    public void loadSettings() {
+        this.maxRadius = Math.max(1, plugin.getConfig().getDouble("aoe.max_radius", 16));
+        this.maxTargetsPerProc = Math.max(1, plugin.getConfig().getInt("aoe.max_targets_per_proc", 16));
+    }
+
+    /**
+     * Adds a source of sides, such as a party or guild plugin. The first non-null answer
+     * wins and resolvers added later are asked first, so a party plugin takes precedence
+     * over the scoreboard teams.
+     *
+     * @param resolver Returns a key shared by every member of the entity's side, or null.
+     */
+    public void addSideResolver(Function<LivingEntity, String> resolver) {
+        sideResolvers.add(0, resolver);
+    }
+
+    /**
+     * Adds a PvP rule, such as a PvP toggle or a safe zone. A player takes part in PvP only
+     * if every check allows it.
+     *
+     * @param check Returns false if the player must not be hit by, or hit, other players.
+     */
+    public void addPvpCheck(Predicate<Player> check) {
+        pvpChecks.add(check);
+    }
+
+    /**
+     * Finds the entities an AOE effect reaches, nearest first, capped at the configured
+     * number of targets per proc. The owner counts as its own friend. Must be called from
+     * the thread that owns the centre.
+     *
+     * @param owner  The entity the effect belongs to.
+     * @param center The centre of the effect.
+     * @param radius The radius in blocks, capped at the configured maximum.
+     * @param group  Which entities to reach.
+     * @return The targets.
+     */
+    public List<LivingEntity> findTargets(LivingEntity owner, Location center, double radius, TargetGroup group) {
+        World world = center.getWorld();
+        if (world == null || radius <= 0) return List.of();
+        double reach = Math.min(radius, maxRadius);
+
+        List<LivingEntity> candidates;
+        Map<UUID, Profile> profiles;
+        if (MythicScheduler.FOLIA) {
+            // Entities this close to the proc belong to its region, so the region can list them.
+            candidates = findNearby(center, reach);
+            profiles = new HashMap<>();
+        } else {
+            startTick();
+            candidates = indexes.computeIfAbsent(world.getUID(), uid -> new SpatialIndex(world)).query(center, reach);
+            profiles = this.profiles;
+        }
+
+        List<LivingEntity> targets = new ArrayList<>();
+        for (LivingEntity entity : candidates) {
+            if (targets.size() >= maxTargetsPerProc) break;
+            if (entity instanceof ArmorStand || entity.isDead()) continue;
+            boolean friend = isFriend(owner, entity, profiles);
+            if (group == TargetGroup.ALL
+                    || (group == TargetGroup.FRIENDS && friend)
+                    || (group == TargetGroup.ENEMIES && !friend && canHarm(owner, entity, profiles))) {
+                targets.add(entity);
+            }
+        }
+        return targets;
+    }
+
+    private void startTick() {
+        int tick = Bukkit.getCurrentTick();
+        if (tick == cachedTick) return;
+        cachedTick = tick;
+        indexes.clear();
+        profiles.clear();
+    }
+
+    private static List<LivingEntity> findNearby(Location center, double radius) {
+        double radiusSquared = radius * radius;
+        List<LivingEntity> found = new ArrayList<>();
+        for (LivingEntity entity : center.getNearbyLivingEntities(radius)) {
+            if (entity.getLocation().distanceSquared(center) <= radiusSquared) found.add(entity);
+        }
+        found.sort(Comparator.comparingDouble(entity -> entity.getLocation().distanceSquared(center)));
+        return found;
+    }
+
+    private boolean isFriend(LivingEntity owner, LivingEntity entity, Map<UUID, Profile> profiles) {
+        if (owner.equals(entity)) return true;
+        String ownerSide = profile(owner, profiles).side();
+        return ownerSide != null && ownerSide.equals(profile(entity, profiles).side());
+    }
+
+    private boolean canHarm(LivingEntity owner, LivingEntity entity, Map<UUID, Profile> profiles) {
+        if (owner instanceof Player && entity instanceof Player) {
+            return profile(owner, profiles).pvp() && profile(entity, profiles).pvp();
+        }
+        return true;
+    }
+
+    private Profile profile(LivingEntity entity, Map<UUID, Profile> profiles) {
+        return profiles.computeIfAbsent(entity.getUniqueId(), uuid -> {
+            String side = null;
+            for (Function<LivingEntity, String> resolver : sideResolvers) {
+                side = resolver.apply(entity);
+                if (side != null) break;
+            }
+            boolean pvp = true;
+            if (entity instanceof Player) {
+                for (Predicate<Player> check : pvpChecks) {
+                    if (!check.test((Player) entity)) {
+                        pvp = false;
+                        break;
+                    }
+                }
+            }
+            return new Profile(side, pvp);
+        });
+    }
+
+    private static String scoreboardSide(LivingEntity entity) {
+        if (entity instanceof Tameable && ((Tameable) entity).getOwner() != null) {
+            // Pets are on their owner's side: the owner's team, or the owner alone.
+            UUID ownerId = ((Tameable) entity).getOwner().getUniqueId();
+            Player owner = Bukkit.getPlayer(ownerId);
+            String ownerTeam = owner != null ? teamSide(owner) : null;
+            return ownerTeam != null ? ownerTeam : "player:" + ownerId;
+        }
+        String team = teamSide(entity);
+        if (team != null) return team;
+        // Without a team a player is only on their own side, which their pets share.
+        return entity instanceof Player ? "player:" + entity.getUniqueId() : null;
+    }
+
+    private static String teamSide(LivingEntity entity) {
+        String entry = entity instanceof Player ? entity.getName() : entity.getUniqueId().toString();
+        Team team = Bukkit.getScoreboardManager().getMainScoreboard().getEntryTeam(entry);
+        return team != null ? "team:" + team.getName() : null;
+    }
+}
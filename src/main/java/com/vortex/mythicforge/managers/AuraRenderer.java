@@ -0,0 +1,183 @@
+package com.vortex.mythicforge.managers;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.metrics.MythicMetrics;
+import com.vortex.mythicforge.utils.MythicScheduler;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders the persistent particle auras granted by AMBIENT_PARTICLE passive effects.
+ * <p>
+ * The ActiveEffectTask tells the renderer which auras each player currently wears. Every
+ * wearer emits once per interval from a task on their own thread, started at an offset
+ * derived from their UUID, so a crowd of wearers is spread evenly over the interval instead
+ * of all emitting on the same tick. Particles go only to players within the view distance.
+ * A server-wide particle budget is refilled every tick: when the previous tick's emissions
+ * asked for more than it holds, every emission gets proportionally fewer particles; only
+ * once each is down to a single particle are whole emissions skipped. The TickGovernor can
+ * thin auras further, or pause them, while the server is under tick pressure.
+ *
+ * @author Vortex
+ * @version 1.0.3
+ */
+public final class AuraRenderer {
+
+    // A spec that failed to parse is cached as this, so a bad config line is only reported once.
+    private static final AuraSpec INVALID = new AuraSpec(null, 0, 0, 0);
+
+    private final MythicForge plugin;
+    private final Map<UUID, Wearer> wearers = new ConcurrentHashMap<>();
+    private final Map<String, AuraSpec> specCache = new ConcurrentHashMap<>();
+    private final AtomicInteger budget = new AtomicInteger();
+    private final AtomicLong demand = new AtomicLong();
+    private volatile double density = 1.0;
+    private MythicScheduler.Task budgetTask;
+
+    // Settings
+    private volatile boolean enabled;
+    private int intervalTicks;
+    private double viewDistance;
+    private int maxParticlesPerTick;
+
+    /** A parsed AMBIENT_PARTICLE effect. */
+    private record AuraSpec(Particle particle, int count, double radius, double speed) {}
+
+    /** A player wearing at least one aura, and the task that renders it. */
+    private static final class Wearer {
+        private volatile List<AuraSpec> specs;
+        private MythicScheduler.Task task;
+
+        private Wearer(List<AuraSpec> specs) {
+            this.specs = specs;
+        }
+    }
+
+    public AuraRenderer(MythicForge plugin) {
+        this.plugin = plugin;
+        loadSettings();
+    }
+
+    /**
+     * Reads the 'auras' settings from config.yml and restarts rendering. Wearers pick their
+     * auras up again on their next passive effect update. Safe to be called for reloads.
+     */
+    public void loadSettings() {
+        this.enabled = plugin.getConfig().getBoolean("auras.enabled", true);
+        this.intervalTicks = Math.max(1, plugin.getConfig().getInt("auras.interval_ticks", 10));
+        this.viewDistance = Math.max(1, plugin.getConfig().getDouble("auras.view_distance", 24));
+        this.maxParticlesPerTick = Math.max(1, plugin.getConfig().getInt("auras.max_particles_per_tick", 1500));
+        specCache.clear();
+        for (Wearer wearer : wearers.values()) {
+            if (wearer.task != null) wearer.task.cancel();
+        }
+        wearers.clear();
+        MythicMetrics.AURA_WEARERS.set(0);
+        if (budgetTask != null) {
+            budgetTask.cancel();
+            budgetTask = null;
+        }
+        if (enabled) {
+            budget.set(maxParticlesPerTick);
+            budgetTask = MythicScheduler.runGlobalTimer(plugin, this::refillBudget, 1L, 1L);
+        }
+    }
+
+    /**
+     * Sets the auras a player wears, replacing the previous ones. Must be called from the
+     * thread that owns the player.
+     *
+     * @param player The player.
+     * @param auras  The AMBIENT_PARTICLE arguments, e.g. {@code ASH count:4}; empty for none.
+     */
+    public void setAuras(Player player, Collection<String> auras) {
+        List<AuraSpec> specs = new ArrayList<>(auras.size());
+        if (enabled) {
+            for (String aura : auras) {
+                AuraSpec spec = specCache.computeIfAbsent(aura, this::parse);
+                if (spec != INVALID) specs.add(spec);
+            }
+        }
+        UUID uuid = player.getUniqueId();
+        Wearer wearer = wearers.get(uuid);
+        if (specs.isEmpty()) {
+            if (wearer != null && wearers.remove(uuid, wearer)) wearer.task.cancel();
+        } else if (wearer != null) {
+            wearer.specs = specs;
+        } else {
+            Wearer created = new Wearer(specs);
+            wearers.put(uuid, created);
+            long offset = 1 + Math.floorMod(uuid.hashCode(), intervalTicks);
+            created.task = MythicScheduler.runForTimer(plugin, player, () -> emit(player, created),
+                    () -> wearers.remove(uuid, created), offset, intervalTicks);
+        }
+        MythicMetrics.AURA_WEARERS.set(wearers.size());
+    }
+
+    /**
+     * Starts a new tick: thins the auras to what last tick's demand says the budget can afford.
+     */
+    private void refillBudget() {
+        long lastDemand = demand.getAndSet(0);
+        density = lastDemand <= maxParticlesPerTick ? 1.0 : (double) maxParticlesPerTick / lastDemand;
+        budget.set(maxParticlesPerTick);
+    }
+
+    private void emit(Player player, Wearer wearer) {
+        if (player.getGameMode() == GameMode.SPECTATOR || player.hasPotionEffect(PotionEffectType.INVISIBILITY)) return;
+        TickGovernor tickGovernor = plugin.getTickGovernor();
+        if (!tickGovernor.isCosmeticsEnabled()) return;
+        Location location = player.getLocation().add(0, player.getHeight() / 2, 0);
+        // Players this close are always in the wearer's region, so they may be read from here.
+        Collection<Player> viewers = player.getWorld().getNearbyPlayers(location, viewDistance);
+        if (viewers.isEmpty()) return;
+        int sent = 0;
+        for (AuraSpec spec : wearer.specs) {
+            demand.addAndGet((long) spec.count() * viewers.size());
+            int count = Math.max(1, (int) (spec.count() * density * tickGovernor.getParticleScale()));
+            for (Player viewer : viewers) {
+                if (budget.addAndGet(-count) < 0) {
+                    // Out of budget for this tick; the next refill thins the auras further.
+                    MythicMetrics.AURA_PACKETS.inc(sent);
+                    return;
+                }
+                viewer.spawnParticle(spec.particle(), location, count, spec.radius(), spec.radius(), spec.radius(), spec.speed());
+                sent++;
+            }
+        }
+        MythicMetrics.AURA_PACKETS.inc(sent);
+    }
+
+    /**
+     * Parses {@code <PARTICLE> [count:n] [radius:r] [speed:s]}.
+     */
+    private AuraSpec parse(String aura) {
+        String[] tokens = aura.trim().split("\\s+");
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < tokens.length; i++) {
+            String[] option = tokens[i].split(":", 2);
+            if (option.length == 2) options.put(option[0].toLowerCase(), option[1]);
+        }
+        try {
+            Particle particle = Particle.valueOf(tokens[0].toUpperCase());
+            if (particle.getDataType() != Void.class) {
+                throw new IllegalArgumentException(particle + " needs extra data, which auras do not support");
+            }
+            return new AuraSpec(particle,
+                    Math.max(1, Integer.parseInt(options.getOrDefault("count", "3"))),
+                    Double.parseDouble(options.getOrDefault("radius", "0.4")),
+                    Double.parseDouble(options.getOrDefault("speed", "0")));
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid AMBIENT_PARTICLE effect: " + aura + " | Error: " + e.getMessage());
+            return INVALID;
+        }
+    }
+}
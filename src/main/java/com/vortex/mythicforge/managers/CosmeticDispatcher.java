@@ -0,0 +1,194 @@
+package com.vortex.mythicforge.managers;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.metrics.MythicMetrics;
+import com.vortex.mythicforge.utils.MythicScheduler;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The output stage for cosmetic effects (SOUND and PARTICLE). Effects are not sent when
+ * they proc; they are collected during the tick, merged with identical effects at the same
+ * block, and sent once at the end of the tick to the players close enough to notice them.
+ * A global packet budget per tick keeps mass PvP from flooding client connections; what
+ * does not fit is dropped, as a cosmetic effect is worthless a tick late. Under tick pressure
+ * the TickGovernor thins particles out and then turns cosmetics off entirely.
+ * <p>
+ * Folia has no server-wide end of tick, so there effects are sent as soon as they proc, by
+ * the region that owns them, and are neither merged nor counted against a shared budget.
+ *
+ * @author Vortex
+ * @version 1.0.3
+ */
+public final class CosmeticDispatcher {
+
+    // Identical effects at the same spot add particles, but only up to this many times the base count.
+    private static final int MAX_MERGED_PROCS = 4;
+    // A spec that failed to parse is cached as this, so a bad config line is only reported once.
+    private static final CosmeticSpec INVALID = new CosmeticSpec(null, null, null, 0, 0, 0, 0, 0);
+
+    private final MythicForge plugin;
+    private final Map<String, CosmeticSpec> specCache = new ConcurrentHashMap<>();
+    private final Map<PendingKey, Pending> pending = new LinkedHashMap<>();
+
+    // Settings
+    private boolean enabled;
+    private double particleViewDistance;
+    private int maxPacketsPerTick;
+
+    /**
+     * A parsed SOUND or PARTICLE effect. Exactly one of {@code sound} and {@code particle} is set.
+     */
+    private record CosmeticSpec(Sound sound, Particle particle, Object data, int count, double speed,
+                                double radius, float volume, float pitch) {}
+
+    /** Effects with the same spec in the same block of the same world are merged. */
+    private record PendingKey(CosmeticSpec spec, UUID world, int x, int y, int z) {}
+
+    private static final class Pending {
+        private final Location location;
+        private int procs = 1;
+
+        private Pending(Location location) {
+            this.location = location;
+        }
+    }
+
+    public CosmeticDispatcher(MythicForge plugin) {
+        this.plugin = plugin;
+        loadSettings();
+    }
+
+    /**
+     * Reads the 'cosmetics' settings from config.yml. Safe to be called for reloads.
+     */
+    public void loadSettings() {
+        this.enabled = plugin.getConfig().getBoolean("cosmetics.enabled", true);
+        this.particleViewDistance = Math.max(1, plugin.getConfig().getDouble("cosmetics.particle_view_distance", 32));
+        this.maxPacketsPerTick = Math.max(0, plugin.getConfig().getInt("cosmetics.max_packets_per_tick", 2000));
+        specCache.clear();
+    }
+
+    /**
+     * Queues a cosmetic effect for the end of this tick. Must be called from the thread that
+     * owns the location.
+     *
+     * @param type     "SOUND" or "PARTICLE".
+     * @param args     The effect arguments, e.g. {@code SNOWFLAKE count:15 speed:0.1}.
+     * @param location Where the effect plays.
+     */
+    public void queue(String type, String args, Location location) {
+        if (!enabled || location.getWorld() == null) return;
+        if (!plugin.getTickGovernor().isCosmeticsEnabled()) {
+            MythicMetrics.COSMETICS_DROPPED.inc();
+            return;
+        }
+        CosmeticSpec spec = specCache.computeIfAbsent(type + ":" + args, key -> parse(type, args));
+        if (spec == INVALID) return;
+        if (MythicScheduler.FOLIA) {
+            send(spec, new Pending(location.clone()), maxPacketsPerTick);
+            return;
+        }
+        PendingKey key = new PendingKey(spec, location.getWorld().getUID(),
+                location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        Pending existing = pending.get(key);
+        if (existing != null) {
+            existing.procs++;
+        } else {
+            pending.put(key, new Pending(location.clone()));
+        }
+    }
+
+    /**
+     * Sends everything queued during this tick and clears the queue. Called at the end of
+     * every tick.
+     */
+    public void flush() {
+        if (pending.isEmpty()) return;
+        int budget = maxPacketsPerTick;
+        for (Map.Entry<PendingKey, Pending> entry : pending.entrySet()) {
+            if (budget <= 0) {
+                MythicMetrics.COSMETICS_DROPPED.inc();
+                continue;
+            }
+            budget -= send(entry.getKey().spec(), entry.getValue(), budget);
+        }
+        pending.clear();
+    }
+
+    /**
+     * @return The number of packets sent.
+     */
+    private int send(CosmeticSpec spec, Pending pending, int budget) {
+        Location location = pending.location;
+        World world = location.getWorld();
+        // A sound of volume 1 carries 16 blocks, and louder sounds proportionally further.
+        double range = spec.sound() != null ? 16 * Math.max(1f, spec.volume()) : particleViewDistance;
+        int sent = 0;
+        double scale = plugin.getTickGovernor().getParticleScale();
+        for (Player viewer : world.getNearbyPlayers(location, range)) {
+            if (sent >= budget) {
+                MythicMetrics.COSMETICS_DROPPED.inc();
+                break;
+            }
+            if (spec.sound() != null) {
+                viewer.playSound(location, spec.sound(), spec.volume(), spec.pitch());
+            } else {
+                int count = spec.count() * Math.min(pending.procs, MAX_MERGED_PROCS);
+                if (scale < 1.0 && count > 0) count = Math.max(1, (int) (count * scale));
+                viewer.spawnParticle(spec.particle(), location, count, spec.radius(), spec.radius(), spec.radius(), spec.speed(), spec.data());
+            }
+            sent++;
+        }
+        MythicMetrics.COSMETIC_PACKETS.inc(sent);
+        return sent;
+    }
+
+    /**
+     * Parses {@code <NAME> [key:value ...]}. Supported keys are count, speed, radius and
+     * material for particles, and volume and pitch for sounds.
+     */
+    private CosmeticSpec parse(String type, String args) {
+        String[] tokens = args.trim().split("\\s+");
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < tokens.length; i++) {
+            String[] option = tokens[i].split(":", 2);
+            if (option.length == 2) options.put(option[0].toLowerCase(), option[1]);
+        }
+        try {
+            if (type.equals("SOUND")) {
+                Sound sound = Sound.valueOf(tokens[0].toUpperCase());
+                return new CosmeticSpec(sound, null, null, 0, 0, 0,
+                        Float.parseFloat(options.getOrDefault("volume", "1.0")),
+                        Float.parseFloat(options.getOrDefault("pitch", "1.0")));
+            }
+            Particle particle = Particle.valueOf(tokens[0].toUpperCase());
+            return new CosmeticSpec(null, particle, particleData(particle, options.get("material")),
+                    Integer.parseInt(options.getOrDefault("count", "10")),
+                    Double.parseDouble(options.getOrDefault("speed", "0")),
+                    Double.parseDouble(options.getOrDefault("radius", "0.3")), 0, 0);
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid " + type + " effect: " + args + " | Error: " + e.getMessage());
+            return INVALID;
+        }
+    }
+
+    private static Object particleData(Particle particle, String materialName) {
+        Class<?> dataType = particle.getDataType();
+        if (dataType == Void.class) return null;
+        Material material = materialName != null ? Material.matchMaterial(materialName) : null;
+        if (material == null) throw new IllegalArgumentException(particle + " needs a valid material:<MATERIAL>");
+        if (dataType == BlockData.class) return material.createBlockData();
+        if (dataType == ItemStack.class) return new ItemStack(material);
+        throw new IllegalArgumentException(particle + " is not supported");
+    }
+}
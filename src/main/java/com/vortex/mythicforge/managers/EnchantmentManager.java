@@ -9,6 +9,7 @@ import org.bukkit.inventory.ItemStack;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 /**
@@ -21,7 +22,8 @@ import java.util.logging.Level;
 public final class EnchantmentManager {
 
     private final MythicForge plugin;
-    private final Map<String, CustomEnchant> registeredEnchants = new HashMap<>();
+    // Concurrent, so a reload on one region's thread never breaks lookups from another on Folia.
+    private final Map<String, CustomEnchant> registeredEnchants = new ConcurrentHashMap<>();
 
     public EnchantmentManager(MythicForge plugin) {
         this.plugin = plugin;
@@ -40,6 +42,7 @@ public final class EnchantmentManager {
             // Save example files to guide the user on their first startup.
             plugin.saveResource("enchants/frost_weapon.yml", false);
             plugin.saveResource("enchants/wither_helm.yml", false);
+            plugin.saveResource("enchants/prospector.yml", false);
         }
 
         File[] enchantFiles = enchantsDir.listFiles((dir, name) -> name.endsWith(".yml"));
@@ -0,0 +1,164 @@
+package com.vortex.mythicforge.managers;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.utils.MythicScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which entities currently wear or hold MythicForge gear, so that combat involving
+ * only vanilla-equipped entities (mob farms, mob-versus-mob fights) can be rejected with a
+ * single hash lookup. The registry is kept up to date from equipment changes, spawns and
+ * chunk loads; players are also re-checked every time their loadout snapshot is rebuilt.
+ * <p>
+ * Plugins and commands can equip a mob without any event, so for mobs a miss only holds for
+ * a few seconds: after that, the next lookup scans the mob's equipment again.
+ *
+ * @author Vortex
+ * @version 1.0.3
+ */
+public final class GearRegistry {
+
+    // How long a scan that found no gear on a mob is trusted before the mob is scanned again.
+    private static final long MOB_MISS_MILLIS = 5000L;
+
+    private final MythicForge plugin;
+    private final Set<UUID> equippedEntities = ConcurrentHashMap.newKeySet();
+    // When each mob was last scanned without gear. Mobs missing here were never scanned.
+    private final Map<UUID, Long> mobMisses = new ConcurrentHashMap<>();
+
+    public GearRegistry(MythicForge plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Checks whether an entity carries MythicForge gear. A mob that was never scanned, or
+     * whose last miss is a few seconds old, is scanned now, so this must be called from the
+     * thread that owns the entity.
+     *
+     * @param entity The entity to check.
+     * @return true if the entity carries MythicForge gear.
+     */
+    public boolean isEquipped(Entity entity) {
+        UUID uuid = entity.getUniqueId();
+        if (equippedEntities.contains(uuid)) return true;
+        // Players are scanned whenever their equipment changes, so a miss is final for them.
+        if (entity instanceof Player || !(entity instanceof LivingEntity)) return false;
+        Long missedAt = mobMisses.get(uuid);
+        if (missedAt != null && System.currentTimeMillis() - missedAt < MOB_MISS_MILLIS) return false;
+        return scan(entity);
+    }
+
+    /**
+     * Records whether an entity carries MythicForge gear.
+     *
+     * @param uuid    The UUID of the entity.
+     * @param hasGear Whether it carries any.
+     */
+    public void update(UUID uuid, boolean hasGear) {
+        if (hasGear) equippedEntities.add(uuid);
+        else equippedEntities.remove(uuid);
+    }
+
+    /**
+     * Registers a player as soon as they equip a MythicForge item, ahead of the snapshot
+     * rebuild, so a hit landed right after the swap is not rejected. Taking gear off is left
+     * to the rebuild.
+     *
+     * @param player The player.
+     * @param item   The item now in their hand or armor slot.
+     */
+    public void noteEquipped(Player player, ItemStack item) {
+        if (plugin.getItemManager().isMythicGear(item)) equippedEntities.add(player.getUniqueId());
+    }
+
+    /**
+     * Inspects an entity's equipment, in the same slots the EffectProcessor reads, and
+     * updates the registry. Must be called from the thread that owns the entity.
+     *
+     * @param entity The entity to scan.
+     * @return true if the entity carries MythicForge gear.
+     */
+    public boolean scan(Entity entity) {
+        if (!(entity instanceof LivingEntity)) return false;
+        EntityEquipment equipment = ((LivingEntity) entity).getEquipment();
+        if (equipment == null) {
+            record(entity, false);
+            return false;
+        }
+        ItemManager itemManager = plugin.getItemManager();
+        boolean hasGear = itemManager.isMythicGear(equipment.getItemInMainHand());
+        if (!hasGear) {
+            for (ItemStack armor : equipment.getArmorContents()) {
+                if (itemManager.isMythicGear(armor)) {
+                    hasGear = true;
+                    break;
+                }
+            }
+        }
+        record(entity, hasGear);
+        return hasGear;
+    }
+
+    private void record(Entity entity, boolean hasGear) {
+        update(entity.getUniqueId(), hasGear);
+        if (entity instanceof Player) return;
+        if (hasGear) mobMisses.remove(entity.getUniqueId());
+        else mobMisses.put(entity.getUniqueId(), System.currentTimeMillis());
+    }
+
+    /**
+     * Scans an entity on the next tick, or a few ticks later while the server is busy,
+     * after the event that changed its equipment has been applied.
+     *
+     * @param entity The entity to scan.
+     */
+    public void scanLater(Entity entity) {
+        plugin.getTickGovernor().defer(entity, () -> scan(entity));
+    }
+
+    /**
+     * Forgets an entity, typically when it dies, unloads or leaves the server.
+     *
+     * @param uuid The UUID of the entity.
+     */
+    public void remove(UUID uuid) {
+        equippedEntities.remove(uuid);
+        mobMisses.remove(uuid);
+    }
+
+    /**
+     * Clears the registry and scans every loaded living entity. Used on startup.
+     */
+    public void rebuild() {
+        equippedEntities.clear();
+        mobMisses.clear();
+        if (MythicScheduler.FOLIA) {
+            // No thread may walk every world on Folia. Mobs that were loaded before the plugin
+            // enabled are scanned the first time they fight.
+            for (Player player : Bukkit.getOnlinePlayers()) scanLater(player);
+            return;
+        }
+        for (World world : Bukkit.getWorlds()) {
+            for (LivingEntity entity : world.getLivingEntities()) {
+                // Players are registered by the LoadoutManager whenever their snapshot is rebuilt.
+                if (!(entity instanceof Player)) scan(entity);
+            }
+        }
+        for (Player player : Bukkit.getOnlinePlayers()) scan(player);
+    }
+
+    public int size() {
+        return equippedEntities.size();
+    }
+}
@@ -5,8 +5,12 @@ import com.google.gson.reflect.TypeToken;
 import com.vortex.mythicforge.MythicForge;
 import com.vortex.mythicforge.enchants.CustomEnchant;
 import com.vortex.mythicforge.enchants.Rune;
+import com.vortex.mythicforge.managers.SessionManager.PlayerSession;
+import com.vortex.mythicforge.metrics.MythicMetrics;
 import org.bukkit.ChatColor;
 import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
@@ -14,9 +18,14 @@ import org.bukkit.persistence.PersistentDataType;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Manages all direct modifications to ItemStacks, including applying and reading
@@ -24,7 +33,7 @@ import java.util.Map;
  * This class is the single source of truth for item data manipulation.
  *
  * @author Vortex
- * @version 1.0.0
+ * @version 1.0.7
  */
 public final class ItemManager {
 
@@ -32,29 +41,213 @@ public final class ItemManager {
     // NBT Keys
     private final NamespacedKey enchantsKey;
     private final NamespacedKey socketsKey;
+    private final NamespacedKey gearMarkerKey;
+    private final NamespacedKey loreSectionKey;
+    private final NamespacedKey contentVersionKey;
     // Gson for data serialization
     private final Gson gson;
     private final Type enchantMapType;
     private final Type socketListType;
+    // Changes whenever an enchantment, rune or setting that appears on items changes
+    private volatile int contentVersion;
+
+    // Settings
 
     public ItemManager(MythicForge plugin) {
         this.plugin = plugin;
         this.enchantsKey = new NamespacedKey(plugin, "mythic_enchants_json");
         this.socketsKey = new NamespacedKey(plugin, "mythic_sockets_json");
+        this.gearMarkerKey = new NamespacedKey(plugin, "mythic_gear");
+        this.loreSectionKey = new NamespacedKey(plugin, "mythic_lore_section");
         this.gson = new Gson();
         this.enchantMapType = new TypeToken<Map<String, Integer>>() {}.getType();
         this.socketListType = new TypeToken<List<String>>() {}.getType();
+        this.contentVersionKey = new NamespacedKey(plugin, "mythic_content_version");
+        loadSettings();
+    }
+
+    /**
+     * Recomputes the content version from the loaded enchantments, runes and config. Must be
+     * called after those are (re)loaded.
+     */
+    public void loadSettings() {
+        int version = plugin.getMythicConfig().getLoreHash();
+        for (CustomEnchant enchant : plugin.getEnchantmentManager().getRegisteredEnchants().values()) {
+            version += Objects.hash(enchant.getId(), enchant.getDisplayName());
+        }
+        for (Rune rune : plugin.getRuneManager().getRegisteredRunes().values()) {
+            version += Objects.hash(rune.getId(), rune.getDisplayName(), rune.getItemMaterial().name(), rune.getItemLore());
+        }
+        this.contentVersion = version;
+    }
+
+    // --- EDITING ---
+
+    /**
+     * Changes an item's enchantments, sockets and runes in one go. The item's meta is read
+     * and its data decoded once, any number of changes are applied, and then the data is
+     * encoded, the lore rendered and the meta written back once.
+     *
+     * <pre>{@code
+     * itemManager.edit(item, edit -> edit.applyEnchant(frost, 2).addSocket().applyRune(rune));
+     * }</pre>
+     *
+     * @param item    The item to change.
+     * @param changes The changes to make.
+     * @return true if the item's enchantments or sockets changed.
+     */
+    public boolean edit(ItemStack item, Consumer<ItemEdit> changes) {
+        if (item == null) return false;
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) return false;
+
+        ItemEdit edit = new ItemEdit(meta);
+        changes.accept(edit);
+        boolean changed = edit.enchantsChanged || edit.socketsChanged;
+        if (changed) {
+            boolean ownsAllLore = ownsAllLore(meta);
+            PersistentDataContainer pdc = meta.getPersistentDataContainer();
+            if (edit.enchantsChanged) pdc.set(enchantsKey, PersistentDataType.STRING, gson.toJson(edit.enchants));
+            if (edit.socketsChanged) pdc.set(socketsKey, PersistentDataType.STRING, gson.toJson(edit.sockets));
+            markAsMythicGear(meta);
+            refreshLore(meta, ownsAllLore, edit.enchants(), edit.sockets());
+            stampContentVersion(meta);
+        }
+        if (!edit.appendedLore.isEmpty()) {
+            List<String> lore = meta.hasLore() ? new ArrayList<>(meta.getLore()) : new ArrayList<>();
+            lore.addAll(edit.appendedLore);
+            meta.setLore(lore);
+        }
+        // Appended lore lives only in the meta, so it needs the write even when nothing else changed.
+        if (changed || edit.metaTouched || !edit.appendedLore.isEmpty()) item.setItemMeta(meta);
+        return changed;
+    }
+
+    /**
+     * The changes being made to one item in {@link #edit}. Only valid inside the edit.
+     */
+    public final class ItemEdit {
+        private final ItemMeta meta;
+        private Map<String, Integer> enchants;
+        private List<String> sockets;
+        private boolean enchantsChanged;
+        private boolean socketsChanged;
+        private boolean metaTouched;
+        private final List<String> appendedLore = new ArrayList<>();
+
+        private ItemEdit(ItemMeta meta) {
+            this.meta = meta;
+        }
+
+        /**
+         * Gives access to the item's meta for changes of its own, such as the display name.
+         * Its MythicForge data and lore must only be changed through this edit.
+         *
+         * @return The meta, written back when the edit ends.
+         */
+        public ItemMeta getMeta() {
+            metaTouched = true;
+            return meta;
+        }
+
+        /**
+         * @return The item's enchantments by ID, including the changes made so far. Read-only.
+         */
+        public Map<String, Integer> getEnchants() {
+            return Collections.unmodifiableMap(enchants());
+        }
+
+        /**
+         * @return The item's sockets, as rune IDs or "empty", including the changes made so far. Read-only.
+         */
+        public List<String> getSockets() {
+            return Collections.unmodifiableList(sockets());
+        }
+
+        /**
+         * Adds an enchantment, or changes its level if the item already has it.
+         */
+        public ItemEdit applyEnchant(CustomEnchant enchant, int level) {
+            if (enchant == null) return this;
+            Integer previous = enchants().put(enchant.getId().toLowerCase(), level);
+            if (previous == null || previous != level) enchantsChanged = true;
+            return this;
+        }
+
+        /**
+         * Removes an enchantment, whether or not it is still registered.
+         *
+         * @param enchantId The ID of the enchantment.
+         */
+        public ItemEdit removeEnchant(String enchantId) {
+            if (enchants().remove(enchantId.toLowerCase()) != null) enchantsChanged = true;
+            return this;
+        }
+
+        /**
+         * Replaces a rune in every socket that holds it, e.g. with "empty" to take it out.
+         *
+         * @param runeId        The ID of the rune to replace, in any case.
+         * @param replacementId The rune ID, or "empty", to put in its place.
+         */
+        public ItemEdit replaceRune(String runeId, String replacementId) {
+            List<String> current = sockets();
+            for (int i = 0; i < current.size(); i++) {
+                if (current.get(i).equalsIgnoreCase(runeId)) {
+                    current.set(i, replacementId);
+                    socketsChanged = true;
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Adds an empty socket.
+         */
+        public ItemEdit addSocket() {
+            sockets().add("empty");
+            socketsChanged = true;
+            return this;
+        }
+
+        /**
+         * Puts a rune into the first empty socket.
+         *
+         * @return false if the item has no empty socket.
+         */
+        public boolean applyRune(Rune rune) {
+            if (rune == null) return false;
+            int emptySocketIndex = sockets().indexOf("empty");
+            if (emptySocketIndex == -1) return false;
+            sockets.set(emptySocketIndex, rune.getId());
+            socketsChanged = true;
+            return true;
+        }
+
+        /**
+         * Adds lines of plain lore below the MythicForge section, such as a shop price.
+         * They are not part of the section, so later refreshes leave them alone.
+         */
+        public ItemEdit appendLore(String... lines) {
+            Collections.addAll(appendedLore, lines);
+            return this;
+        }
+
+        private Map<String, Integer> enchants() {
+            if (enchants == null) enchants = ItemManager.this.getEnchants(meta);
+            return enchants;
+        }
+
+        private List<String> sockets() {
+            if (sockets == null) sockets = ItemManager.this.getSockets(meta);
+            return sockets;
+        }
     }
 
     // --- ENCHANTMENT METHODS ---
 
     public void applyEnchant(ItemStack item, CustomEnchant enchant, int level) {
-        if (item == null || item.getItemMeta() == null || enchant == null) return;
-        ItemMeta meta = item.getItemMeta();
-        Map<String, Integer> enchants = getEnchants(meta);
-        enchants.put(enchant.getId().toLowerCase(), level);
-        saveEnchants(meta, enchants);
-        item.setItemMeta(meta);
+        edit(item, edit -> edit.applyEnchant(enchant, level));
     }
 
     public Map<String, Integer> getEnchants(ItemMeta meta) {
@@ -68,33 +261,14 @@ public final class ItemManager {
         }
     }
 
-    private void saveEnchants(ItemMeta meta, Map<String, Integer> enchants) {
-        String json = gson.toJson(enchants);
-        meta.getPersistentDataContainer().set(enchantsKey, PersistentDataType.STRING, json);
-        refreshLore(meta); // Refresh the entire lore block
-    }
-
     // --- SOCKET & RUNE METHODS ---
 
     public void addSocket(ItemStack item) {
-        if (item == null || item.getItemMeta() == null) return;
-        ItemMeta meta = item.getItemMeta();
-        List<String> sockets = getSockets(meta);
-        sockets.add("empty");
-        saveSockets(meta, sockets);
-        item.setItemMeta(meta);
+        edit(item, ItemEdit::addSocket);
     }
 
     public void applyRune(ItemStack item, Rune rune) {
-        if (item == null || item.getItemMeta() == null || rune == null) return;
-        ItemMeta meta = item.getItemMeta();
-        List<String> sockets = getSockets(meta);
-        int emptySocketIndex = sockets.indexOf("empty");
-        if (emptySocketIndex == -1) return; // No empty sockets
-
-        sockets.set(emptySocketIndex, rune.getId());
-        saveSockets(meta, sockets);
-        item.setItemMeta(meta);
+        edit(item, edit -> edit.applyRune(rune));
     }
 
     public List<String> getSockets(ItemMeta meta) {
@@ -108,66 +282,243 @@ public final class ItemManager {
         }
     }
 
-    private void saveSockets(ItemMeta meta, List<String> sockets) {
-        String json = gson.toJson(sockets);
-        meta.getPersistentDataContainer().set(socketsKey, PersistentDataType.STRING, json);
-        refreshLore(meta); // Refresh the entire lore block
+    // --- CONTENT VERSION ---
+
+    /**
+     * Records on an item that its lore matches the current enchantments, runes and config.
+     *
+     * @param meta The ItemMeta of an item whose lore was just rendered.
+     */
+    public void stampContentVersion(ItemMeta meta) {
+        meta.getPersistentDataContainer().set(contentVersionKey, PersistentDataType.INTEGER, contentVersion);
     }
-    
+
+    /**
+     * Re-renders a MythicForge item whose lore was rendered from older definitions, e.g.
+     * before an enchantment was renamed and reloaded. Items that are current, or not
+     * MythicForge's, are left alone after reading their meta and one key lookup. Reading
+     * the meta copies it, so this is not free for items that have one.
+     *
+     * @param item The item, changed in place.
+     * @return true if the item was stale and has been refreshed.
+     */
+    public boolean refreshIfStale(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) return false;
+        ItemMeta meta = item.getItemMeta();
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        Integer stamp = pdc.get(contentVersionKey, PersistentDataType.INTEGER);
+        if (stamp != null && stamp == contentVersion) return false;
+
+        if (isMythicGear(pdc)) {
+            refreshLore(meta);
+        } else if (!plugin.getTomeManager().rerender(meta)) {
+            return false; // Not a MythicForge item
+        }
+        stampContentVersion(meta);
+        item.setItemMeta(meta);
+        MythicMetrics.ITEMS_REFRESHED.inc();
+        return true;
+    }
+
+    /**
+     * Refreshes the stale items in a player's inventory and in the inventory they opened, at
+     * most once per 'item_refresh.scan_interval_ms' per player.
+     *
+     * @param player The player.
+     * @param opened The inventory the player opened, or null.
+     */
+    public void refreshStaleItems(Player player, Inventory opened) {
+        PlayerSession session = plugin.getSessionManager().get(player);
+        long now = System.currentTimeMillis();
+        if (now - session.getLastItemScan() < plugin.getMythicConfig().getItemScanIntervalMillis()) return;
+        session.setLastItemScan(now);
+        refreshStaleItems(player.getInventory());
+        if (opened != null && opened != player.getInventory()) refreshStaleItems(opened);
+    }
+
+    private void refreshStaleItems(Inventory inventory) {
+        // The contents are live views of the slots, so refreshing them changes the inventory.
+        for (ItemStack item : inventory.getContents()) {
+            refreshIfStale(item);
+        }
+    }
+
+    // --- GEAR MARKER ---
+
+    /**
+     * Flags an item as carrying MythicForge enchantments or sockets, so it can be recognised
+     * with a single key lookup instead of decoding its data.
+     *
+     * @param meta The ItemMeta to mark.
+     */
+    public void markAsMythicGear(ItemMeta meta) {
+        meta.getPersistentDataContainer().set(gearMarkerKey, PersistentDataType.BYTE, (byte) 1);
+    }
+
+    /**
+     * Checks whether an item carries any MythicForge enchantments or sockets.
+     * Items created before the marker existed are recognised by their data keys.
+     *
+     * @param item The item to check.
+     * @return true if the item is MythicForge gear.
+     */
+    public boolean isMythicGear(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) return false;
+        return isMythicGear(item.getItemMeta().getPersistentDataContainer());
+    }
+
+    private boolean isMythicGear(PersistentDataContainer pdc) {
+        return pdc.has(gearMarkerKey, PersistentDataType.BYTE)
+                || pdc.has(enchantsKey, PersistentDataType.STRING)
+                || pdc.has(socketsKey, PersistentDataType.STRING);
+    }
+
     // --- LORE MANAGEMENT ---
 
     /**
-     * Completely re-generates the MythicForge section of an item's lore based on its
-     * current enchantments and sockets. This ensures a consistent and clean appearance.
+     * Re-generates the MythicForge section of an item's lore from its current enchantments
+     * and sockets. The section is recorded on the item by its size and hash, so it can be
+     * found again and replaced in place; lore added by other plugins is left alone. If the
+     * section did not change, the lore is not touched at all. If the recorded section is no
+     * longer there, e.g. because another plugin edited one of its lines, every line that reads
+     * like a MythicForge enchantment or socket line is replaced instead.
      *
      * @param meta The ItemMeta to update.
      */
     public void refreshLore(ItemMeta meta) {
         if (meta == null) return;
-        
-        // Note: This implementation replaces all lore. A more advanced version could
-        // try to preserve lore lines that don't belong to this plugin.
-        List<String> newLore = new ArrayList<>();
-        Map<String, Integer> enchants = getEnchants(meta);
-        List<String> sockets = getSockets(meta);
+        refreshLore(meta, ownsAllLore(meta), getEnchants(meta), getSockets(meta));
+    }
+
+    private void refreshLore(ItemMeta meta, boolean ownsAllLore, Map<String, Integer> enchants, List<String> sockets) {
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        List<String> section = buildLoreSection(enchants, sockets);
+        List<String> lore = meta.hasLore() ? new ArrayList<>(meta.getLore()) : new ArrayList<>();
+
+        int start;
+        int length;
+        if (ownsAllLore) {
+            start = 0;
+            length = lore.size();
+        } else {
+            int[] recorded = pdc.get(loreSectionKey, PersistentDataType.INTEGER_ARRAY);
+            length = recorded != null && recorded.length == 2 ? recorded[0] : 0;
+            start = length > 0 ? findLoreSection(lore, length, recorded[1]) : -1;
+            if (start < 0) {
+                // Not found, e.g. another plugin rewrote a line or the text was normalized on
+                // its way through the client. Appending would leave the old lines behind.
+                start = length > 0 ? stripMythicLines(lore, section) : lore.size();
+                length = 0;
+            }
+        }
+
+        List<String> current = lore.subList(start, start + length);
+        if (current.equals(section)) return;
+        current.clear();
+        current.addAll(section);
+        meta.setLore(lore.isEmpty() ? null : lore);
+
+        if (section.isEmpty()) {
+            pdc.remove(loreSectionKey);
+        } else {
+            pdc.set(loreSectionKey, PersistentDataType.INTEGER_ARRAY, new int[]{section.size(), section.hashCode()});
+        }
+    }
+
+    /**
+     * Checks, before an item's data changes, whether all of its lore was written by an
+     * earlier version that did not record its lore section.
+     */
+    private boolean ownsAllLore(ItemMeta meta) {
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        return !pdc.has(loreSectionKey, PersistentDataType.INTEGER_ARRAY) && isMythicGear(pdc);
+    }
+
+    private List<String> buildLoreSection(Map<String, Integer> enchants, List<String> sockets) {
+        List<String> section = new ArrayList<>();
+        LoreRenderer renderer = plugin.getLoreRenderer();
 
         // Add enchantment lines
         enchants.forEach((id, level) -> {
             CustomEnchant enchant = plugin.getEnchantmentManager().getEnchantById(id);
             if (enchant != null) {
-                String displayName = enchant.getDisplayName()
-                        .replace("{level_roman}", toRoman(level))
-                        .replace("{level_number}", String.valueOf(level));
-                newLore.add(ChatColor.translateAlternateColorCodes('&', displayName));
+                section.add(renderer.enchantLine(enchant, level));
             }
         });
 
         // Add a spacer if there are both enchants and sockets
         if (!enchants.isEmpty() && !sockets.isEmpty()) {
-            newLore.add(""); // Spacer
+            section.add(""); // Spacer
         }
 
         // Add socket lines
-        String emptyFormat = plugin.getConfig().getString("mechanics.socket_system.socket_lore.empty", "&7[ &8Empty Socket &7]");
-        String filledFormat = plugin.getConfig().getString("mechanics.socket_system.socket_lore.filled", "&7[ {rune_name} &7]");
-        
-        sockets.forEach(socketId -> {
-            if (socketId.equals("empty")) {
-                newLore.add(ChatColor.translateAlternateColorCodes('&', emptyFormat));
-            } else {
-                Rune rune = plugin.getRuneManager().getRuneById(socketId);
-                if (rune != null) {
-                    String filledLine = filledFormat.replace("{rune_name}", rune.getDisplayName());
-                    newLore.add(ChatColor.translateAlternateColorCodes('&', filledLine));
-                }
+        for (String socketId : sockets) {
+            String line = renderer.socketLine(socketId);
+            if (line != null) section.add(line);
+        }
+        return section;
+    }
+
+    /**
+     * Removes every line, compared without colors, that MythicForge could have rendered: any
+     * level of any enchantment, any socket, and the lines about to be written. Blank lines
+     * between two removed lines go too, as they are the spacer between enchants and sockets.
+     * Only used when the recorded section is lost, so building the set of lines is fine.
+     *
+     * @return The index of the first removed line, where the new section goes, or the end of
+     *         the lore if nothing was removed.
+     */
+    private int stripMythicLines(List<String> lore, List<String> section) {
+        LoreRenderer renderer = plugin.getLoreRenderer();
+        Set<String> known = new HashSet<>();
+        for (CustomEnchant enchant : plugin.getEnchantmentManager().getRegisteredEnchants().values()) {
+            for (int level = 1; level <= enchant.getMaxLevel(); level++) {
+                known.add(plainText(renderer.enchantLine(enchant, level)));
             }
-        });
+        }
+        known.add(plainText(renderer.socketLine("empty")));
+        for (String runeId : plugin.getRuneManager().getRegisteredRunes().keySet()) {
+            String line = renderer.socketLine(runeId);
+            if (line != null) known.add(plainText(line));
+        }
+        for (String line : section) known.add(plainText(line));
+        known.remove("");
 
-        meta.setLore(newLore);
+        boolean[] mythic = new boolean[lore.size()];
+        for (int i = 0; i < lore.size(); i++) mythic[i] = known.contains(plainText(lore.get(i)));
+        for (int i = 1; i < lore.size() - 1; i++) {
+            if (!mythic[i] && mythic[i - 1] && mythic[i + 1] && plainText(lore.get(i)).isEmpty()) mythic[i] = true;
+        }
+
+        int first = -1;
+        for (int i = lore.size() - 1; i >= 0; i--) {
+            if (!mythic[i]) continue;
+            lore.remove(i);
+            first = i;
+        }
+        return first >= 0 ? first : lore.size();
     }
 
-    private String toRoman(int number) {
-        // ... (roman numeral conversion logic) ...
-        return String.valueOf(number);
+    private static String plainText(String line) {
+        String stripped = ChatColor.stripColor(line);
+        return stripped == null ? "" : stripped.trim();
+    }
+
+    private static int findLoreSection(List<String> lore, int length, int hash) {
+        for (int start = lore.size() - length; start >= 0; start--) {
+            if (lore.subList(start, start + length).hashCode() == hash) return start;
+        }
+        return -1;
+    }
+
+    /**
+     * Formats an enchantment's display name for the given level, as it appears in lore.
+     *
+     * @param enchant The enchantment.
+     * @param level The enchantment level.
+     * @return The colored display name with its level placeholders filled in.
+     */
+    public String formatEnchantName(CustomEnchant enchant, int level) {
+        return plugin.getLoreRenderer().enchantLine(enchant, level);
     }
-          }
+}
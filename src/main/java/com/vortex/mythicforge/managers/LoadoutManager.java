@@ -0,0 +1,203 @@
+package com.vortex.mythicforge.managers;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.enchants.CustomEnchant;
+import com.vortex.mythicforge.enchants.SetBonus;
+import com.vortex.mythicforge.metrics.MythicMetrics;
+import com.vortex.mythicforge.utils.EffectProcessor;
+import com.vortex.mythicforge.utils.MythicScheduler;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps an immutable snapshot of every online player's MythicForge loadout, in their
+ * session: equipped enchantments, socketed runes, set progress and cooldowns. Snapshots are rebuilt on the
+ * thread that owns the player (the main thread on Paper, the player's region on Folia) when
+ * gameplay changes the loadout and can be read from any thread, which makes them the backing
+ * store for PlaceholderAPI requests.
+ *
+ * @author Vortex
+ * @version 1.0.4
+ */
+public final class LoadoutManager {
+
+    private final MythicForge plugin;
+    // Players with a refresh already queued for the next tick, so changes are coalesced.
+    private final Set<UUID> pendingRefreshes = ConcurrentHashMap.newKeySet();
+    // Read from PlaceholderAPI threads, so it is cached here rather than read from the config.
+    private volatile long snapshotTtlMillis;
+
+    /**
+     * An immutable view of a player's loadout at the moment it was captured.
+     * All display strings are pre-formatted so readers never have to compute anything.
+     */
+    public record LoadoutSnapshot(
+            Map<String, Integer> heldEnchants,
+            Map<String, Integer> equippedEnchants,
+            List<String> socketedRunes,
+            Map<String, Integer> setPieceCounts,
+            String activeSetId,
+            String activeSetName,
+            int activeSetPieces,
+            int activeCooldowns,
+            String equippedEnchantList,
+            long capturedAt) {
+
+        public static final LoadoutSnapshot EMPTY = new LoadoutSnapshot(Map.of(), Map.of(), List.of(), Map.of(),
+                null, "None", 0, 0, "None", 0L);
+
+        public boolean isOlderThan(long ttlMillis, long now) {
+            return now - capturedAt > ttlMillis;
+        }
+    }
+
+    public LoadoutManager(MythicForge plugin) {
+        this.plugin = plugin;
+        loadSettings();
+    }
+
+    /**
+     * Reads the snapshot settings from config.yml. Safe to be called for reloads.
+     */
+    public void loadSettings() {
+        this.snapshotTtlMillis = plugin.getConfig().getLong("placeholders.snapshot_ttl_ms", 2000L);
+    }
+
+    /**
+     * Gets the latest snapshot for a player. On the thread that owns the player a stale or
+     * missing snapshot is rebuilt immediately; on any other thread the last snapshot is
+     * returned and a rebuild is queued for the owning thread.
+     *
+     * @param player The online player.
+     * @return The player's snapshot, or {@link LoadoutSnapshot#EMPTY} if none exists yet.
+     */
+    public LoadoutSnapshot getSnapshot(Player player) {
+        LoadoutSnapshot snapshot = plugin.getSessionManager().get(player).getSnapshot();
+        if (snapshot != null && !snapshot.isOlderThan(snapshotTtlMillis, System.currentTimeMillis())) {
+            MythicMetrics.CACHE_HITS.inc("loadout_snapshot");
+            return snapshot;
+        }
+        MythicMetrics.CACHE_MISSES.inc("loadout_snapshot");
+        if (MythicScheduler.ownsEntity(player)) {
+            return refresh(player);
+        }
+        markDirty(player);
+        return snapshot != null ? snapshot : LoadoutSnapshot.EMPTY;
+    }
+
+    /**
+     * Queues a snapshot rebuild for the next tick, or a few ticks later while the server is
+     * busy. Multiple calls before it runs result in a single rebuild. Safe to call from any thread.
+     *
+     * @param player The player whose loadout changed.
+     */
+    public void markDirty(Player player) {
+        UUID uuid = player.getUniqueId();
+        if (!pendingRefreshes.add(uuid)) return;
+        plugin.getTickGovernor().defer(player, () -> {
+            pendingRefreshes.remove(uuid);
+            if (player.isOnline()) refresh(player);
+        });
+    }
+
+    /**
+     * Rebuilds and publishes a player's snapshot. Must be called from the thread that owns
+     * the player.
+     *
+     * @param player The player to capture.
+     * @return The freshly captured snapshot.
+     */
+    public LoadoutSnapshot refresh(Player player) {
+        LoadoutSnapshot snapshot = capture(player);
+        plugin.getSessionManager().get(player).setSnapshot(snapshot);
+        plugin.getGearRegistry().update(player.getUniqueId(),
+                !snapshot.equippedEnchants().isEmpty() || !snapshot.socketedRunes().isEmpty());
+        plugin.getTickTriggerManager().update(player, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Forgets a player's queued refresh, typically when they leave the server. The snapshot
+     * itself goes with their session.
+     *
+     * @param uuid The UUID of the player.
+     */
+    public void invalidate(UUID uuid) {
+        pendingRefreshes.remove(uuid);
+    }
+
+    private LoadoutSnapshot capture(Player player) {
+        PlayerInventory inv = player.getInventory();
+        ItemManager itemManager = plugin.getItemManager();
+
+        Map<String, Integer> heldEnchants = Map.of();
+        Map<String, Integer> equippedEnchants = new LinkedHashMap<>();
+        List<String> socketedRunes = new ArrayList<>();
+
+        List<ItemStack> equippedItems = new ArrayList<>(Arrays.asList(inv.getArmorContents()));
+        ItemStack mainHand = inv.getItemInMainHand();
+        equippedItems.add(mainHand);
+
+        for (ItemStack item : equippedItems) {
+            if (item == null || !item.hasItemMeta()) continue;
+            ItemMeta meta = item.getItemMeta();
+            Map<String, Integer> itemEnchants = itemManager.getEnchants(meta);
+            itemEnchants.forEach((id, level) -> equippedEnchants.merge(id, level, Math::max));
+            for (String socket : itemManager.getSockets(meta)) {
+                if (!socket.equals("empty")) socketedRunes.add(socket);
+            }
+            if (item == mainHand) heldEnchants = Map.copyOf(itemEnchants);
+        }
+
+        // Count pieces for every set and remember the best one, mirroring SetBonusManager.
+        Map<String, Integer> setPieceCounts = new HashMap<>();
+        SetBonus bestSet = null;
+        int bestPieces = 0;
+        for (SetBonus set : plugin.getSetBonusManager().getAllSets()) {
+            int pieces = 0;
+            for (String required : set.getRequiredEnchantments()) {
+                if (equippedEnchants.containsKey(required)) pieces++;
+            }
+            if (pieces == 0) continue;
+            setPieceCounts.put(set.getSetId(), pieces);
+            if (pieces > bestPieces) {
+                bestPieces = pieces;
+                bestSet = set;
+            }
+        }
+
+        String activeSetId = null;
+        String activeSetName = "None";
+        int activeSetPieces = 0;
+        if (bestSet != null && bestSet.getBonusTierFor(bestPieces).isPresent()) {
+            activeSetId = bestSet.getSetId();
+            activeSetName = ChatColor.translateAlternateColorCodes('&', bestSet.getDisplayName());
+            activeSetPieces = bestPieces;
+        }
+
+        StringJoiner enchantList = new StringJoiner(ChatColor.RESET + ", ");
+        equippedEnchants.forEach((id, level) -> {
+            CustomEnchant enchant = plugin.getEnchantmentManager().getEnchantById(id);
+            if (enchant != null) enchantList.add(itemManager.formatEnchantName(enchant, level));
+        });
+
+        return new LoadoutSnapshot(
+                heldEnchants,
+                Map.copyOf(equippedEnchants),
+                List.copyOf(socketedRunes),
+                Map.copyOf(setPieceCounts),
+                activeSetId,
+                activeSetName,
+                activeSetPieces,
+                EffectProcessor.countActiveCooldowns(player),
+                enchantList.length() > 0 ? enchantList.toString() : "None",
+                System.currentTimeMillis()
+        );
+    }
+}
@@ -0,0 +1,168 @@
+package com.vortex.mythicforge.managers;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.config.MythicConfig;
+import com.vortex.mythicforge.config.MythicConfig.ScrollSettings;
+import com.vortex.mythicforge.config.MythicConfig.TierSettings;
+import com.vortex.mythicforge.enchants.CustomEnchant;
+import com.vortex.mythicforge.enchants.Rune;
+import com.vortex.mythicforge.utils.LoreTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders the lore lines MythicForge writes onto items: enchantment lines, socket lines and
+ * the lore of enchantment scrolls. Each enchantment's name is compiled into a
+ * {@link LoreTemplate} once, and every rendered line is cached by enchantment and level, or
+ * by rune, so creating items in bulk hands out the same String instances instead of
+ * rebuilding them.
+ * <p>
+ * Cache entries remember the enchantment or rune and the config they were rendered from. A
+ * reload replaces those objects, so stale entries are rebuilt on their next use without the
+ * cache having to be cleared. Safe to use from any thread.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class LoreRenderer {
+
+    private static final String[] ENCHANT_PLACEHOLDERS = {"level_roman", "level_number"};
+
+    private final MythicForge plugin;
+    private final Map<String, EnchantLines> enchantLines = new ConcurrentHashMap<>();
+    private final Map<String, RuneLine> runeLines = new ConcurrentHashMap<>();
+
+    /**
+     * The cached lines of one enchantment, indexed by level. Levels above the enchantment's
+     * max level are rendered but not cached. Two threads may render the same level at once;
+     * both produce the same line, so the race is harmless.
+     */
+    private static final class EnchantLines {
+        final CustomEnchant enchant;
+        final MythicConfig config;
+        final LoreTemplate name;
+        final String[] lines;
+        final ScrollText[] scrolls;
+
+        EnchantLines(CustomEnchant enchant, MythicConfig config) {
+            this.enchant = enchant;
+            this.config = config;
+            this.name = LoreTemplate.compile(enchant.getDisplayName(), ENCHANT_PLACEHOLDERS);
+            this.lines = new String[Math.max(0, enchant.getMaxLevel()) + 1];
+            this.scrolls = new ScrollText[lines.length];
+        }
+    }
+
+    /**
+     * The display name and lore of an enchantment scroll, colored. The lore must not be modified.
+     */
+    public record ScrollText(String displayName, List<String> lore) {}
+
+    private record RuneLine(Rune rune, MythicConfig config, String line) {}
+
+    public LoreRenderer(MythicForge plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * @param enchant The enchantment.
+     * @param level   The enchantment level.
+     * @return The enchantment's lore line at that level, colored.
+     */
+    public String enchantLine(CustomEnchant enchant, int level) {
+        EnchantLines cached = entryFor(enchant);
+        if (level < 1 || level >= cached.lines.length) {
+            return cached.name.render(toRoman(level), String.valueOf(level));
+        }
+        String line = cached.lines[level];
+        if (line == null) {
+            line = cached.name.render(toRoman(level), String.valueOf(level));
+            cached.lines[level] = line;
+        }
+        return line;
+    }
+
+    /**
+     * @param socketId The content of a socket: a rune ID, or "empty".
+     * @return The socket's lore line, or null if it holds a rune that no longer exists.
+     */
+    public String socketLine(String socketId) {
+        MythicConfig config = plugin.getMythicConfig();
+        if (socketId.equals("empty")) return config.getSockets().emptyLine();
+        Rune rune = plugin.getRuneManager().getRuneById(socketId);
+        if (rune == null) return null;
+        RuneLine cached = runeLines.get(socketId);
+        if (cached == null || cached.rune() != rune || cached.config() != config) {
+            cached = new RuneLine(rune, config, config.getSockets().filledLine().render(MythicConfig.color(rune.getDisplayName())));
+            runeLines.put(socketId, cached);
+        }
+        return cached.line();
+    }
+
+    /**
+     * @param enchant The enchantment of the scroll.
+     * @param level   The enchantment level of the scroll.
+     * @return The scroll's display name and lore.
+     */
+    public ScrollText scrollText(CustomEnchant enchant, int level) {
+        EnchantLines cached = entryFor(enchant);
+        if (level < 1 || level >= cached.scrolls.length) {
+            return renderScroll(cached, level);
+        }
+        ScrollText text = cached.scrolls[level];
+        if (text == null) {
+            text = renderScroll(cached, level);
+            cached.scrolls[level] = text;
+        }
+        return text;
+    }
+
+    /**
+     * Converts a number to Roman numerals, e.g. for enchantment levels. Numbers outside 1 to
+     * 39 are returned as digits.
+     *
+     * @param number The number.
+     * @return The Roman numeral.
+     */
+    public static String toRoman(int number) {
+        if (number < 1 || number > 39) return String.valueOf(number);
+        String[] r_keys = {"M", "CM", "D", "CD", "C", "XC", "L", "XL", "X", "IX", "V", "IV", "I"};
+        int[] v_keys = {1000, 900, 500, 400, 100, 90, 50, 40, 10, 9, 5, 4, 1};
+        StringBuilder roman = new StringBuilder();
+        for (int i = 0; i < r_keys.length; i++) {
+            while (number >= v_keys[i]) {
+                roman.append(r_keys[i]);
+                number -= v_keys[i];
+            }
+        }
+        return roman.toString();
+    }
+
+    private EnchantLines entryFor(CustomEnchant enchant) {
+        MythicConfig config = plugin.getMythicConfig();
+        EnchantLines cached = enchantLines.get(enchant.getId());
+        if (cached == null || cached.enchant != enchant || cached.config != config) {
+            cached = new EnchantLines(enchant, config);
+            enchantLines.put(enchant.getId(), cached);
+        }
+        return cached;
+    }
+
+    private static ScrollText renderScroll(EnchantLines cached, int level) {
+        ScrollSettings scrolls = cached.config.getScrolls();
+        TierSettings tier = cached.config.getTier(cached.enchant.getTier());
+        // In the order of MythicConfig.SCROLL_PLACEHOLDERS.
+        String[] values = {
+                MythicConfig.color(cached.enchant.getDisplayName()),
+                toRoman(level),
+                String.valueOf(tier.successRate()),
+                String.valueOf(tier.destroyRate())
+        };
+        List<String> lore = new ArrayList<>(scrolls.lore().size());
+        for (LoreTemplate line : scrolls.lore()) lore.add(line.render(values));
+        return new ScrollText(scrolls.displayName().render(values), List.copyOf(lore));
+    }
+}
@@ -0,0 +1,469 @@
+package com.vortex.mythicforge.managers;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.events.MythicMultiBreakEvent;
+import com.vortex.mythicforge.metrics.MythicMetrics;
+import com.vortex.mythicforge.utils.MythicScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Tag;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.TileState;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.ExperienceOrb;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.FurnaceRecipe;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.Recipe;
+import org.bukkit.inventory.RecipeChoice;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Executes the block-breaking effects of the MINE trigger: AREA, VEIN and AUTO_SMELT.
+ * <p>
+ * Extra blocks are never broken inside the triggering BlockBreakEvent. They are found up
+ * front with a bounded search, checked once through a {@link MythicMultiBreakEvent}, and
+ * then broken in small batches by a task on the region that owns the job's origin, under a
+ * per-tick block and time budget split evenly between all running jobs. Drops are merged
+ * while a job runs and spawned once it finishes, so a vein of fifty ores produces one item
+ * entity per drop type instead of fifty.
+ * <p>
+ * Extra blocks are broken as the player would break them: each one wears the tool down and
+ * drops its experience, and the job stops when the tool breaks or leaves the player's hand.
+ * Blocks with a block entity (chests, spawners, ...) are never broken, VEIN only follows the
+ * blocks listed in 'mining.vein_blocks', and players in creative mode are left alone.
+ *
+ * @author Vortex
+ * @version 1.0.3
+ */
+public final class MiningManager {
+
+    // The searched area is capped so the visited bitset stays small (33³ bits at most).
+    private static final int MAX_SEARCH_RADIUS = 16;
+
+    private final MythicForge plugin;
+    private final Set<MiningJob> jobs = ConcurrentHashMap.newKeySet();
+    private volatile Map<Material, ItemStack> smeltingResults;
+    // Set while this manager fires BlockBreakEvents itself, so they do not trigger MINE again.
+    // Per thread, as jobs in different regions break blocks at the same time on Folia.
+    private final ThreadLocal<Boolean> breaking = ThreadLocal.withInitial(() -> false);
+
+    // Settings
+    private int blocksPerTick;
+    private long maxNanosPerTick;
+    private int maxBlocksPerJob;
+    private int veinSearchRadius;
+    private boolean verifyEachBlock;
+    private Set<Material> veinBlocks = EnumSet.noneOf(Material.class);
+
+    /**
+     * The MINE effects that passed their conditions for one broken block. When several
+     * effect groups apply, the largest area and vein win.
+     */
+    public static final class MiningOrder {
+        private int areaRadius;
+        private int veinLimit;
+        private boolean autoSmelt;
+
+        public void area(int radius) { this.areaRadius = Math.max(areaRadius, radius); }
+        public void vein(int limit) { this.veinLimit = Math.max(veinLimit, limit); }
+        public void autoSmelt() { this.autoSmelt = true; }
+        public boolean isEmpty() { return areaRadius <= 0 && veinLimit <= 0 && !autoSmelt; }
+    }
+
+    /** The blocks still to break for one triggering block break, and the drops collected so far. */
+    private static final class MiningJob {
+        private final Player player;
+        private final Location dropLocation;
+        private final ItemStack tool;
+        private final boolean autoSmelt;
+        private final List<Block> blocks;
+        private final Material[] expectedTypes;
+        private final List<ItemStack> drops = new ArrayList<>();
+        private int experience = 0;
+        private int cursor = 0;
+        private MythicScheduler.Task task;
+
+        private MiningJob(Player player, Block origin, ItemStack tool, boolean autoSmelt, List<Block> blocks) {
+            this.player = player;
+            this.dropLocation = origin.getLocation().add(0.5, 0.5, 0.5);
+            this.tool = tool;
+            this.autoSmelt = autoSmelt;
+            this.blocks = blocks;
+            this.expectedTypes = new Material[blocks.size()];
+            for (int i = 0; i < blocks.size(); i++) expectedTypes[i] = blocks.get(i).getType();
+        }
+
+        private boolean isDone() {
+            return cursor >= blocks.size();
+        }
+    }
+
+    public MiningManager(MythicForge plugin) {
+        this.plugin = plugin;
+        loadSettings();
+    }
+
+    /**
+     * Reads the 'mining' settings from config.yml. Safe to be called for reloads.
+     */
+    public void loadSettings() {
+        this.blocksPerTick = Math.max(1, plugin.getConfig().getInt("mining.blocks_per_tick", 64));
+        this.maxNanosPerTick = (long) (Math.max(0.1, plugin.getConfig().getDouble("mining.max_millis_per_tick", 2.0)) * 1_000_000L);
+        this.maxBlocksPerJob = Math.max(1, plugin.getConfig().getInt("mining.max_blocks_per_job", 128));
+        this.veinSearchRadius = Math.min(MAX_SEARCH_RADIUS, Math.max(1, plugin.getConfig().getInt("mining.vein_search_radius", 8)));
+        this.verifyEachBlock = plugin.getConfig().getBoolean("mining.verify_each_block", false);
+        this.veinBlocks = loadVeinBlocks(plugin.getConfig().getStringList("mining.vein_blocks"));
+    }
+
+    /**
+     * Resolves the 'mining.vein_blocks' entries: block names, or block tags prefixed with '#'.
+     */
+    private Set<Material> loadVeinBlocks(List<String> entries) {
+        Set<Material> blocks = EnumSet.noneOf(Material.class);
+        for (String entry : entries) {
+            if (entry.startsWith("#")) {
+                NamespacedKey key = NamespacedKey.fromString(entry.substring(1).toLowerCase());
+                Tag<Material> tag = key != null ? Bukkit.getTag(Tag.REGISTRY_BLOCKS, key, Material.class) : null;
+                if (tag != null) {
+                    blocks.addAll(tag.getValues());
+                    continue;
+                }
+            } else {
+                Material material = Material.matchMaterial(entry);
+                if (material != null && material.isBlock()) {
+                    blocks.add(material);
+                    continue;
+                }
+            }
+            plugin.getLogger().warning("Unknown block or block tag '" + entry + "' in mining.vein_blocks.");
+        }
+        return blocks;
+    }
+
+    /**
+     * @return true while MythicForge is firing a BlockBreakEvent for an extra block itself.
+     */
+    public boolean isBreaking() {
+        return breaking.get();
+    }
+
+    /**
+     * @return The number of mining jobs waiting for or in the middle of being broken.
+     */
+    public int getQueuedJobs() {
+        return jobs.size();
+    }
+
+    /**
+     * Plans the extra blocks for a block break and queues them. The broken block's own drops
+     * are taken over so they can be smelted and merged with the rest. Must be called from
+     * within the BlockBreakEvent.
+     *
+     * @param event The block break that triggered the effects.
+     * @param order The MINE effects that passed their conditions.
+     */
+    public void submit(BlockBreakEvent event, MiningOrder order) {
+        if (order.isEmpty()) return;
+        Player player = event.getPlayer();
+        // Creative players break blocks without tools or drops; multiplying that is of no use.
+        if (player.getGameMode() == GameMode.CREATIVE) return;
+        Block origin = event.getBlock();
+        ItemStack tool = player.getInventory().getItemInMainHand().clone();
+
+        // Vein first, so the ore the player is following is broken before the surrounding area.
+        Set<Block> targets = new LinkedHashSet<>();
+        if (order.veinLimit > 0 && veinBlocks.contains(origin.getType())) {
+            targets.addAll(findVein(origin, Math.min(order.veinLimit, maxBlocksPerJob), tool));
+        }
+        if (order.areaRadius > 0 && targets.size() < maxBlocksPerJob) {
+            findArea(origin, Math.min(order.areaRadius, MAX_SEARCH_RADIUS), tool, targets, maxBlocksPerJob);
+        }
+
+        List<Block> blocks = new ArrayList<>(targets);
+        if (!blocks.isEmpty()) {
+            MythicMultiBreakEvent multiBreak = new MythicMultiBreakEvent(player, origin, blocks);
+            Bukkit.getPluginManager().callEvent(multiBreak);
+            if (multiBreak.isCancelled()) blocks.clear();
+            // Listeners may have added blocks as well as removed them.
+            if (blocks.size() > maxBlocksPerJob) blocks.subList(maxBlocksPerJob, blocks.size()).clear();
+        }
+        if (blocks.isEmpty() && !order.autoSmelt) return;
+
+        MiningJob job = new MiningJob(player, origin, tool, order.autoSmelt, blocks);
+        if (event.isDropItems()) {
+            event.setDropItems(false);
+            addDrops(job, origin.getDrops(tool, player));
+        }
+        jobs.add(job);
+        // Every planned block is within the search radius, so the origin's region owns them all.
+        job.task = MythicScheduler.runAtTimer(plugin, job.dropLocation, () -> tick(job), 1L, 1L);
+    }
+
+    /**
+     * Finishes every queued job immediately without breaking its remaining blocks, spawning
+     * the drops collected so far. Called when the plugin is disabled.
+     */
+    public void shutdown() {
+        for (MiningJob job : jobs) {
+            job.task.cancel();
+            // On Folia the disabling thread owns no region, and the drops of unfinished jobs are lost.
+            if (MythicScheduler.ownsLocation(job.dropLocation)) spawnDrops(job);
+        }
+        jobs.clear();
+    }
+
+    /**
+     * Breaks the job's next blocks, up to its share of this tick's block and time budget.
+     * Every running job gets an equal share, so one huge vein cannot starve every other player.
+     */
+    private void tick(MiningJob job) {
+        int share = Math.max(1, jobs.size());
+        long deadline = System.nanoTime() + maxNanosPerTick / share;
+        int slice = Math.max(1, blocksPerTick / share);
+        if (!job.player.isOnline()) {
+            // Nobody is left to collect the remaining blocks; hand out what was mined.
+            job.cursor = job.blocks.size();
+        }
+        while (slice > 0 && !job.isDone() && System.nanoTime() < deadline) {
+            if (breakNext(job)) slice--;
+        }
+        if (job.isDone() && jobs.remove(job)) {
+            job.task.cancel();
+            spawnDrops(job);
+        }
+    }
+
+    /**
+     * Breaks the job's next block.
+     *
+     * @return true if a block was broken, false if it was skipped.
+     */
+    private boolean breakNext(MiningJob job) {
+        int index = job.cursor++;
+        Block block = job.blocks.get(index);
+        // The world may have changed since the job was planned.
+        if (block.getType() != job.expectedTypes[index] || !block.getWorld().isChunkLoaded(block.getX() >> 4, block.getZ() >> 4)) {
+            return false;
+        }
+        if (!holdsTool(job)) {
+            // The tool broke or was put away; the rest of the job is dropped.
+            job.cursor = job.blocks.size();
+            return false;
+        }
+        boolean dropItems = true;
+        int experience = experienceFor(block.getType(), job.tool);
+        if (verifyEachBlock) {
+            // For protection plugins that do not know the multi-break event. Costs one event per block.
+            BlockBreakEvent check = new BlockBreakEvent(block, job.player);
+            check.setExpToDrop(experience);
+            breaking.set(true);
+            try {
+                Bukkit.getPluginManager().callEvent(check);
+            } finally {
+                breaking.set(false);
+            }
+            if (check.isCancelled()) return false;
+            dropItems = check.isDropItems();
+            experience = check.getExpToDrop();
+        }
+        if (dropItems) addDrops(job, block.getDrops(job.tool, job.player));
+        job.experience += experience;
+        block.setType(Material.AIR);
+        if (job.tool.getType().getMaxDurability() > 0) job.player.damageItemStack(EquipmentSlot.HAND, 1);
+        MythicMetrics.MINED_BLOCKS.inc();
+        return true;
+    }
+
+    /**
+     * @return true if the player is online, on this region's thread, and still holds the tool
+     *         the job was started with.
+     */
+    private static boolean holdsTool(MiningJob job) {
+        if (!job.player.isOnline() || !MythicScheduler.ownsEntity(job.player)) return false;
+        return job.player.getInventory().getItemInMainHand().getType() == job.tool.getType();
+    }
+
+    /**
+     * The experience vanilla drops for mining a block with a tool, e.g. 3 to 7 for diamond ore.
+     * Ores that are smelted for their experience, like iron, drop none.
+     */
+    private static int experienceFor(Material type, ItemStack tool) {
+        if (tool.containsEnchantment(Enchantment.SILK_TOUCH)) return 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (Tag.COAL_ORES.isTagged(type)) return random.nextInt(0, 3);
+        if (Tag.DIAMOND_ORES.isTagged(type) || Tag.EMERALD_ORES.isTagged(type)) return random.nextInt(3, 8);
+        if (Tag.LAPIS_ORES.isTagged(type) || type == Material.NETHER_QUARTZ_ORE) return random.nextInt(2, 6);
+        if (Tag.REDSTONE_ORES.isTagged(type)) return random.nextInt(1, 6);
+        if (type == Material.NETHER_GOLD_ORE) return random.nextInt(0, 2);
+        if (type == Material.SCULK) return 1;
+        return 0;
+    }
+
+    private void addDrops(MiningJob job, Collection<ItemStack> drops) {
+        for (ItemStack drop : drops) {
+            ItemStack item = job.autoSmelt ? smelt(drop) : drop;
+            boolean merged = false;
+            for (ItemStack existing : job.drops) {
+                if (existing.isSimilar(item)) {
+                    existing.setAmount(existing.getAmount() + item.getAmount());
+                    merged = true;
+                    break;
+                }
+            }
+            if (!merged) job.drops.add(item.clone());
+        }
+    }
+
+    private void spawnDrops(MiningJob job) {
+        World world = job.dropLocation.getWorld();
+        if (world == null) return;
+        if (job.experience > 0) {
+            int experience = job.experience;
+            world.spawn(job.dropLocation, ExperienceOrb.class, orb -> orb.setExperience(experience));
+            job.experience = 0;
+        }
+        for (ItemStack drop : job.drops) {
+            // One item entity per drop type, split only where a type exceeds a full stack.
+            int remaining = drop.getAmount();
+            int maxStack = Math.max(1, drop.getMaxStackSize());
+            while (remaining > 0) {
+                ItemStack stack = drop.clone();
+                stack.setAmount(Math.min(remaining, maxStack));
+                world.dropItemNaturally(job.dropLocation, stack);
+                remaining -= stack.getAmount();
+            }
+        }
+        job.drops.clear();
+    }
+
+    /**
+     * Finds the breakable blocks of the same type connected to the origin (including
+     * diagonally) with a breadth-first search bounded by both a block limit and the search
+     * radius. Visited
+     * positions are tracked in a bitset over the search cube, and unloaded chunks are never
+     * touched, so the search cannot load chunks or run away on huge deposits.
+     */
+    private List<Block> findVein(Block origin, int limit, ItemStack tool) {
+        Material type = origin.getType();
+        World world = origin.getWorld();
+        int radius = veinSearchRadius;
+        int side = radius * 2 + 1;
+        int minY = world.getMinHeight();
+        int maxY = world.getMaxHeight();
+
+        BitSet visited = new BitSet(side * side * side);
+        int[] queue = new int[side * side * side];
+        int head = 0;
+        int tail = 0;
+        int start = index(radius, radius, radius, side);
+        visited.set(start);
+        queue[tail++] = start;
+
+        List<Block> found = new ArrayList<>();
+        while (head < tail && found.size() < limit) {
+            int current = queue[head++];
+            int cx = current % side;
+            int cy = (current / side) % side;
+            int cz = current / (side * side);
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dz = -1; dz <= 1; dz++) {
+                        int nx = cx + dx, ny = cy + dy, nz = cz + dz;
+                        if (nx < 0 || ny < 0 || nz < 0 || nx >= side || ny >= side || nz >= side) continue;
+                        int next = index(nx, ny, nz, side);
+                        if (visited.get(next)) continue;
+                        visited.set(next);
+
+                        int x = origin.getX() + nx - radius;
+                        int y = origin.getY() + ny - radius;
+                        int z = origin.getZ() + nz - radius;
+                        if (y < minY || y >= maxY || !world.isChunkLoaded(x >> 4, z >> 4)) continue;
+                        Block block = world.getBlockAt(x, y, z);
+                        if (block.getType() != type || !isBreakable(block, tool)) continue;
+
+                        queue[tail++] = next;
+                        found.add(block);
+                        if (found.size() >= limit) return found;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private static int index(int x, int y, int z, int side) {
+        return x + y * side + z * side * side;
+    }
+
+    /**
+     * Adds the breakable blocks in a cube around the origin to the targets, nearest layers
+     * first, and stops as soon as the targets reach the limit, so a large radius costs no
+     * more than the blocks that are actually broken.
+     */
+    private void findArea(Block origin, int radius, ItemStack tool, Set<Block> targets, int limit) {
+        World world = origin.getWorld();
+        for (int r = 1; r <= radius; r++) {
+            for (int dx = -r; dx <= r; dx++) {
+                for (int dy = -r; dy <= r; dy++) {
+                    for (int dz = -r; dz <= r; dz++) {
+                        // Only the shell of this layer; the inner layers were added already.
+                        if (Math.abs(dx) != r && Math.abs(dy) != r && Math.abs(dz) != r) continue;
+                        int x = origin.getX() + dx, y = origin.getY() + dy, z = origin.getZ() + dz;
+                        if (y < world.getMinHeight() || y >= world.getMaxHeight() || !world.isChunkLoaded(x >> 4, z >> 4)) continue;
+                        Block block = world.getBlockAt(x, y, z);
+                        if (isBreakable(block, tool) && targets.add(block) && targets.size() >= limit) return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if the tool may break the block as an extra block. Blocks with a block
+     *         entity are never broken, since setting them to air would delete their contents.
+     */
+    private static boolean isBreakable(Block block, ItemStack tool) {
+        Material type = block.getType();
+        return !type.isAir() && !block.isLiquid() && type.getHardness() >= 0 && block.isPreferredTool(tool)
+                && !(block.getState(false) instanceof TileState);
+    }
+
+    private ItemStack smelt(ItemStack drop) {
+        if (smeltingResults == null) smeltingResults = loadSmeltingResults();
+        ItemStack result = smeltingResults.get(drop.getType());
+        if (result == null) return drop;
+        ItemStack smelted = result.clone();
+        smelted.setAmount(drop.getAmount() * result.getAmount());
+        return smelted;
+    }
+
+    /**
+     * Builds the input-to-result table of every furnace recipe once, so smelting a drop is a
+     * single map lookup instead of a scan over the server's recipes.
+     */
+    private static Map<Material, ItemStack> loadSmeltingResults() {
+        Map<Material, ItemStack> results = new EnumMap<>(Material.class);
+        Iterator<Recipe> recipes = Bukkit.recipeIterator();
+        while (recipes.hasNext()) {
+            Recipe recipe = recipes.next();
+            if (!(recipe instanceof FurnaceRecipe)) continue;
+            FurnaceRecipe furnace = (FurnaceRecipe) recipe;
+            if (furnace.getInputChoice() instanceof RecipeChoice.MaterialChoice) {
+                for (Material input : ((RecipeChoice.MaterialChoice) furnace.getInputChoice()).getChoices()) {
+                    results.putIfAbsent(input, furnace.getResult());
+                }
+            }
+        }
+        return results;
+    }
+}
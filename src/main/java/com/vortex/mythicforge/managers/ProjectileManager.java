@@ -0,0 +1,195 @@
+package com.vortex.mythicforge.managers;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.enchants.CustomEnchant;
+import com.vortex.mythicforge.enchants.SetBonus;
+import com.vortex.mythicforge.managers.SetBonusManager.ActiveBonus;
+import com.vortex.mythicforge.utils.EffectProcessor.TriggerType;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.*;
+
+/**
+ * Captures the MythicForge loadout behind a shot (the bow's enchantments and the shooter's
+ * active set bonus) and stores it on the projectile, so PROJECTILE_HIT effects use what the
+ * shooter had when firing rather than whatever they hold when the arrow lands.
+ * <p>
+ * Snapshots are stored in the projectile's PDC as a single int array of indices into the
+ * loaded content: {@code [generation, set, set pieces, enchant, level, enchant, level, ...]}.
+ * The indices are rebuilt after every reload and the generation changes with them, so
+ * arrows still in flight from before a reload are simply ignored.
+ *
+ * @author Vortex
+ * @version 1.0.1
+ */
+public final class ProjectileManager {
+
+    private static final int HEADER_LENGTH = 3;
+
+    private final MythicForge plugin;
+    private final NamespacedKey snapshotKey;
+    private volatile ContentIndex index = new ContentIndex(0, List.of(), Map.of(), List.of(), Map.of());
+
+    // Multishot fires one event per projectile in the same tick; they share one capture.
+    // Kept in one immutable record so shots in different regions on Folia never mix fields.
+    private volatile LastShot lastShot;
+
+    /** Positional lookups for the loaded enchantments and sets. */
+    private record ContentIndex(int generation, List<CustomEnchant> enchants, Map<String, Integer> enchantIndices,
+                                List<SetBonus> sets, Map<String, Integer> setIndices) {}
+
+    /** The most recent shot and its encoding. */
+    private record LastShot(UUID shooter, ItemStack bow, int tick, int[] encoded) {}
+
+    /**
+     * The loadout a projectile was fired with.
+     *
+     * @param enchants    The bow's enchantments and their levels.
+     * @param activeBonus The shooter's active set bonus when firing, or null.
+     */
+    public record ProjectileSnapshot(Map<String, Integer> enchants, ActiveBonus activeBonus) {
+
+        public static final ProjectileSnapshot EMPTY = new ProjectileSnapshot(Map.of(), null);
+
+        /**
+         * @return true if any enchantment or the set tier has an effect group for the trigger.
+         */
+        public boolean uses(TriggerType trigger) {
+            MythicForge plugin = MythicForge.getInstance();
+            for (String id : enchants.keySet()) {
+                CustomEnchant enchant = plugin.getEnchantmentManager().getEnchantById(id);
+                if (enchant != null && hasTrigger(enchant.getEffects(), trigger)) return true;
+            }
+            return activeBonus != null && hasTrigger(activeBonus.tier().getTriggeredEffects(), trigger);
+        }
+
+        private static boolean hasTrigger(List<Map<?, ?>> effectGroups, TriggerType trigger) {
+            for (Map<?, ?> effectGroup : effectGroups) {
+                if (trigger.name().equalsIgnoreCase(String.valueOf(effectGroup.get("trigger")))) return true;
+            }
+            return false;
+        }
+    }
+
+    public ProjectileManager(MythicForge plugin) {
+        this.plugin = plugin;
+        this.snapshotKey = new NamespacedKey(plugin, "mythic_projectile");
+    }
+
+    /**
+     * Renumbers the loaded enchantments and sets. Must be called after content is (re)loaded.
+     */
+    public void rebuildIndex() {
+        List<CustomEnchant> enchants = new ArrayList<>(plugin.getEnchantmentManager().getRegisteredEnchants().values());
+        Map<String, Integer> enchantIndices = new HashMap<>();
+        for (int i = 0; i < enchants.size(); i++) enchantIndices.put(enchants.get(i).getId().toLowerCase(), i);
+        List<SetBonus> sets = new ArrayList<>(plugin.getSetBonusManager().getAllSets());
+        Map<String, Integer> setIndices = new HashMap<>();
+        for (int i = 0; i < sets.size(); i++) setIndices.put(sets.get(i).getSetId().toLowerCase(), i);
+        this.index = new ContentIndex(index.generation() + 1, List.copyOf(enchants), Map.copyOf(enchantIndices),
+                List.copyOf(sets), Map.copyOf(setIndices));
+        this.lastShot = null;
+    }
+
+    /**
+     * Resolves the loadout behind a shot. Must be called from the thread that owns the shooter.
+     *
+     * @param shooter The entity firing the projectile.
+     * @param bow     The bow or crossbow used, may be null.
+     * @return The snapshot, never null.
+     */
+    public ProjectileSnapshot capture(LivingEntity shooter, ItemStack bow) {
+        int[] encoded = encode(shooter, bow);
+        ProjectileSnapshot snapshot = decode(encoded);
+        return snapshot != null ? snapshot : ProjectileSnapshot.EMPTY;
+    }
+
+    /**
+     * Stores the snapshot of the shot on the projectile, reusing the encoding of the
+     * previous projectile when it came from the same shooter and bow in the same tick.
+     *
+     * @param projectile The fired projectile.
+     * @param shooter    The entity that fired it.
+     * @param bow        The bow or crossbow used, may be null.
+     */
+    public void attach(Projectile projectile, LivingEntity shooter, ItemStack bow) {
+        projectile.getPersistentDataContainer().set(snapshotKey, PersistentDataType.INTEGER_ARRAY, encode(shooter, bow));
+    }
+
+    /**
+     * @return true if the entity is a projectile carrying a MythicForge snapshot.
+     */
+    public boolean hasSnapshot(Entity entity) {
+        return entity instanceof Projectile && entity.getPersistentDataContainer().has(snapshotKey, PersistentDataType.INTEGER_ARRAY);
+    }
+
+    /**
+     * Reads the snapshot a projectile was fired with.
+     *
+     * @param projectile The projectile.
+     * @return The snapshot, or null if it has none or it was taken before the last reload.
+     */
+    public ProjectileSnapshot read(Projectile projectile) {
+        return decode(projectile.getPersistentDataContainer().get(snapshotKey, PersistentDataType.INTEGER_ARRAY));
+    }
+
+    private int[] encode(LivingEntity shooter, ItemStack bow) {
+        int tick = Bukkit.getCurrentTick();
+        LastShot last = lastShot;
+        if (last != null && tick == last.tick() && shooter.getUniqueId().equals(last.shooter()) && Objects.equals(bow, last.bow())) {
+            return last.encoded();
+        }
+        ContentIndex current = index;
+        Map<String, Integer> enchants = (bow != null && bow.hasItemMeta())
+                ? plugin.getItemManager().getEnchants(bow.getItemMeta()) : Map.of();
+
+        int[] encoded = new int[HEADER_LENGTH + enchants.size() * 2];
+        encoded[0] = current.generation();
+        encoded[1] = -1;
+        if (shooter instanceof Player) {
+            Optional<ActiveBonus> bonus = plugin.getSetBonusManager().getActiveBonusFor((Player) shooter);
+            if (bonus.isPresent()) {
+                Integer setIndex = current.setIndices().get(bonus.get().set().getSetId().toLowerCase());
+                if (setIndex != null) {
+                    encoded[1] = setIndex;
+                    encoded[2] = bonus.get().tier().getPiecesRequired();
+                }
+            }
+        }
+        int length = HEADER_LENGTH;
+        for (Map.Entry<String, Integer> entry : enchants.entrySet()) {
+            Integer enchantIndex = current.enchantIndices().get(entry.getKey().toLowerCase());
+            if (enchantIndex == null) continue;
+            encoded[length++] = enchantIndex;
+            encoded[length++] = entry.getValue();
+        }
+        if (length < encoded.length) encoded = Arrays.copyOf(encoded, length);
+
+        lastShot = new LastShot(shooter.getUniqueId(), bow, tick, encoded);
+        return encoded;
+    }
+
+    private ProjectileSnapshot decode(int[] encoded) {
+        ContentIndex current = index;
+        if (encoded == null || encoded.length < HEADER_LENGTH || encoded[0] != current.generation()) return null;
+
+        ActiveBonus activeBonus = null;
+        if (encoded[1] >= 0 && encoded[1] < current.sets().size()) {
+            SetBonus set = current.sets().get(encoded[1]);
+            activeBonus = set.getBonusTierFor(encoded[2]).map(tier -> new ActiveBonus(set, tier)).orElse(null);
+        }
+        Map<String, Integer> enchants = new HashMap<>();
+        for (int i = HEADER_LENGTH; i + 1 < encoded.length; i += 2) {
+            if (encoded[i] < 0 || encoded[i] >= current.enchants().size()) continue;
+            enchants.put(current.enchants().get(encoded[i]).getId(), encoded[i + 1]);
+        }
+        return new ProjectileSnapshot(enchants, activeBonus);
+    }
+}
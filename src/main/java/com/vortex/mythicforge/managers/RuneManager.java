@@ -9,9 +9,9 @@ import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 /**
@@ -24,7 +24,8 @@ import java.util.logging.Level;
 public final class RuneManager {
 
     private final MythicForge plugin;
-    private final Map<String, Rune> registeredRunes = new HashMap<>();
+    // Concurrent, so a reload on one region's thread never breaks lookups from another on Folia.
+    private final Map<String, Rune> registeredRunes = new ConcurrentHashMap<>();
 
     public RuneManager(MythicForge plugin) {
         this.plugin = plugin;
@@ -0,0 +1,138 @@
+package com.vortex.mythicforge.managers;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.enchants.CustomEnchant;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Owns all salvage math for the Salvage Station. Dust yields are precomputed into a
+ * table keyed by tier and level whenever content is loaded, so salvaging an item only
+ * decodes its enchantments and performs array lookups instead of walking the config.
+ *
+ * @author Vortex
+ * @version 1.0.2
+ */
+public final class SalvageManager {
+
+    private final MythicForge plugin;
+    // tier id -> yield per level, where index N holds the total dust for level N.
+    private Map<String, int[]> yieldTable = Collections.emptyMap();
+    // tier id -> configured dust per level, used for levels beyond the precomputed range.
+    private Map<String, Integer> dustPerLevel = Collections.emptyMap();
+
+    public SalvageManager(MythicForge plugin) {
+        this.plugin = plugin;
+        loadYieldTable();
+    }
+
+    /**
+     * Rebuilds the yield table from the tiers' dust yields and the highest max level of
+     * every registered enchantment. Safe to be called for reloads.
+     */
+    public void loadYieldTable() {
+        Map<String, Integer> perLevel = new HashMap<>();
+        plugin.getMythicConfig().getTiers().forEach((tier, settings) -> perLevel.put(tier, settings.dustPerLevel()));
+
+        // Size each tier's row to the highest level any enchantment of that tier can reach.
+        Map<String, Integer> maxLevels = new HashMap<>();
+        for (CustomEnchant enchant : plugin.getEnchantmentManager().getRegisteredEnchants().values()) {
+            maxLevels.merge(enchant.getTier().toLowerCase(), Math.max(1, enchant.getMaxLevel()), Math::max);
+        }
+
+        Map<String, int[]> table = new HashMap<>();
+        perLevel.forEach((tier, dust) -> {
+            int[] row = new int[maxLevels.getOrDefault(tier, 1) + 1];
+            for (int level = 1; level < row.length; level++) {
+                row[level] = level * dust;
+            }
+            table.put(tier, row);
+        });
+
+        // Swap in the finished tables in one step so readers never see a half-built table.
+        this.dustPerLevel = perLevel;
+        this.yieldTable = table;
+    }
+
+    /**
+     * Gets the dust yield of a single enchantment level of the given tier.
+     *
+     * @param tier  The tier ID of the enchantment.
+     * @param level The level of the enchantment.
+     * @return The amount of dust this enchantment is worth.
+     */
+    public int getYield(String tier, int level) {
+        if (tier == null || level <= 0) return 0;
+        int[] row = yieldTable.get(tier.toLowerCase());
+        if (row == null) return 0;
+        if (level < row.length) return row[level];
+        // Over-levelled items (e.g. from /mf give) fall back to the linear formula.
+        return level * dustPerLevel.getOrDefault(tier.toLowerCase(), 0);
+    }
+
+    /**
+     * Calculates the total dust yield of a single ItemStack, multiplied by its stack size.
+     * Salvaging consumes the whole stack, so every item in it pays out.
+     *
+     * @param item The item to evaluate.
+     * @return The total dust yield, or 0 if the item carries no MythicForge enchantments.
+     */
+    public int calculateDustYield(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) return 0;
+
+        Map<String, Integer> enchants = plugin.getItemManager().getEnchants(item.getItemMeta());
+        if (enchants.isEmpty()) return 0;
+
+        int totalDust = 0;
+        for (Map.Entry<String, Integer> entry : enchants.entrySet()) {
+            CustomEnchant enchant = plugin.getEnchantmentManager().getEnchantById(entry.getKey());
+            if (enchant == null) continue;
+            totalDust += getYield(enchant.getTier(), entry.getValue());
+        }
+        return totalDust * item.getAmount();
+    }
+
+    /**
+     * Calculates the combined dust yield of many items in a single pass.
+     *
+     * @param items The items to evaluate. Null entries are ignored.
+     * @return The total dust yield of all items.
+     */
+    public int calculateDustYield(Collection<ItemStack> items) {
+        int totalDust = 0;
+        for (ItemStack item : items) {
+            totalDust += calculateDustYield(item);
+        }
+        return totalDust;
+    }
+
+    /**
+     * Converts a total amount of dust into as few full stacks as possible.
+     *
+     * @param totalDust The total amount of dust to hand out.
+     * @return A list of dust stacks, each at most one full stack in size.
+     */
+    public List<ItemStack> createDustStacks(int totalDust) {
+        List<ItemStack> stacks = new ArrayList<>();
+        if (totalDust <= 0) return stacks;
+
+        ItemStack template = plugin.getTomeManager().createMythicDust(1);
+        if (template.getType().isAir()) return stacks;
+
+        int maxStackSize = Math.max(1, template.getMaxStackSize());
+        int remaining = totalDust;
+        while (remaining > 0) {
+            ItemStack stack = template.clone();
+            stack.setAmount(Math.min(maxStackSize, remaining));
+            remaining -= stack.getAmount();
+            stacks.add(stack);
+        }
+        return stacks;
+    }
+}
@@ -0,0 +1,247 @@
+package com.vortex.mythicforge.managers;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.gui.AbstractGui;
+import com.vortex.mythicforge.managers.LoadoutManager.LoadoutSnapshot;
+import com.vortex.mythicforge.metrics.MythicMetrics;
+import com.vortex.mythicforge.utils.MythicScheduler;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffectType;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Holds all per-player state in one {@link PlayerSession} per online player: the loadout
+ * snapshot, effect cooldowns, the passive potions last applied, and GUI and NPC interaction
+ * state. A session is created when the player joins and released when they leave, so memory
+ * grows with the players online rather than with every player ever seen.
+ * <p>
+ * Optionally, cooldowns survive relogs and restarts. When a player leaves, their running
+ * cooldowns are queued for a background writer that saves them in a small binary file per
+ * player; they are read back off the main thread while the player logs in.
+ *
+ * @author Vortex
+ * @version 1.0.2
+ */
+public final class SessionManager {
+
+    private static final int FILE_VERSION = 1;
+
+    private final MythicForge plugin;
+    private final File directory;
+    private final Map<UUID, PlayerSession> sessions = new ConcurrentHashMap<>();
+    // Cooldowns read during login, waiting for the player's session to be opened.
+    private final Map<UUID, Map<String, Long>> preloaded = new ConcurrentHashMap<>();
+    // Cooldowns of players who left, waiting for the writer. An empty map deletes the file.
+    private final Map<UUID, Map<String, Long>> pendingWrites = new ConcurrentHashMap<>();
+    private MythicScheduler.Task writerTask;
+
+    // Settings
+    private volatile boolean persistCooldowns;
+
+    /**
+     * Everything MythicForge keeps about one online player. Safe to read from any thread.
+     */
+    public static final class PlayerSession {
+        private final Map<String, Long> cooldowns = new ConcurrentHashMap<>();
+        private volatile LoadoutSnapshot snapshot;
+        private volatile Set<PotionEffectType> appliedPotions = Set.of();
+        private volatile AbstractGui openGui;
+        private volatile String pendingNpcRole;
+        private volatile long lastNpcInteraction;
+        private volatile long lastItemScan;
+
+        /** The running cooldowns by cooldown ID, as expiry timestamps. */
+        public Map<String, Long> getCooldowns() { return cooldowns; }
+        public LoadoutSnapshot getSnapshot() { return snapshot; }
+        public void setSnapshot(LoadoutSnapshot snapshot) { this.snapshot = snapshot; }
+        public Set<PotionEffectType> getAppliedPotions() { return appliedPotions; }
+        public void setAppliedPotions(Set<PotionEffectType> appliedPotions) { this.appliedPotions = appliedPotions; }
+        public AbstractGui getOpenGui() { return openGui; }
+        public void setOpenGui(AbstractGui openGui) { this.openGui = openGui; }
+        public String getPendingNpcRole() { return pendingNpcRole; }
+        public void setPendingNpcRole(String pendingNpcRole) { this.pendingNpcRole = pendingNpcRole; }
+        public long getLastNpcInteraction() { return lastNpcInteraction; }
+        public void setLastNpcInteraction(long lastNpcInteraction) { this.lastNpcInteraction = lastNpcInteraction; }
+        public long getLastItemScan() { return lastItemScan; }
+        public void setLastItemScan(long lastItemScan) { this.lastItemScan = lastItemScan; }
+    }
+
+    public SessionManager(MythicForge plugin) {
+        this.plugin = plugin;
+        this.directory = new File(plugin.getDataFolder(), "sessions");
+        loadSettings();
+    }
+
+    /**
+     * Reads the 'sessions' settings from config.yml. Safe to be called for reloads.
+     */
+    public void loadSettings() {
+        this.persistCooldowns = plugin.getConfig().getBoolean("sessions.persist_cooldowns", false);
+        long interval = Math.max(20L, plugin.getConfig().getLong("sessions.write_interval_ticks", 100L));
+        if (writerTask != null) writerTask.cancel();
+        writerTask = MythicScheduler.runAsyncTimer(plugin, this::writePending, interval, interval);
+    }
+
+    /**
+     * Gets a player's session, opening it if needed. Safe to call from any thread.
+     *
+     * @param player The player.
+     * @return The session. For a player who already left, a throwaway session that is not kept.
+     */
+    public PlayerSession get(Player player) {
+        PlayerSession session = sessions.get(player.getUniqueId());
+        if (session != null) return session;
+        // Late work for a player who already left must not bring their session back.
+        return player.isOnline() ? open(player.getUniqueId()) : new PlayerSession();
+    }
+
+    /**
+     * Opens a player's session, with the cooldowns read for them at login. Called on join.
+     *
+     * @param uuid The UUID of the player.
+     * @return The session.
+     */
+    public PlayerSession open(UUID uuid) {
+        PlayerSession session = sessions.computeIfAbsent(uuid, id -> {
+            PlayerSession created = new PlayerSession();
+            Map<String, Long> restored = preloaded.remove(id);
+            if (restored != null) created.cooldowns.putAll(restored);
+            return created;
+        });
+        MythicMetrics.PLAYER_SESSIONS.set(sessions.size());
+        return session;
+    }
+
+    /**
+     * Releases a player's session and queues their running cooldowns to be saved. Called on quit.
+     *
+     * @param uuid The UUID of the player.
+     */
+    public void close(UUID uuid) {
+        PlayerSession session = sessions.remove(uuid);
+        MythicMetrics.PLAYER_SESSIONS.set(sessions.size());
+        if (session != null && persistCooldowns) {
+            pendingWrites.put(uuid, runningCooldowns(session.cooldowns));
+        }
+    }
+
+    /**
+     * Reads a player's saved cooldowns. Called during login, off the main thread.
+     *
+     * @param uuid The UUID of the player logging in.
+     */
+    public void preload(UUID uuid) {
+        if (!persistCooldowns) return;
+        Map<String, Long> saved = pendingWrites.get(uuid);
+        if (saved == null) saved = read(uuid);
+        saved = runningCooldowns(saved);
+        if (!saved.isEmpty()) preloaded.put(uuid, saved);
+    }
+
+    /**
+     * Drops cooldowns preloaded for a login that was refused.
+     *
+     * @param uuid The UUID of the player.
+     */
+    public void discardPreload(UUID uuid) {
+        preloaded.remove(uuid);
+    }
+
+    /**
+     * @return The total number of cooldown entries held by open sessions.
+     */
+    public int countCooldownEntries() {
+        int total = 0;
+        for (PlayerSession session : sessions.values()) total += session.cooldowns.size();
+        return total;
+    }
+
+    /**
+     * Saves the cooldowns of everyone online and of everyone waiting for the writer.
+     * Called when the plugin is disabled, from the main thread.
+     */
+    public void shutdown() {
+        if (writerTask != null) writerTask.cancel();
+        if (persistCooldowns) {
+            sessions.forEach((uuid, session) -> pendingWrites.put(uuid, runningCooldowns(session.cooldowns)));
+        }
+        writePending();
+    }
+
+    private static Map<String, Long> runningCooldowns(Map<String, Long> cooldowns) {
+        long now = System.currentTimeMillis();
+        Map<String, Long> running = new HashMap<>();
+        cooldowns.forEach((id, expiry) -> {
+            if (expiry > now) running.put(id, expiry);
+        });
+        return running;
+    }
+
+    private synchronized void writePending() {
+        if (pendingWrites.isEmpty()) return;
+        if (!directory.exists() && !directory.mkdirs()) {
+            plugin.getLogger().warning("Could not create the sessions folder; cooldowns will not be saved.");
+            return;
+        }
+        for (Map.Entry<UUID, Map<String, Long>> entry : pendingWrites.entrySet()) {
+            try {
+                write(entry.getKey(), entry.getValue());
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Could not save the cooldowns of " + entry.getKey(), e);
+            }
+            // Only forget it if the player did not leave again while it was being written.
+            pendingWrites.remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void write(UUID uuid, Map<String, Long> cooldowns) throws IOException {
+        File file = new File(directory, uuid + ".bin");
+        if (cooldowns.isEmpty()) {
+            Files.deleteIfExists(file.toPath());
+            return;
+        }
+        // Written next to the real file and renamed over it, so a crash mid-write leaves the
+        // previous file intact instead of a truncated one.
+        File temp = new File(directory, uuid + ".bin.tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            out.writeByte(FILE_VERSION);
+            out.writeInt(cooldowns.size());
+            for (Map.Entry<String, Long> cooldown : cooldowns.entrySet()) {
+                out.writeUTF(cooldown.getKey());
+                out.writeLong(cooldown.getValue());
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Map<String, Long> read(UUID uuid) {
+        File file = new File(directory, uuid + ".bin");
+        if (!file.exists()) return Map.of();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readByte() != FILE_VERSION) return Map.of();
+            int count = in.readInt();
+            Map<String, Long> cooldowns = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                cooldowns.put(in.readUTF(), in.readLong());
+            }
+            return cooldowns;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not read the saved cooldowns of " + uuid, e);
+            return Map.of();
+        }
+    }
+}
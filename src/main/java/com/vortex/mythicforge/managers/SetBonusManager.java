@@ -10,11 +10,13 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 public final class SetBonusManager {
     private final MythicForge plugin;
-    private final Map<String, SetBonus> registeredSets = new HashMap<>();
+    // Concurrent, so a reload on one region's thread never breaks lookups from another on Folia.
+    private final Map<String, SetBonus> registeredSets = new ConcurrentHashMap<>();
     public record ActiveBonus(SetBonus set, BonusTier tier) {}
 
     public SetBonusManager(MythicForge plugin) { this.plugin = plugin; }
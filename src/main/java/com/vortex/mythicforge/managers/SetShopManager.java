@@ -8,13 +8,10 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 /**
@@ -22,7 +19,7 @@ import java.util.logging.Level;
  * This class pre-builds all shop items at startup for maximum performance.
  *
  * @author Vortex
- * @version 1.0.0
+ * @version 1.0.1
  */
 public final class SetShopManager {
 
@@ -30,7 +27,8 @@ public final class SetShopManager {
     private FileConfiguration shopConfig;
 
     // A cache to hold all pre-built shop items. The key is "setId:pieceId".
-    private final Map<String, ItemStack> cachedShopItems = new HashMap<>();
+    // Concurrent, so a reload on one region's thread never breaks lookups from another on Folia.
+    private final Map<String, ItemStack> cachedShopItems = new ConcurrentHashMap<>();
 
     public SetShopManager(MythicForge plugin) {
         this.plugin = plugin;
@@ -79,35 +77,23 @@ public final class SetShopManager {
         try {
             Material material = Material.valueOf(pieceConfig.getString("material", "STONE").toUpperCase());
             ItemStack item = new ItemStack(material);
-            ItemMeta meta = item.getItemMeta();
-
-            // Set a custom display name if one exists in the config, otherwise use the item's default
-            if (pieceConfig.contains("display_name")) {
-                meta.setDisplayName(ChatColor.translateAlternateColorCodes('&', pieceConfig.getString("display_name")));
-            }
-
-            // Apply the enchantment
             String enchantId = pieceConfig.getString("enchantment_id");
-            if (enchantId != null) {
-                CustomEnchant enchant = plugin.getEnchantmentManager().getEnchantById(enchantId);
-                if (enchant != null) {
-                    plugin.getItemManager().applyEnchant(item, enchant, 1);
-                    // We get the meta again because applyEnchant changes it
-                    meta = item.getItemMeta();
-                }
-            }
-
-            // Add the price to the lore
+            CustomEnchant enchant = enchantId != null ? plugin.getEnchantmentManager().getEnchantById(enchantId) : null;
             double price = pieceConfig.getDouble("price");
-            List<String> lore = meta.getLore() != null ? new ArrayList<>(meta.getLore()) : new ArrayList<>();
-            lore.add(""); // Spacer
-            lore.add(ChatColor.YELLOW + "Price: " + ChatColor.GOLD + plugin.getVaultHook().format(price));
-            meta.setLore(lore);
+
+            // Name, enchantment and price lore are written to the item in a single edit
+            plugin.getItemManager().edit(item, edit -> {
+                // Set a custom display name if one exists in the config, otherwise use the item's default
+                if (pieceConfig.contains("display_name")) {
+                    edit.getMeta().setDisplayName(ChatColor.translateAlternateColorCodes('&', pieceConfig.getString("display_name")));
+                }
+                edit.applyEnchant(enchant, 1);
+                // Add the price to the lore, below the enchantment
+                edit.appendLore("", ChatColor.YELLOW + "Price: " + ChatColor.GOLD + plugin.getVaultHook().format(price));
+            });
 
             // TODO: Add NBT data for price and item ID to prevent exploits
             
-            item.setItemMeta(meta);
-            
             // Add the final, fully-formatted item to the cache
             cachedShopItems.put(setId + ":" + pieceId, item);
 
@@ -2,11 +2,13 @@ package com.vortex.mythicforge.managers;
 
 import com.vortex.mythicforge.MythicForge;
 import com.vortex.mythicforge.enchants.CustomEnchant;
+import com.vortex.mythicforge.jfr.ShopRefreshEvent;
+import com.vortex.mythicforge.metrics.MythicMetrics;
+import com.vortex.mythicforge.utils.MythicScheduler;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.io.File;
 import java.io.IOException;
@@ -23,14 +25,15 @@ import java.util.stream.Collectors;
  * stock generation, persistence, and automatic refreshing.
  *
  * @author Vortex
- * @version 1.0.0
+ * @version 1.0.1
  */
 public final class ShopManager {
 
     private final MythicForge plugin;
     private final File dataFile;
-    private List<Entry<ItemStack, Double>> currentStock;
-    private long nextRefreshTime;
+    // Replaced as a whole on refresh, so shop GUIs on any region thread see a complete stock.
+    private volatile List<Entry<ItemStack, Double>> currentStock;
+    private volatile long nextRefreshTime;
 
     public ShopManager(MythicForge plugin) {
         this.plugin = plugin;
@@ -44,9 +47,27 @@ public final class ShopManager {
      * Forces an immediate refresh of the shop's stock, generates new items,
      * and saves the new data. Can be called by an admin command.
      */
-    public void forceRefreshStock() {
+    public synchronized void forceRefreshStock() {
+        ShopRefreshEvent jfrEvent = new ShopRefreshEvent();
+        jfrEvent.begin();
+        int poolSize = regenerateStock();
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.poolSize = poolSize;
+            jfrEvent.stockSize = currentStock.size();
+            jfrEvent.commit();
+        }
+    }
+
+    /**
+     * Samples a new stock from the weighted pool and saves it.
+     *
+     * @return The number of valid entries in the stock pool.
+     */
+    private int regenerateStock() {
         plugin.getLogger().info("Force-generating new stock for the rotating shop...");
-        currentStock.clear();
+        MythicMetrics.SHOP_REFRESHES.inc();
+        List<Entry<ItemStack, Double>> stock = new ArrayList<>();
         FileConfiguration config = plugin.getConfig();
         List<String> stockPoolEntries = config.getStringList("enchant_shop.stock_pool");
         int shopSlots = config.getInt("enchant_shop.gui_rows", 3) * 9;
@@ -67,7 +88,8 @@ public final class ShopManager {
 
         if (weightedPool.isEmpty()) {
             plugin.getLogger().severe("Shop stock pool is empty or invalid! The shop will be empty.");
-            return;
+            currentStock = stock;
+            return 0;
         }
 
         for (int i = 0; i < shopSlots; i++) {
@@ -75,33 +97,27 @@ public final class ShopManager {
             for (WeightedStockItem weightedItem : weightedPool) {
                 random -= weightedItem.weight;
                 if (random <= 0) {
-                    parseStockEntry(weightedItem.entryString).ifPresent(currentStock::add);
+                    parseStockEntry(weightedItem.entryString).ifPresent(stock::add);
                     break;
                 }
             }
         }
         
+        currentStock = stock;
         nextRefreshTime = System.currentTimeMillis() + (config.getLong("enchant_shop.refresh_interval_minutes") * 60 * 1000);
         saveShopData();
         plugin.getLogger().info("Shop stock has been refreshed with " + currentStock.size() + " items.");
+        return weightedPool.size();
     }
 
     private void scheduleRefreshTask() {
         long interval = 20L * 60; // Check every minute
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (System.currentTimeMillis() > nextRefreshTime) {
-                    // Run the refresh on the main thread if it involves Bukkit API for item creation
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            forceRefreshStock();
-                        }
-                    }.runTask(plugin);
-                }
+        // The rotation belongs to no region, so it runs on the global region (the main thread on Paper).
+        MythicScheduler.runGlobalTimer(plugin, () -> {
+            if (System.currentTimeMillis() > nextRefreshTime) {
+                forceRefreshStock();
             }
-        }.runTaskTimerAsynchronously(plugin, interval, interval);
+        }, interval, interval);
     }
 
     private void saveShopData() {
@@ -133,10 +149,11 @@ public final class ShopManager {
         }
 
         List<String> dehydratedStock = dataConfig.getStringList("current-stock");
-        currentStock.clear();
+        List<Entry<ItemStack, Double>> stock = new ArrayList<>();
         for (String entry : dehydratedStock) {
-            parseStockEntry(entry).ifPresent(currentStock::add);
+            parseStockEntry(entry).ifPresent(stock::add);
         }
+        currentStock = stock;
         plugin.getLogger().info("Loaded " + currentStock.size() + " items from shop-data.yml.");
     }
 
@@ -0,0 +1,340 @@
+package com.vortex.mythicforge.managers;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.config.MythicConfig.SweepSettings;
+import com.vortex.mythicforge.enchants.CustomEnchant;
+import com.vortex.mythicforge.enchants.Rune;
+import com.vortex.mythicforge.managers.ItemManager.ItemEdit;
+import com.vortex.mythicforge.utils.MythicScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Chest;
+import org.bukkit.block.Container;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs the admin sweep behind /mf sweep: it walks the inventories and ender chests of
+ * online players and the containers in loaded chunks, and counts, removes or replaces an
+ * enchantment or rune on every item it finds, e.g. after retiring an enchantment.
+ * <p>
+ * The places to visit are listed when the sweep starts and then visited a few per tick under
+ * a time budget, so a sweep of a large world takes a while but never stalls the server.
+ * Chunks that unloaded and players who left in the meantime are skipped; chunks are never
+ * loaded for a sweep. A sweep can be paused and resumed where it stopped.
+ * <p>
+ * On Folia there is no thread that may visit every chunk, so only players are swept, each
+ * on their own region's thread.
+ *
+ * @author Vortex
+ * @version 1.0.1
+ */
+public final class SweepManager {
+
+    // Ticks to wait on Folia for player visits handed to other regions before reporting.
+    private static final int MAX_SETTLE_TICKS = 40;
+
+    /** What a sweep looks for: an enchantment or a rune. */
+    public enum TargetType { ENCHANT, RUNE }
+
+    /** What a sweep does with the items it finds. */
+    public enum Action { COUNT, REMOVE, REPLACE }
+
+    /**
+     * The item change a sweep looks for and applies.
+     *
+     * @param replacementId The enchantment or rune put in place of the old one; only for REPLACE.
+     */
+    public record SweepRule(TargetType type, String id, Action action, String replacementId) {}
+
+    /** A place to sweep: a player's inventories, or the containers of one chunk. */
+    private interface Source {}
+    private record PlayerSource(UUID playerId) implements Source {}
+    private record ChunkSource(UUID worldId, int x, int z) implements Source {}
+
+    private final MythicForge plugin;
+    private volatile SweepJob job;
+    private MythicScheduler.Task task;
+
+    private static final class SweepJob {
+        private final CommandSender requester;
+        private final SweepRule rule;
+        private final Consumer<ItemEdit> rewrite;
+        private final Deque<Source> sources;
+        private final int totalSources;
+        private final AtomicLong itemsScanned = new AtomicLong();
+        private final AtomicLong itemsMatched = new AtomicLong();
+        private final AtomicInteger skippedSources = new AtomicInteger();
+        private final AtomicInteger pendingHops = new AtomicInteger();
+        private volatile boolean paused;
+        private int settleTicks;
+        private long lastProgress = System.currentTimeMillis();
+
+        private SweepJob(CommandSender requester, SweepRule rule, Consumer<ItemEdit> rewrite, Deque<Source> sources) {
+            this.requester = requester;
+            this.rule = rule;
+            this.rewrite = rewrite;
+            this.sources = sources;
+            this.totalSources = sources.size();
+        }
+    }
+
+    public SweepManager(MythicForge plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts a sweep. Must be called from the main thread, or the global region on Folia.
+     *
+     * @param requester Who receives the progress and the result.
+     * @param rule      What to look for and what to do with it.
+     * @return An error to show the requester, or null if the sweep started.
+     */
+    public String start(CommandSender requester, SweepRule rule) {
+        if (job != null) return "A sweep is already running. Use /mf sweep cancel first.";
+        Consumer<ItemEdit> rewrite = createRewrite(rule);
+        if (rule.action() == Action.REPLACE && rewrite == null) {
+            return "Unknown " + rule.type().name().toLowerCase() + " '" + rule.replacementId() + "' to replace with.";
+        }
+
+        Deque<Source> sources = new ArrayDeque<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            sources.add(new PlayerSource(player.getUniqueId()));
+        }
+        if (!MythicScheduler.FOLIA) {
+            for (World world : Bukkit.getWorlds()) {
+                for (Chunk chunk : world.getLoadedChunks()) {
+                    sources.add(new ChunkSource(world.getUID(), chunk.getX(), chunk.getZ()));
+                }
+            }
+        }
+
+        this.job = new SweepJob(requester, rule, rewrite, sources);
+        this.task = MythicScheduler.runGlobalTimer(plugin, this::tick, 1L, 1L);
+        requester.sendMessage(ChatColor.GREEN + "Sweep started over " + sources.size() + " players and chunks"
+                + (MythicScheduler.FOLIA ? " (players only on Folia)." : "."));
+        return null;
+    }
+
+    /**
+     * Pauses the running sweep, keeping its place so it can be resumed.
+     *
+     * @return false if there is no running sweep.
+     */
+    public boolean pause() {
+        if (job == null || job.paused) return false;
+        job.paused = true;
+        return true;
+    }
+
+    /**
+     * Resumes a paused sweep where it stopped.
+     *
+     * @return false if there is no paused sweep.
+     */
+    public boolean resume() {
+        if (job == null || !job.paused) return false;
+        job.paused = false;
+        return true;
+    }
+
+    /**
+     * Stops the sweep for good. Items already changed stay changed.
+     *
+     * @return false if there is no sweep.
+     */
+    public boolean cancel() {
+        if (job == null) return false;
+        finish(ChatColor.YELLOW + "Sweep cancelled. ");
+        return true;
+    }
+
+    /**
+     * @return A line describing the sweep's progress, or null if there is no sweep.
+     */
+    public String describeProgress() {
+        SweepJob current = job;
+        if (current == null) return null;
+        return (current.paused ? "Paused: " : "Running: ") + describeCounts(current);
+    }
+
+    private static String describeCounts(SweepJob current) {
+        int visited = current.totalSources - current.sources.size();
+        return describe(current.rule) + ", "
+                + visited + "/" + current.totalSources + " places, "
+                + current.itemsScanned.get() + " items checked, "
+                + current.itemsMatched.get() + (current.rule.action() == Action.COUNT ? " found" : " changed")
+                + (current.skippedSources.get() > 0 ? ", " + current.skippedSources.get() + " skipped (unloaded or offline)" : "")
+                + ".";
+    }
+
+    /**
+     * Stops any sweep without reporting. Called when the plugin is disabled.
+     */
+    public void shutdown() {
+        if (task != null) task.cancel();
+        task = null;
+        job = null;
+    }
+
+    private void tick() {
+        SweepJob current = job;
+        if (current == null || current.paused) return;
+        // Read every tick, so a reload takes effect on a running sweep.
+        SweepSettings settings = plugin.getMythicConfig().getSweep();
+        long start = System.nanoTime();
+        long deadline = start + settings.maxNanosPerTick();
+        Source source;
+        // At least one place is visited per tick, however small the budget.
+        while ((source = current.sources.poll()) != null) {
+            if (source instanceof PlayerSource playerSource) {
+                sweepPlayer(current, playerSource);
+            } else if (source instanceof ChunkSource chunkSource) {
+                sweepChunk(current, chunkSource);
+            }
+            if (System.nanoTime() >= deadline) break;
+        }
+        plugin.getTickGovernor().recordWork(System.nanoTime() - start);
+
+        if (current.sources.isEmpty()) {
+            // Player visits handed to other regions on Folia may still be running.
+            if (current.pendingHops.get() > 0 && current.settleTicks++ < MAX_SETTLE_TICKS) return;
+            finish(ChatColor.GREEN + "Sweep finished. ");
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - current.lastProgress >= settings.progressIntervalMillis()) {
+            current.lastProgress = now;
+            current.requester.sendMessage(ChatColor.GRAY + describeProgress());
+        }
+    }
+
+    private void finish(String prefix) {
+        String summary = describeCounts(job);
+        if (task != null) task.cancel();
+        CommandSender requester = job.requester;
+        task = null;
+        job = null;
+        requester.sendMessage(prefix + ChatColor.GRAY + summary);
+        plugin.getLogger().info(ChatColor.stripColor(prefix + summary));
+    }
+
+    private void sweepPlayer(SweepJob current, PlayerSource source) {
+        Player player = Bukkit.getPlayer(source.playerId());
+        if (player == null) {
+            current.skippedSources.incrementAndGet();
+            return;
+        }
+        Runnable visit = () -> {
+            sweepInventory(current, player.getInventory());
+            sweepInventory(current, player.getEnderChest());
+        };
+        if (MythicScheduler.ownsEntity(player)) {
+            visit.run();
+            return;
+        }
+        current.pendingHops.incrementAndGet();
+        MythicScheduler.runFor(plugin, player, () -> {
+            visit.run();
+            current.pendingHops.decrementAndGet();
+        }, 1L);
+    }
+
+    private void sweepChunk(SweepJob current, ChunkSource source) {
+        World world = Bukkit.getWorld(source.worldId());
+        if (world == null || !world.isChunkLoaded(source.x(), source.z())) {
+            current.skippedSources.incrementAndGet();
+            return;
+        }
+        // Live states rather than copies: only a few containers hold MythicForge items, and
+        // copying every block entity of the chunk would cost far more than reading them.
+        for (BlockState state : world.getChunkAt(source.x(), source.z()).getTileEntities(false)) {
+            if (state instanceof Chest chest) {
+                // Only this half, or a double chest would be swept twice.
+                sweepInventory(current, chest.getBlockInventory());
+            } else if (state instanceof Container container) {
+                sweepInventory(current, container.getInventory());
+            }
+        }
+    }
+
+    private void sweepInventory(SweepJob current, Inventory inventory) {
+        ItemManager itemManager = plugin.getItemManager();
+        for (int slot = 0; slot < inventory.getSize(); slot++) {
+            ItemStack item = inventory.getItem(slot);
+            if (item == null || !item.hasItemMeta()) continue;
+            current.itemsScanned.incrementAndGet();
+            if (!matches(itemManager, current.rule, item.getItemMeta())) continue;
+            current.itemsMatched.incrementAndGet();
+            if (current.rewrite != null && itemManager.edit(item, current.rewrite)) {
+                // Setting the slot marks the container as changed, so the change is saved.
+                inventory.setItem(slot, item);
+            }
+        }
+    }
+
+    private static boolean matches(ItemManager itemManager, SweepRule rule, ItemMeta meta) {
+        if (rule.type() == TargetType.ENCHANT) {
+            return itemManager.getEnchants(meta).containsKey(rule.id().toLowerCase());
+        }
+        for (String socket : itemManager.getSockets(meta)) {
+            if (socket.equalsIgnoreCase(rule.id())) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return The change to make to each matching item, null to only count them, or null
+     *         for REPLACE if the replacement does not exist.
+     */
+    private Consumer<ItemEdit> createRewrite(SweepRule rule) {
+        String id = rule.id();
+        switch (rule.action()) {
+            case REMOVE:
+                return rule.type() == TargetType.ENCHANT
+                        ? edit -> edit.removeEnchant(id)
+                        : edit -> edit.replaceRune(id, "empty");
+            case REPLACE:
+                if (rule.type() == TargetType.ENCHANT) {
+                    CustomEnchant replacement = plugin.getEnchantmentManager().getEnchantById(rule.replacementId());
+                    if (replacement == null) return null;
+                    return edit -> {
+                        Integer level = edit.getEnchants().get(id.toLowerCase());
+                        if (level == null) return;
+                        edit.removeEnchant(id);
+                        edit.applyEnchant(replacement, Math.min(level, replacement.getMaxLevel()));
+                    };
+                }
+                Rune replacement = plugin.getRuneManager().getRuneById(rule.replacementId());
+                if (replacement == null) return null;
+                return edit -> edit.replaceRune(id, replacement.getId());
+            default:
+                return null;
+        }
+    }
+
+    private static String describe(SweepRule rule) {
+        String target = rule.type().name().toLowerCase() + " '" + rule.id() + "'";
+        switch (rule.action()) {
+            case REMOVE:
+                return "removing " + target;
+            case REPLACE:
+                return "replacing " + target + " with '" + rule.replacementId() + "'";
+            default:
+                return "counting " + target;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.vortex.mythicforge.managers;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.metrics.MythicMetrics;
+import com.vortex.mythicforge.utils.MythicScheduler;
+import org.bukkit.entity.Entity;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Scales MythicForge's optional work down while the server is struggling. It follows the
+ * server's tick time (MSPT) and the time MythicForge itself spends per tick, and steps
+ * through the {@link QualityLevel}s: thinner particles, then no cosmetics at all, then
+ * passive effects refreshed less often. Gameplay effects, such as damage, healing and
+ * potions from triggers, are never affected.
+ * <p>
+ * Work that only needs to happen soon, like rebuilding a loadout snapshot, can be
+ * {@linkplain #defer deferred}. It waits in a bounded queue that is drained at the start of
+ * every tick under a time budget, so a burst of it is spread over several ticks.
+ * <p>
+ * Folia has no server-wide tick to measure, so there the governor stays at full quality and
+ * deferred work goes straight to the entity's scheduler.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class TickGovernor {
+
+    /** How much optional work MythicForge does. Each level includes the ones before it. */
+    public enum QualityLevel {
+        FULL, THIN_PARTICLES, NO_COSMETICS, SLOW_PASSIVES
+    }
+
+    // Weight of the newest tick in the smoothed times, roughly a one second window.
+    private static final double SMOOTHING = 0.05;
+    // Ticks a level is held before the governor may step back up, so it does not flap.
+    private static final int MIN_TICKS_PER_LEVEL = 100;
+
+    private final MythicForge plugin;
+    private final LongAdder workNanos = new LongAdder();
+    private final Queue<Deferred> deferred = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger deferredCount = new AtomicInteger();
+    private volatile QualityLevel level = QualityLevel.FULL;
+    private double smoothedMspt;
+    private double smoothedWorkMillis;
+    private int ticksAtLevel;
+    private MythicScheduler.Task drainTask;
+
+    // Settings
+    private volatile boolean enabled;
+    private final double[] levelMspt = new double[QualityLevel.values().length];
+    private double recoveryMarginMspt;
+    private double workBudgetMillis;
+    private volatile double thinParticleFactor;
+    private volatile int slowPassiveMultiplier;
+    private long deferredBudgetNanos;
+    private int maxDeferred;
+
+    /** Work waiting for a tick with time to spare. */
+    private record Deferred(Entity owner, Runnable work) {}
+
+    public TickGovernor(MythicForge plugin) {
+        this.plugin = plugin;
+        loadSettings();
+    }
+
+    /**
+     * Reads the 'governor' settings from config.yml. Safe to be called for reloads.
+     */
+    public void loadSettings() {
+        this.enabled = plugin.getConfig().getBoolean("governor.enabled", true) && !MythicScheduler.FOLIA;
+        levelMspt[QualityLevel.THIN_PARTICLES.ordinal()] = plugin.getConfig().getDouble("governor.thin_particles_mspt", 40.0);
+        levelMspt[QualityLevel.NO_COSMETICS.ordinal()] = plugin.getConfig().getDouble("governor.skip_cosmetics_mspt", 45.0);
+        levelMspt[QualityLevel.SLOW_PASSIVES.ordinal()] = plugin.getConfig().getDouble("governor.slow_passives_mspt", 48.0);
+        this.recoveryMarginMspt = Math.max(0, plugin.getConfig().getDouble("governor.recovery_margin_mspt", 3.0));
+        this.workBudgetMillis = Math.max(0.1, plugin.getConfig().getDouble("governor.work_budget_ms", 5.0));
+        this.thinParticleFactor = Math.min(1.0, Math.max(0.05, plugin.getConfig().getDouble("governor.thin_particle_factor", 0.5)));
+        this.slowPassiveMultiplier = Math.max(1, plugin.getConfig().getInt("governor.slow_passive_multiplier", 2));
+        this.deferredBudgetNanos = (long) (Math.max(0.05, plugin.getConfig().getDouble("governor.deferred_budget_ms", 1.0)) * 1_000_000);
+        this.maxDeferred = Math.max(1, plugin.getConfig().getInt("governor.max_deferred", 1000));
+
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+        if (enabled) {
+            drainTask = MythicScheduler.runGlobalTimer(plugin, this::drain, 1L, 1L);
+        } else {
+            setLevel(QualityLevel.FULL);
+            drainAll();
+        }
+    }
+
+    /**
+     * Adds to the time MythicForge spent during the current tick. Safe to call from any thread.
+     *
+     * @param nanos The time spent, in nanoseconds.
+     */
+    public void recordWork(long nanos) {
+        workNanos.add(nanos);
+    }
+
+    /**
+     * Runs work on the thread that owns the entity during a coming tick with time to spare,
+     * usually the next one. Only for work that does not affect gameplay if it runs a few
+     * ticks late. Safe to call from any thread.
+     *
+     * @param owner The entity the work belongs to; it is dropped if the entity is gone.
+     * @param work  The work.
+     */
+    public void defer(Entity owner, Runnable work) {
+        if (!enabled || deferredCount.get() >= maxDeferred) {
+            // The queue is full, so fall back to running it on the next tick regardless.
+            MythicScheduler.runFor(plugin, owner, work, 1L);
+            return;
+        }
+        deferredCount.incrementAndGet();
+        deferred.add(new Deferred(owner, work));
+    }
+
+    /**
+     * Called at the end of every server tick with the tick's duration. Must be called from
+     * the main thread.
+     *
+     * @param tickMillis How long the tick took, in milliseconds.
+     */
+    public void onTickEnd(double tickMillis) {
+        double workMillis = workNanos.sumThenReset() / 1_000_000.0;
+        if (!enabled) return;
+        smoothedMspt += SMOOTHING * (tickMillis - smoothedMspt);
+        smoothedWorkMillis += SMOOTHING * (workMillis - smoothedWorkMillis);
+        MythicMetrics.TICK_WORK_MICROS.set((long) (smoothedWorkMillis * 1000));
+
+        ticksAtLevel++;
+        QualityLevel wanted = levelFor(smoothedMspt, smoothedWorkMillis);
+        if (wanted.ordinal() > level.ordinal()) {
+            setLevel(wanted);
+        } else if (ticksAtLevel >= MIN_TICKS_PER_LEVEL && wanted.ordinal() < level.ordinal()
+                && levelFor(smoothedMspt + recoveryMarginMspt, smoothedWorkMillis).ordinal() < level.ordinal()) {
+            // Recover one level at a time, and only once the server is clearly below the threshold.
+            setLevel(QualityLevel.values()[level.ordinal() - 1]);
+        }
+    }
+
+    /**
+     * @return The current quality level.
+     */
+    public QualityLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * @return false if SOUND, PARTICLE and aura effects should not be sent at all.
+     */
+    public boolean isCosmeticsEnabled() {
+        return level.ordinal() < QualityLevel.NO_COSMETICS.ordinal();
+    }
+
+    /**
+     * @return The factor to multiply particle counts by, from 0 to 1.
+     */
+    public double getParticleScale() {
+        return level == QualityLevel.FULL ? 1.0 : thinParticleFactor;
+    }
+
+    /**
+     * @return How many times longer than usual passive effects wait between refreshes.
+     */
+    public int getPassiveCadence() {
+        return level == QualityLevel.SLOW_PASSIVES ? slowPassiveMultiplier : 1;
+    }
+
+    private QualityLevel levelFor(double mspt, double workMillis) {
+        QualityLevel wanted = QualityLevel.FULL;
+        for (QualityLevel candidate : QualityLevel.values()) {
+            if (candidate != QualityLevel.FULL && mspt >= levelMspt[candidate.ordinal()]) wanted = candidate;
+        }
+        // MythicForge using more than its share costs it one extra level, even on a fast server.
+        if (workMillis > workBudgetMillis && wanted != QualityLevel.SLOW_PASSIVES) {
+            wanted = QualityLevel.values()[wanted.ordinal() + 1];
+        }
+        return wanted;
+    }
+
+    private void setLevel(QualityLevel newLevel) {
+        ticksAtLevel = 0;
+        if (newLevel == level) return;
+        plugin.getLogger().info("Tick pressure: quality level " + level + " -> " + newLevel
+                + String.format(" (%.1f mspt, %.2f ms MythicForge work per tick)", smoothedMspt, smoothedWorkMillis));
+        level = newLevel;
+        MythicMetrics.QUALITY_LEVEL.set(newLevel.ordinal());
+    }
+
+    /**
+     * Runs deferred work until this tick's budget is spent. At least one item always runs,
+     * so the queue keeps moving however busy the server is.
+     */
+    private void drain() {
+        long start = System.nanoTime();
+        long deadline = start + deferredBudgetNanos;
+        Deferred next;
+        while ((next = deferred.poll()) != null) {
+            deferredCount.decrementAndGet();
+            run(next);
+            if (System.nanoTime() >= deadline) break;
+        }
+        MythicMetrics.DEFERRED_WORK.set(deferredCount.get());
+        recordWork(System.nanoTime() - start);
+    }
+
+    private void drainAll() {
+        Deferred next;
+        while ((next = deferred.poll()) != null) {
+            deferredCount.decrementAndGet();
+            MythicScheduler.runFor(plugin, next.owner(), next.work(), 1L);
+        }
+        MythicMetrics.DEFERRED_WORK.set(0);
+    }
+
+    private void run(Deferred deferred) {
+        if (!MythicScheduler.exists(deferred.owner())) return;
+        try {
+            deferred.work().run();
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Error running deferred MythicForge work", e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.vortex.mythicforge.managers;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.enchants.CustomEnchant;
+import com.vortex.mythicforge.enchants.SetBonus;
+import com.vortex.mythicforge.managers.LoadoutManager.LoadoutSnapshot;
+import com.vortex.mythicforge.utils.EffectProcessor;
+import com.vortex.mythicforge.utils.EffectProcessor.TriggerType;
+import com.vortex.mythicforge.utils.TimingWheel.Timeout;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs the effect groups with a TICK trigger, every {@code interval} ticks for as long as
+ * the enchantment or set tier they belong to is worn. Each worn group has one repeating
+ * timer in the {@link TimerManager}. Timers are started and stopped whenever a player's
+ * loadout snapshot is rebuilt, so a group stops within a tick of its item being unequipped.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class TickTriggerManager {
+
+    private static final long DEFAULT_INTERVAL_TICKS = 20L;
+
+    private final MythicForge plugin;
+    // The running timer of every worn TICK group, by player. Groups are the loaded config
+    // maps, compared by identity, so a reload replaces every timer with a fresh one.
+    private final Map<UUID, Map<Map<?, ?>, Timeout>> running = new ConcurrentHashMap<>();
+
+    public TickTriggerManager(MythicForge plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts the timers of newly worn TICK groups and stops those of groups no longer worn.
+     * Called whenever the player's snapshot is rebuilt, from the thread that owns the player.
+     *
+     * @param player   The player.
+     * @param snapshot The player's fresh snapshot.
+     */
+    public void update(Player player, LoadoutSnapshot snapshot) {
+        UUID uuid = player.getUniqueId();
+        Map<Map<?, ?>, Timeout> timers = running.get(uuid);
+        if (timers == null && !plugin.getTriggerRegistry().getActiveTriggers().contains(TriggerType.TICK)) return;
+
+        Map<Map<?, ?>, String> worn = new IdentityHashMap<>();
+        // Nothing ticks for the dead; the timers start again once the player respawns.
+        if (!player.isDead()) collectWornGroups(snapshot, worn);
+
+        if (timers == null) {
+            if (worn.isEmpty()) return;
+            timers = new IdentityHashMap<>();
+            running.put(uuid, timers);
+        }
+        Iterator<Map.Entry<Map<?, ?>, Timeout>> it = timers.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Map<?, ?>, Timeout> entry = it.next();
+            if (!worn.containsKey(entry.getKey())) {
+                entry.getValue().cancel();
+                it.remove();
+            }
+        }
+        for (Map.Entry<Map<?, ?>, String> entry : worn.entrySet()) {
+            Map<?, ?> group = entry.getKey();
+            Timeout timer = timers.get(group);
+            // A timer is cancelled without being removed when the player dies.
+            if (timer != null && !timer.isCancelled()) continue;
+            long interval = getInterval(group);
+            String source = entry.getValue();
+            timers.put(group, plugin.getTimerManager().runRepeating(player, interval, interval,
+                    () -> EffectProcessor.processTickGroup(player, group, source)));
+        }
+        if (timers.isEmpty()) running.remove(uuid);
+    }
+
+    /**
+     * Stops all TICK timers of a player, typically when they leave.
+     *
+     * @param uuid The UUID of the player.
+     */
+    public void invalidate(UUID uuid) {
+        Map<Map<?, ?>, Timeout> timers = running.remove(uuid);
+        if (timers != null) timers.values().forEach(Timeout::cancel);
+    }
+
+    private void collectWornGroups(LoadoutSnapshot snapshot, Map<Map<?, ?>, String> worn) {
+        for (String enchantId : snapshot.equippedEnchants().keySet()) {
+            CustomEnchant enchant = plugin.getEnchantmentManager().getEnchantById(enchantId);
+            if (enchant != null) collectTickGroups(enchant.getEffects(), enchant.getId(), worn);
+        }
+        if (snapshot.activeSetId() == null) return;
+        for (SetBonus set : plugin.getSetBonusManager().getAllSets()) {
+            if (!set.getSetId().equals(snapshot.activeSetId())) continue;
+            set.getBonusTierFor(snapshot.activeSetPieces()).ifPresent(tier ->
+                    collectTickGroups(tier.getTriggeredEffects(), "set:" + set.getSetId(), worn));
+        }
+    }
+
+    private static void collectTickGroups(List<Map<?, ?>> effectGroups, String source, Map<Map<?, ?>, String> worn) {
+        for (Map<?, ?> effectGroup : effectGroups) {
+            if (TriggerType.TICK.name().equalsIgnoreCase(String.valueOf(effectGroup.get("trigger")))) {
+                worn.put(effectGroup, source);
+            }
+        }
+    }
+
+    private static long getInterval(Map<?, ?> effectGroup) {
+        Object interval = effectGroup.get("interval");
+        if (interval == null) return DEFAULT_INTERVAL_TICKS;
+        try {
+            return Math.max(1L, Long.parseLong(String.valueOf(interval).trim()));
+        } catch (NumberFormatException e) {
+            return DEFAULT_INTERVAL_TICKS;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.vortex.mythicforge.managers;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.metrics.MythicMetrics;
+import com.vortex.mythicforge.utils.MythicScheduler;
+import com.vortex.mythicforge.utils.TimingWheel;
+import com.vortex.mythicforge.utils.TimingWheel.Timeout;
+import org.bukkit.entity.Entity;
+
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Runs MythicForge's own short timers: periodic TICK triggers, the rest of an effect chain
+ * after a DELAY, and debounced GUI updates. They all live in one {@link TimingWheel} driven
+ * by a single plugin task, instead of each being a task of its own in the server scheduler.
+ * <p>
+ * Every timer belongs to an entity. Its timers are cancelled when it dies or leaves, and a
+ * timer whose entity is gone by the time it is due does not run. On Folia the wheel is
+ * driven by the global region, so due work is handed to the entity's own scheduler.
+ *
+ * @author Vortex
+ * @version 1.0.2
+ */
+public final class TimerManager {
+
+    // Comfortably more slots than the usual delay, so most slots hold one or two timers.
+    private static final int WHEEL_SLOTS = 512;
+
+    private final MythicForge plugin;
+    private final TimingWheel wheel = new TimingWheel(WHEEL_SLOTS);
+
+    public TimerManager(MythicForge plugin) {
+        this.plugin = plugin;
+        MythicScheduler.runGlobalTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Runs work once, after a delay, on the thread that owns the entity. Safe to call from
+     * any thread.
+     *
+     * @param owner      The entity the work belongs to.
+     * @param delayTicks The delay in ticks, at least 1.
+     * @param work       The work.
+     * @return The handle to cancel the work with.
+     */
+    public Timeout runLater(Entity owner, long delayTicks, Runnable work) {
+        return runRepeating(owner, delayTicks, 0L, work);
+    }
+
+    /**
+     * Repeats work on the thread that owns the entity until it is cancelled, the entity dies
+     * or the entity leaves. Safe to call from any thread.
+     *
+     * @param owner       The entity the work belongs to.
+     * @param delayTicks  The delay in ticks before the first run, at least 1.
+     * @param periodTicks The ticks between runs, or 0 to run once.
+     * @param work        The work.
+     * @return The handle to cancel the work with.
+     */
+    public Timeout runRepeating(Entity owner, long delayTicks, long periodTicks, Runnable work) {
+        // The wheel hands each run its own timeout. On Folia the global region may run it before
+        // schedule() has even returned here, so it must not be read from a captured variable.
+        return wheel.schedule(owner.getUniqueId(), delayTicks, periodTicks, timeout -> dispatch(owner, timeout, work));
+    }
+
+    /**
+     * Cancels every timer of an entity, typically when it dies or leaves.
+     *
+     * @param uuid The UUID of the entity.
+     */
+    public void cancelAll(UUID uuid) {
+        wheel.cancelAll(uuid);
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        wheel.tick();
+        MythicMetrics.TIMERS_PENDING.set(wheel.size());
+        plugin.getTickGovernor().recordWork(System.nanoTime() - start);
+    }
+
+    private void dispatch(Entity owner, Timeout timeout, Runnable work) {
+        if (MythicScheduler.FOLIA) {
+            // The entity may be in any region, so the work hops to its own thread.
+            MythicScheduler.runFor(plugin, owner, () -> {
+                if (!timeout.isCancelled()) runSafely(work);
+            }, 1L);
+        } else if (MythicScheduler.exists(owner)) {
+            runSafely(work);
+        }
+    }
+
+    private void runSafely(Runnable work) {
+        try {
+            work.run();
+        } catch (Exception e) {
+            // One broken effect must not take down the other timers due this tick.
+            plugin.getLogger().log(Level.WARNING, "Error running a MythicForge timer", e);
+        }
+    }
+}
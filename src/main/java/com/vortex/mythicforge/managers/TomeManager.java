@@ -1,17 +1,19 @@
 package com.vortex.mythicforge.managers;
 
 import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.config.MythicConfig.CustomItemSpec;
 import com.vortex.mythicforge.enchants.CustomEnchant;
 import com.vortex.mythicforge.enchants.Rune;
+import com.vortex.mythicforge.managers.LoreRenderer.ScrollText;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.logging.Level;
@@ -22,7 +24,7 @@ import java.util.stream.Collectors;
  * Enchantment Scrolls, Dusts, Orbs, and Runes based on definitions in the config.
  *
  * @author Vortex
- * @version 1.0.1
+ * @version 1.0.5
  */
 public final class TomeManager {
 
@@ -32,6 +34,8 @@ public final class TomeManager {
     private final NamespacedKey scrollEnchantKey;
     private final NamespacedKey scrollLevelKey;
     private final NamespacedKey runeIdKey;
+    private final NamespacedKey boostKey;
+    private final NamespacedKey protectionKey;
 
     public TomeManager(MythicForge plugin) {
         this.plugin = plugin;
@@ -39,6 +43,8 @@ public final class TomeManager {
         this.scrollEnchantKey = new NamespacedKey(plugin, "mythic_scroll_enchant");
         this.scrollLevelKey = new NamespacedKey(plugin, "mythic_scroll_level");
         this.runeIdKey = new NamespacedKey(plugin, "mythic_rune_id");
+        this.boostKey = new NamespacedKey(plugin, "mythic_boost_amount");
+        this.protectionKey = new NamespacedKey(plugin, "mythic_is_protected");
     }
 
     /**
@@ -51,49 +57,30 @@ public final class TomeManager {
      */
     public ItemStack createScroll(CustomEnchant enchant, int level, int amount) {
         Objects.requireNonNull(enchant, "Cannot create a scroll for a null enchantment.");
-        ConfigurationSection itemConfig = plugin.getConfig().getConfigurationSection("mechanics.custom_items.enchant_scroll");
-        if (itemConfig == null) {
-            plugin.getLogger().severe("Missing config section for 'enchant_scroll'!");
+        CustomItemSpec itemSpec = plugin.getMythicConfig().getCustomItem("enchant_scroll");
+        if (itemSpec == null) {
+            // Already reported when the config was loaded.
             return new ItemStack(Material.AIR);
         }
 
-        Material material = Material.matchMaterial(itemConfig.getString("material", "BOOK").toUpperCase());
-        if (material == null) material = Material.BOOK;
-
-        ItemStack scrollItem = new ItemStack(material, amount);
+        ItemStack scrollItem = new ItemStack(itemSpec.material(), amount);
         ItemMeta meta = scrollItem.getItemMeta();
         if (meta == null) return scrollItem;
 
-        ConfigurationSection scrollConfig = plugin.getConfig().getConfigurationSection("mechanics.scrolls");
-        ConfigurationSection tierConfig = plugin.getConfig().getConfigurationSection("mechanics.tiers." + enchant.getTier());
-
-        double successRate = tierConfig.getDouble("success_rate");
-        double destroyRate = tierConfig.getDouble("destroy_rate");
-
-        String displayName = scrollConfig.getString("display_name").replace("{enchant_name}", enchant.getDisplayName());
-        meta.setDisplayName(ChatColor.translateAlternateColorCodes('&', displayName));
-
-        List<String> lore = scrollConfig.getStringList("lore").stream()
-                .map(line -> ChatColor.translateAlternateColorCodes('&', line
-                        .replace("{enchant_name}", enchant.getDisplayName())
-                        .replace("{enchant_level_roman}", toRoman(level))
-                        .replace("{success_rate}", String.valueOf(successRate))
-                        .replace("{destroy_rate}", String.valueOf(destroyRate))
-                ))
-                .collect(Collectors.toList());
-        meta.setLore(lore);
+        renderScroll(meta, enchant, level);
 
         PersistentDataContainer pdc = meta.getPersistentDataContainer();
         pdc.set(itemTypeKey, PersistentDataType.STRING, "enchant_scroll");
         pdc.set(scrollEnchantKey, PersistentDataType.STRING, enchant.getId());
         pdc.set(scrollLevelKey, PersistentDataType.INTEGER, level);
+        plugin.getItemManager().stampContentVersion(meta);
 
         scrollItem.setItemMeta(meta);
         return scrollItem;
     }
 
     /**
-     * Creates a custom item defined in the 'mechanics.custom_items' section of the config.
+     * Creates a custom item defined in the 'custom_items' section of the config.
      * This is the main factory method for most non-scroll items.
      *
      * @param itemId The key of the item (e.g., 'mythic_dust', 'protection_orb').
@@ -101,34 +88,21 @@ public final class TomeManager {
      * @return The resulting ItemStack, or an AIR item if the definition is not found.
      */
     public ItemStack createCustomItem(String itemId, int amount) {
-        String configPath = "mechanics.custom_items." + itemId;
-        ConfigurationSection itemConfig = plugin.getConfig().getConfigurationSection(configPath);
+        CustomItemSpec itemSpec = plugin.getMythicConfig().getCustomItem(itemId);
 
-        if (itemConfig == null) {
-            plugin.getLogger().warning("Attempted to create custom item '" + itemId + "' but its definition was not found in config.yml.");
+        if (itemSpec == null) {
+            plugin.getLogger().warning("Attempted to create custom item '" + itemId + "' but it has no valid definition in config.yml.");
             return new ItemStack(Material.AIR);
         }
 
-        String materialName = itemConfig.getString("material", "STONE").toUpperCase();
-        Material material = Material.matchMaterial(materialName);
-        if (material == null) {
-            plugin.getLogger().severe("Invalid material '" + materialName + "' for custom item '" + itemId + "' in config.yml!");
-            return new ItemStack(Material.AIR);
-        }
-
-        ItemStack customItem = new ItemStack(material, amount);
+        ItemStack customItem = new ItemStack(itemSpec.material(), amount);
         ItemMeta meta = customItem.getItemMeta();
         if (meta == null) return customItem;
 
-        String displayName = itemConfig.getString("display_name", itemId);
-        meta.setDisplayName(ChatColor.translateAlternateColorCodes('&', displayName));
-
-        List<String> lore = itemConfig.getStringList("lore").stream()
-                .map(line -> ChatColor.translateAlternateColorCodes('&', line))
-                .collect(Collectors.toList());
-        meta.setLore(lore);
+        renderCustomItem(meta, itemSpec);
 
         meta.getPersistentDataContainer().set(itemTypeKey, PersistentDataType.STRING, itemId);
+        plugin.getItemManager().stampContentVersion(meta);
 
         customItem.setItemMeta(meta);
         return customItem;
@@ -143,28 +117,94 @@ public final class TomeManager {
         ItemMeta meta = runeItem.getItemMeta();
         if (meta == null) return runeItem;
         
-        meta.setDisplayName(ChatColor.translateAlternateColorCodes('&', rune.getDisplayName()));
-        meta.setLore(rune.getItemLore().stream().map(l -> ChatColor.translateAlternateColorCodes('&', l)).collect(Collectors.toList()));
+        renderRune(meta, rune);
         
         PersistentDataContainer pdc = meta.getPersistentDataContainer();
         pdc.set(itemTypeKey, PersistentDataType.STRING, "rune");
         pdc.set(runeIdKey, PersistentDataType.STRING, rune.getId());
+        plugin.getItemManager().stampContentVersion(meta);
         
         runeItem.setItemMeta(meta);
         return runeItem;
     }
 
-    private String toRoman(int number) {
-        if (number < 1 || number > 39) return String.valueOf(number);
-        String[] r_keys = {"M", "CM", "D", "CD", "C", "XC", "L", "XL", "X", "IX", "V", "IV", "I"};
-        int[] v_keys = {1000, 900, 500, 400, 100, 90, 50, 40, 10, 9, 5, 4, 1};
-        StringBuilder roman = new StringBuilder();
-        for (int i = 0; i < r_keys.length; i++) {
-            while (number >= v_keys[i]) {
-                roman.append(r_keys[i]);
-                number -= v_keys[i];
-            }
+    /**
+     * Re-renders the name and lore of a scroll, rune or custom item from the currently
+     * loaded definitions, e.g. after an enchantment was renamed and reloaded.
+     *
+     * @param meta The ItemMeta of the item.
+     * @return false if the item is none of these, or its definition no longer exists.
+     */
+    public boolean rerender(ItemMeta meta) {
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        String itemType = pdc.get(itemTypeKey, PersistentDataType.STRING);
+        if (itemType == null) return false;
+
+        if (itemType.equals("enchant_scroll")) {
+            String enchantId = pdc.get(scrollEnchantKey, PersistentDataType.STRING);
+            Integer level = pdc.get(scrollLevelKey, PersistentDataType.INTEGER);
+            CustomEnchant enchant = enchantId != null ? plugin.getEnchantmentManager().getEnchantById(enchantId) : null;
+            if (enchant == null || level == null) return false;
+            renderScroll(meta, enchant, level);
+        } else if (itemType.equals("rune")) {
+            String runeId = pdc.get(runeIdKey, PersistentDataType.STRING);
+            Rune rune = runeId != null ? plugin.getRuneManager().getRuneById(runeId) : null;
+            if (rune == null) return false;
+            renderRune(meta, rune);
+        } else {
+            CustomItemSpec itemSpec = plugin.getMythicConfig().getCustomItem(itemType);
+            if (itemSpec == null) return false;
+            renderCustomItem(meta, itemSpec);
         }
-        return roman.toString();
+        return true;
+    }
+
+    /**
+     * Updates a scroll's lore to reflect its current empowerment status.
+     * This method cleanly removes old status lines before adding the new ones.
+     * @param meta The ItemMeta of the scroll to update.
+     */
+    public void updateScrollLore(ItemMeta meta) {
+        List<String> lore = meta.getLore() != null ? new ArrayList<>(meta.getLore()) : new ArrayList<>();
+
+        // Remove old status lines to prevent duplicates
+        lore.removeIf(line -> line.contains("Success Boost:") || line.contains("[Protected]"));
+        addScrollStatus(lore, meta.getPersistentDataContainer());
+        meta.setLore(lore);
+    }
+
+    private void renderScroll(ItemMeta meta, CustomEnchant enchant, int level) {
+        ScrollText text = plugin.getLoreRenderer().scrollText(enchant, level);
+        meta.setDisplayName(text.displayName());
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        if (!pdc.has(boostKey, PersistentDataType.DOUBLE) && !pdc.has(protectionKey, PersistentDataType.BYTE)) {
+            meta.setLore(text.lore());
+            return;
+        }
+        // Boosted and protected scrolls keep their status lines below the template's lore.
+        List<String> lore = new ArrayList<>(text.lore());
+        addScrollStatus(lore, pdc);
+        meta.setLore(lore);
+    }
+
+    private void addScrollStatus(List<String> lore, PersistentDataContainer pdc) {
+        double boost = pdc.getOrDefault(boostKey, PersistentDataType.DOUBLE, 0.0);
+        if (boost > 0) {
+            lore.add(ChatColor.GREEN + "Success Boost: +" + String.format("%.1f", boost) + "%");
+        }
+
+        if (pdc.has(protectionKey, PersistentDataType.BYTE)) {
+            lore.add(ChatColor.LIGHT_PURPLE + "" + ChatColor.BOLD + "[Protected]");
+        }
+    }
+
+    private void renderCustomItem(ItemMeta meta, CustomItemSpec itemSpec) {
+        meta.setDisplayName(itemSpec.displayName());
+        meta.setLore(itemSpec.lore());
+    }
+
+    private void renderRune(ItemMeta meta, Rune rune) {
+        meta.setDisplayName(ChatColor.translateAlternateColorCodes('&', rune.getDisplayName()));
+        meta.setLore(rune.getItemLore().stream().map(l -> ChatColor.translateAlternateColorCodes('&', l)).collect(Collectors.toList()));
     }
             }
@@ -0,0 +1,151 @@
+package com.vortex.mythicforge.managers;
+
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.enchants.CustomEnchant;
+import com.vortex.mythicforge.enchants.SetBonus;
+import com.vortex.mythicforge.enchants.SetBonus.BonusTier;
+import com.vortex.mythicforge.listeners.GlobalListener;
+import com.vortex.mythicforge.utils.EffectProcessor.TriggerType;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityShootBowEvent;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Registers the Bukkit listener behind each trigger only while at least one loaded
+ * enchantment or set tier uses that trigger, so unused triggers cost nothing per event.
+ * Registrations are recomputed from the loaded content by {@link #refresh()}, which is
+ * called after every reload.
+ *
+ * @author Vortex
+ * @version 1.0.1
+ */
+public final class TriggerRegistry {
+
+    /**
+     * A Bukkit event and the triggers it serves. Triggers that share an event, like ATTACK
+     * and DEFEND, share a single registration.
+     */
+    private enum EventBinding {
+        COMBAT(EntityDamageByEntityEvent.class, EventPriority.HIGH,
+                (listener, event) -> listener.onEntityCombat((EntityDamageByEntityEvent) event),
+                TriggerType.ATTACK, TriggerType.DEFEND, TriggerType.PROJECTILE_HIT),
+        MINE(BlockBreakEvent.class, EventPriority.HIGHEST,
+                (listener, event) -> listener.onBlockBreak((BlockBreakEvent) event),
+                TriggerType.MINE),
+        SHOOT_BOW(EntityShootBowEvent.class, EventPriority.HIGH,
+                (listener, event) -> listener.onBowShoot((EntityShootBowEvent) event),
+                // PROJECTILE_HIT needs the shot to snapshot the bow onto the projectile.
+                TriggerType.SHOOT_BOW, TriggerType.PROJECTILE_HIT);
+
+        private final Class<? extends Event> eventClass;
+        private final EventPriority priority;
+        private final BiConsumer<GlobalListener, Event> handler;
+        private final Set<TriggerType> triggers;
+
+        EventBinding(Class<? extends Event> eventClass, EventPriority priority, BiConsumer<GlobalListener, Event> handler, TriggerType... triggers) {
+            this.eventClass = eventClass;
+            this.priority = priority;
+            this.handler = handler;
+            this.triggers = EnumSet.copyOf(Arrays.asList(triggers));
+        }
+    }
+
+    private final MythicForge plugin;
+    private final GlobalListener globalListener;
+    // One listener object per registered binding, so each can be unregistered on its own.
+    private final Map<EventBinding, Listener> registrations = new EnumMap<>(EventBinding.class);
+    private volatile Set<TriggerType> activeTriggers = Collections.unmodifiableSet(EnumSet.noneOf(TriggerType.class));
+
+    public TriggerRegistry(MythicForge plugin) {
+        this.plugin = plugin;
+        this.globalListener = new GlobalListener(plugin);
+    }
+
+    /**
+     * @return The triggers used by the loaded content.
+     */
+    public Set<TriggerType> getActiveTriggers() {
+        return activeTriggers;
+    }
+
+    /**
+     * Scans the loaded enchantments and set tiers for the triggers they use, then registers
+     * the listeners that became needed and unregisters those that no longer are. New
+     * listeners are registered before old ones are removed, and all of it happens within
+     * one call on the main thread, so no event is ever missed for a trigger in use.
+     * Must be called from the main thread.
+     */
+    public void refresh() {
+        Set<TriggerType> used = collectUsedTriggers();
+
+        for (EventBinding binding : EventBinding.values()) {
+            boolean needed = !Collections.disjoint(binding.triggers, used);
+            if (needed && !registrations.containsKey(binding)) {
+                registrations.put(binding, register(binding));
+            }
+        }
+        for (EventBinding binding : EventBinding.values()) {
+            boolean needed = !Collections.disjoint(binding.triggers, used);
+            if (!needed && registrations.containsKey(binding)) {
+                HandlerList.unregisterAll(registrations.remove(binding));
+            }
+        }
+
+        this.activeTriggers = Collections.unmodifiableSet(used);
+        plugin.getLogger().info("Listening for triggers: " + (used.isEmpty() ? "none" : used));
+    }
+
+    /**
+     * Unregisters every trigger listener.
+     */
+    public void unregisterAll() {
+        registrations.values().forEach(HandlerList::unregisterAll);
+        registrations.clear();
+        this.activeTriggers = Collections.unmodifiableSet(EnumSet.noneOf(TriggerType.class));
+    }
+
+    private Listener register(EventBinding binding) {
+        Listener listener = new Listener() {};
+        TickGovernor tickGovernor = plugin.getTickGovernor();
+        plugin.getServer().getPluginManager().registerEvent(binding.eventClass, listener, binding.priority,
+                (ignored, event) -> {
+                    // Subclasses share their parent's handler list, e.g. every EntityDamageEvent
+                    // reaches the combat registration, so only pass on the exact type.
+                    if (!binding.eventClass.isInstance(event)) return;
+                    long start = System.nanoTime();
+                    binding.handler.accept(globalListener, event);
+                    tickGovernor.recordWork(System.nanoTime() - start);
+                }, plugin, true);
+        return listener;
+    }
+
+    private Set<TriggerType> collectUsedTriggers() {
+        Set<TriggerType> used = EnumSet.noneOf(TriggerType.class);
+        for (CustomEnchant enchant : plugin.getEnchantmentManager().getRegisteredEnchants().values()) {
+            addTriggers(enchant.getEffects(), used);
+        }
+        for (SetBonus set : plugin.getSetBonusManager().getAllSets()) {
+            for (BonusTier tier : set.getBonuses()) {
+                addTriggers(tier.getTriggeredEffects(), used);
+            }
+        }
+        // Runes only carry passive effect strings, so they cannot use an event trigger.
+        return used;
+    }
+
+    private static void addTriggers(List<Map<?, ?>> effectGroups, Set<TriggerType> used) {
+        for (Map<?, ?> effectGroup : effectGroups) {
+            String trigger = String.valueOf(effectGroup.get("trigger")).toUpperCase(Locale.ROOT);
+            for (TriggerType type : TriggerType.values()) {
+                if (type.name().equals(trigger)) used.add(type);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.vortex.mythicforge.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing, lock-free counter exported as a Prometheus counter.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class Counter {
+
+    private final String name;
+    private final String help;
+    private final LongAdder value = new LongAdder();
+
+    Counter(String name, String help) {
+        this.name = name;
+        this.help = help;
+    }
+
+    public void inc() {
+        value.increment();
+    }
+
+    public void inc(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    void writeTo(StringBuilder out) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        out.append(name).append(' ').append(value.sum()).append('\n');
+    }
+}
@@ -0,0 +1,35 @@
+package com.vortex.mythicforge.metrics;
+
+/**
+ * A value that is set by the main thread and read by the exporter, exported as a
+ * Prometheus gauge. Values are pushed rather than pulled so the exporter never has to
+ * touch non-thread-safe plugin state.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class Gauge {
+
+    private final String name;
+    private final String help;
+    private volatile long value;
+
+    Gauge(String name, String help) {
+        this.name = name;
+        this.help = help;
+    }
+
+    public void set(long value) {
+        this.value = value;
+    }
+
+    public long get() {
+        return value;
+    }
+
+    void writeTo(StringBuilder out) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" gauge\n");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+}
@@ -0,0 +1,71 @@
+package com.vortex.mythicforge.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram with fixed bucket bounds, exported as a Prometheus histogram in
+ * seconds. Observations are in nanoseconds; recording one is a short linear scan over the
+ * bounds and two {@link LongAdder} increments.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class Histogram {
+
+    private final String name;
+    private final String help;
+    private final long[] boundsNanos;
+    private final LongAdder[] buckets;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    /**
+     * @param boundsMillis The upper bounds of the buckets in milliseconds, in ascending order.
+     */
+    Histogram(String name, String help, double... boundsMillis) {
+        this.name = name;
+        this.help = help;
+        this.boundsNanos = new long[boundsMillis.length];
+        for (int i = 0; i < boundsMillis.length; i++) {
+            boundsNanos[i] = (long) (boundsMillis[i] * 1_000_000L);
+        }
+        // One extra bucket holds everything above the last bound (+Inf).
+        this.buckets = new LongAdder[boundsMillis.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void observe(long nanos) {
+        int index = 0;
+        while (index < boundsNanos.length && nanos > boundsNanos[index]) {
+            index++;
+        }
+        buckets[index].increment();
+        count.increment();
+        sumNanos.add(nanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    void writeTo(StringBuilder out) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" histogram\n");
+        long cumulative = 0;
+        for (int i = 0; i < boundsNanos.length; i++) {
+            cumulative += buckets[i].sum();
+            out.append(name).append("_bucket{le=\"").append(seconds(boundsNanos[i])).append("\"} ").append(cumulative).append('\n');
+        }
+        cumulative += buckets[boundsNanos.length].sum();
+        out.append(name).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+        out.append(name).append("_sum ").append(seconds(sumNanos.sum())).append('\n');
+        out.append(name).append("_count ").append(count.sum()).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.6f", nanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,49 @@
+package com.vortex.mythicforge.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A family of lock-free counters that share a name and differ by a single label,
+ * such as effect procs per effect type.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class LabeledCounter {
+
+    private final String name;
+    private final String help;
+    private final String labelName;
+    private final Map<String, LongAdder> values = new ConcurrentHashMap<>();
+
+    LabeledCounter(String name, String help, String labelName) {
+        this.name = name;
+        this.help = help;
+        this.labelName = labelName;
+    }
+
+    public void inc(String labelValue) {
+        // get() first so the common case never allocates a lambda or takes a bin lock.
+        LongAdder adder = values.get(labelValue);
+        if (adder == null) adder = values.computeIfAbsent(labelValue, k -> new LongAdder());
+        adder.increment();
+    }
+
+    public long get(String labelValue) {
+        LongAdder adder = values.get(labelValue);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    void writeTo(StringBuilder out) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        values.forEach((label, adder) -> out.append(name).append('{').append(labelName).append("=\"")
+                .append(escape(label)).append("\"} ").append(adder.sum()).append('\n'));
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
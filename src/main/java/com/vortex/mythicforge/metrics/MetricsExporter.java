@@ -0,0 +1,119 @@
+package com.vortex.mythicforge.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.utils.MythicScheduler;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * Exposes {@link MythicMetrics} to Prometheus, either through a small embedded HTTP
+ * endpoint (JDK HttpServer, localhost by default) or a text file that is rewritten
+ * periodically for node_exporter's textfile collector. Both run off the main thread.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class MetricsExporter {
+
+    private final MythicForge plugin;
+    private HttpServer httpServer;
+    private ExecutorService httpExecutor;
+    private MythicScheduler.Task fileDumpTask;
+
+    public MetricsExporter(MythicForge plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts the exporters enabled in the 'metrics' section of config.yml, stopping any
+     * previously running ones first. Safe to be called for reloads.
+     */
+    public void start() {
+        stop();
+        ConfigurationSection config = plugin.getConfig().getConfigurationSection("metrics");
+        if (config == null) return;
+
+        if (config.getBoolean("http.enabled", false)) {
+            startHttpServer(config.getString("http.bind_address", "127.0.0.1"), config.getInt("http.port", 9464));
+        }
+        if (config.getBoolean("file_dump.enabled", false)) {
+            File target = new File(plugin.getDataFolder(), config.getString("file_dump.file", "metrics.prom"));
+            long interval = Math.max(1, config.getLong("file_dump.interval_seconds", 60)) * 20L;
+            fileDumpTask = MythicScheduler.runAsyncTimer(plugin, () -> dumpToFile(target), interval, interval);
+        }
+    }
+
+    /**
+     * Stops all running exporters.
+     */
+    public void stop() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+        if (httpExecutor != null) {
+            httpExecutor.shutdownNow();
+            httpExecutor = null;
+        }
+        if (fileDumpTask != null) {
+            fileDumpTask.cancel();
+            fileDumpTask = null;
+        }
+    }
+
+    private void startHttpServer(String bindAddress, int port) {
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+            httpServer.createContext("/metrics", this::handleScrape);
+            httpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "MythicForge-Metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            httpServer.setExecutor(httpExecutor);
+            httpServer.start();
+            plugin.getLogger().info("Serving metrics on http://" + bindAddress + ":" + port + "/metrics");
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not start the metrics HTTP endpoint on " + bindAddress + ":" + port, e);
+            httpServer = null;
+        }
+    }
+
+    private void handleScrape(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equalsIgnoreCase("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = MythicMetrics.render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private void dumpToFile(File target) {
+        // Write to a temporary file and move it into place so scrapers never read a partial file.
+        File temp = new File(target.getParentFile(), target.getName() + ".tmp");
+        try {
+            Files.writeString(temp.toPath(), MythicMetrics.render(), StandardCharsets.UTF_8);
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not write metrics file " + target.getName(), e);
+        }
+    }
+}
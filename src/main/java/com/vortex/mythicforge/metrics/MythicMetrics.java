@@ -0,0 +1,111 @@
+package com.vortex.mythicforge.metrics;
+
+/**
+ * A final, static registry of every metric MythicForge exposes. All metrics are lock-free,
+ * so recording from the main thread costs a few nanoseconds, and the exporter can render
+ * them from its own thread at any time.
+ *
+ * @author Vortex
+ * @version 1.0.2
+ */
+public final class MythicMetrics {
+
+    // --- Combat ---
+    public static final Counter COMBAT_EVENTS = new Counter("mythicforge_combat_events_total",
+            "Entity damage events seen by MythicForge.");
+    public static final Counter COMBAT_EVENTS_REJECTED = new Counter("mythicforge_combat_events_rejected_total",
+            "Combat events where no participant had any MythicForge gear or effects.");
+    public static final LabeledCounter EFFECT_PROCS = new LabeledCounter("mythicforge_effect_procs_total",
+            "Effects executed, by effect type.", "type");
+    public static final Gauge COOLDOWN_ENTRIES = new Gauge("mythicforge_cooldown_entries",
+            "Cooldown entries currently held in memory.");
+    public static final Gauge PLAYER_SESSIONS = new Gauge("mythicforge_player_sessions",
+            "Player sessions currently held in memory; equal to the players online.");
+
+    // --- Cosmetics ---
+    public static final Counter COSMETIC_PACKETS = new Counter("mythicforge_cosmetic_packets_total",
+            "Sound and particle packets sent for SOUND and PARTICLE effects.");
+    public static final Counter COSMETICS_DROPPED = new Counter("mythicforge_cosmetics_dropped_total",
+            "Cosmetic effects cut short by the per-tick packet budget.");
+
+    public static final Counter AURA_PACKETS = new Counter("mythicforge_aura_packets_total",
+            "Particle packets sent for AMBIENT_PARTICLE auras.");
+    public static final Gauge AURA_WEARERS = new Gauge("mythicforge_aura_wearers",
+            "Players currently wearing a particle aura.");
+
+    // --- Timers ---
+    public static final Gauge TIMERS_PENDING = new Gauge("mythicforge_timers_pending",
+            "TICK triggers, delayed effects and GUI updates waiting in the timing wheel.");
+
+    // --- Tick pressure ---
+    public static final Gauge QUALITY_LEVEL = new Gauge("mythicforge_quality_level",
+            "The governor's quality level: 0 full, 1 thin particles, 2 no cosmetics, 3 slow passives.");
+    public static final Gauge TICK_WORK_MICROS = new Gauge("mythicforge_tick_work_microseconds",
+            "Smoothed time MythicForge spends per tick, in microseconds.");
+    public static final Gauge DEFERRED_WORK = new Gauge("mythicforge_deferred_work",
+            "Non-critical work waiting for a tick with time to spare.");
+
+    // --- Mining ---
+    public static final Counter MINED_BLOCKS = new Counter("mythicforge_mined_blocks_total",
+            "Extra blocks broken by MINE effects such as AREA and VEIN.");
+
+    // --- Passive effects ---
+    public static final Histogram PASSIVE_TASK_DURATION = new Histogram("mythicforge_passive_task_duration_seconds",
+            "Duration of one ActiveEffectTask run applying a player's passive effects.", 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 25, 50);
+
+    // --- GUIs & Shops ---
+    public static final LabeledCounter GUI_OPENS = new LabeledCounter("mythicforge_gui_opens_total",
+            "GUIs opened, by GUI type.", "gui");
+    public static final LabeledCounter SHOP_PURCHASES = new LabeledCounter("mythicforge_shop_purchases_total",
+            "Successful shop purchases, by shop.", "shop");
+    public static final Counter SHOP_REFRESHES = new Counter("mythicforge_shop_refreshes_total",
+            "Rotating shop stock refreshes.");
+
+    // --- Items ---
+    public static final Counter ITEMS_REFRESHED = new Counter("mythicforge_items_refreshed_total",
+            "Items whose lore was re-rendered because it was older than the loaded content.");
+
+    // --- Reloads ---
+    public static final Histogram RELOAD_DURATION = new Histogram("mythicforge_reload_duration_seconds",
+            "Duration of a full content reload.", 10, 50, 100, 250, 500, 1000, 2500, 5000);
+
+    // --- Caches ---
+    public static final LabeledCounter CACHE_HITS = new LabeledCounter("mythicforge_cache_hits_total",
+            "Cache lookups answered from the cache, by cache.", "cache");
+    public static final LabeledCounter CACHE_MISSES = new LabeledCounter("mythicforge_cache_misses_total",
+            "Cache lookups that had to compute or reject, by cache.", "cache");
+
+    private MythicMetrics() {}
+
+    /**
+     * Renders every metric in the Prometheus text exposition format.
+     *
+     * @return The rendered metrics.
+     */
+    public static String render() {
+        StringBuilder out = new StringBuilder(4096);
+        COMBAT_EVENTS.writeTo(out);
+        COMBAT_EVENTS_REJECTED.writeTo(out);
+        EFFECT_PROCS.writeTo(out);
+        COOLDOWN_ENTRIES.writeTo(out);
+        PLAYER_SESSIONS.writeTo(out);
+        COSMETIC_PACKETS.writeTo(out);
+        COSMETICS_DROPPED.writeTo(out);
+        AURA_PACKETS.writeTo(out);
+        AURA_WEARERS.writeTo(out);
+        TIMERS_PENDING.writeTo(out);
+        QUALITY_LEVEL.writeTo(out);
+        TICK_WORK_MICROS.writeTo(out);
+        DEFERRED_WORK.writeTo(out);
+        MINED_BLOCKS.writeTo(out);
+        PASSIVE_TASK_DURATION.writeTo(out);
+        GUI_OPENS.writeTo(out);
+        SHOP_PURCHASES.writeTo(out);
+        SHOP_REFRESHES.writeTo(out);
+        ITEMS_REFRESHED.writeTo(out);
+        RELOAD_DURATION.writeTo(out);
+        CACHE_HITS.writeTo(out);
+        CACHE_MISSES.writeTo(out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,263 @@
+package com.vortex.mythicforge.recording;
+
+import com.google.gson.Gson;
+import com.vortex.mythicforge.MythicForge;
+import com.vortex.mythicforge.managers.ProjectileManager.ProjectileSnapshot;
+import com.vortex.mythicforge.recording.CombatTrace.CombatRecord;
+import com.vortex.mythicforge.recording.CombatTrace.Loadout;
+import com.vortex.mythicforge.recording.CombatTrace.Piece;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Records combat events into rotating trace files so that production fights can be replayed
+ * offline. The main thread only captures an immutable record and hands it to a bounded
+ * queue; a background thread encodes and writes it. When the queue is full, events are
+ * dropped rather than stalling the server.
+ * <p>
+ * Every recorded event gets its own RNG seed, which the EffectProcessor uses for all of its
+ * rolls, so a replay makes exactly the same decisions as the live server did.
+ * <p>
+ * Stopping never waits on the writer: it finishes writing what is queued on its own thread
+ * and logs the final counts. Only {@link #shutdown()} waits for it, and only briefly.
+ *
+ * @author Vortex
+ * @version 1.0.1
+ */
+public final class CombatRecorder {
+
+    // How long the plugin's shutdown waits for queued events to reach the disk.
+    private static final long SHUTDOWN_WAIT_MILLIS = 2000L;
+
+    private final MythicForge plugin;
+    private final NamespacedKey enchantsKey;
+    private final NamespacedKey socketsKey;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder recorded = new LongAdder();
+    private final SplittableRandom seeds = new SplittableRandom();
+    private final Gson gson = new Gson();
+
+    private volatile boolean recording = false;
+    private BlockingQueue<CombatRecord> queue;
+    private Thread writerThread;
+    // Tells the current writer to exit once its queue is drained. Each writer gets its own,
+    // so a writer still draining an old recording never sees the flag of a new one.
+    private AtomicBoolean writerStop;
+
+    public CombatRecorder(MythicForge plugin) {
+        this.plugin = plugin;
+        // Same keys as ItemManager; the raw JSON is recorded so replays can rebuild the items.
+        this.enchantsKey = new NamespacedKey(plugin, "mythic_enchants_json");
+        this.socketsKey = new NamespacedKey(plugin, "mythic_sockets_json");
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Starts a new recording into the 'recordings' folder using the 'combat_recorder'
+     * settings from config.yml.
+     *
+     * @return false if a recording is already running, or the last one is still being written.
+     */
+    public boolean start() {
+        if (recording || (writerThread != null && writerThread.isAlive())) return false;
+        File directory = new File(plugin.getDataFolder(), "recordings");
+        long maxFileBytes = plugin.getConfig().getLong("combat_recorder.max_file_size_mb", 64) * 1024 * 1024;
+        int maxFiles = Math.max(1, plugin.getConfig().getInt("combat_recorder.max_files", 10));
+        int capacity = Math.max(256, plugin.getConfig().getInt("combat_recorder.queue_capacity", 16384));
+
+        BlockingQueue<CombatRecord> writerQueue = new ArrayBlockingQueue<>(capacity);
+        AtomicBoolean stop = new AtomicBoolean();
+        queue = writerQueue;
+        writerStop = stop;
+        recorded.reset();
+        dropped.reset();
+        writerThread = new Thread(() -> writeLoop(writerQueue, stop, directory, maxFileBytes, maxFiles), "MythicForge-CombatRecorder");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        recording = true;
+        plugin.getLogger().info("Combat recording started.");
+        return true;
+    }
+
+    /**
+     * Stops the current recording without waiting. The writer finishes writing what is
+     * already queued in the background and then logs the final counts.
+     */
+    public void stop() {
+        if (!recording) return;
+        recording = false;
+        writerStop.set(true);
+    }
+
+    /**
+     * Stops the current recording and waits a bounded time for the writer to flush what it
+     * has queued, so the trace is complete when the server shuts down. Called on disable.
+     */
+    public void shutdown() {
+        Thread writer = writerThread;
+        stop();
+        if (writer == null) return;
+        try {
+            writer.join(SHUTDOWN_WAIT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            plugin.getLogger().warning("The combat recorder is still writing; the last trace file may be incomplete.");
+        }
+    }
+
+    /**
+     * Captures a combat event and queues it for writing. Must be called from the thread that
+     * fires the event, before the event is processed.
+     *
+     * @param event The combat event about to be processed.
+     * @return The RNG seed the event must be processed with.
+     */
+    public long record(EntityDamageByEntityEvent event) {
+        long seed;
+        // Combat in different regions is recorded concurrently on Folia.
+        synchronized (seeds) {
+            seed = seeds.nextLong();
+        }
+        CombatRecord record = new CombatRecord(
+                Bukkit.getCurrentTick(),
+                event.getDamager().getType().name(),
+                event.getEntity().getType().name(),
+                captureLoadout(event.getDamager()),
+                captureLoadout(event.getEntity()),
+                (float) event.getDamage(),
+                event.getCause().name(),
+                seed);
+        if (!queue.offer(record)) dropped.increment();
+        return seed;
+    }
+
+    private Loadout captureLoadout(Entity entity) {
+        if (entity instanceof Projectile) return captureShot((Projectile) entity);
+        if (!(entity instanceof LivingEntity)) return new Loadout(List.of());
+        EntityEquipment equipment = ((LivingEntity) entity).getEquipment();
+        if (equipment == null) return new Loadout(List.of());
+        // The same slots, in the same order, as EffectProcessor reads them.
+        List<Piece> pieces = new ArrayList<>(5);
+        for (ItemStack item : equipment.getArmorContents()) pieces.add(capturePiece(item));
+        pieces.add(capturePiece(equipment.getItemInMainHand()));
+        return new Loadout(List.copyOf(pieces));
+    }
+
+    /**
+     * Captures the loadout a projectile was fired with: the shooter's armor, which decides its
+     * set bonus, and a bow carrying the enchantments of the projectile's snapshot. Projectiles
+     * without a snapshot have an empty loadout, just as they fire no effects.
+     */
+    private Loadout captureShot(Projectile projectile) {
+        ProjectileSnapshot snapshot = plugin.getProjectileManager().read(projectile);
+        if (snapshot == null || !(projectile.getShooter() instanceof LivingEntity)) return new Loadout(List.of());
+        List<Piece> pieces = new ArrayList<>(5);
+        // Only players have set bonuses, so a mob's armor is not recorded.
+        EntityEquipment equipment = projectile.getShooter() instanceof Player ? ((Player) projectile.getShooter()).getEquipment() : null;
+        if (equipment != null) {
+            for (ItemStack item : equipment.getArmorContents()) pieces.add(capturePiece(item));
+        } else {
+            for (int i = 0; i < 4; i++) pieces.add(new Piece(null, null, null));
+        }
+        pieces.add(new Piece("BOW", snapshot.enchants().isEmpty() ? null : gson.toJson(snapshot.enchants()), null));
+        return new Loadout(List.copyOf(pieces));
+    }
+
+    private Piece capturePiece(ItemStack item) {
+        if (item == null || item.getType().isAir()) return new Piece(null, null, null);
+        if (!item.hasItemMeta()) return new Piece(item.getType().name(), null, null);
+        ItemMeta meta = item.getItemMeta();
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        return new Piece(item.getType().name(),
+                pdc.get(enchantsKey, PersistentDataType.STRING),
+                pdc.get(socketsKey, PersistentDataType.STRING));
+    }
+
+    private void writeLoop(BlockingQueue<CombatRecord> queue, AtomicBoolean stop, File directory, long maxFileBytes, int maxFiles) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            plugin.getLogger().severe("Could not create " + directory.getPath() + "; combat recording aborted.");
+            recording = false;
+            return;
+        }
+        String session = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        int part = 0;
+        CombatTrace.Writer writer = null;
+        try {
+            while (true) {
+                CombatRecord record = queue.poll(250, TimeUnit.MILLISECONDS);
+                if (record == null) {
+                    // The queue is drained, so a requested stop can be honoured now.
+                    if (stop.get()) break;
+                    // Idle: make sure what was recorded so far is on disk.
+                    if (writer != null) writer.flush();
+                    continue;
+                }
+                if (writer == null || writer.size() >= maxFileBytes) {
+                    if (writer != null) writer.close();
+                    File file = new File(directory, "combat-" + session + "-" + (part++) + CombatTrace.FILE_EXTENSION);
+                    writer = new CombatTrace.Writer(file, System.currentTimeMillis());
+                    pruneOldFiles(directory, maxFiles);
+                }
+                writer.write(record);
+                recorded.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Combat recording failed and was stopped.", e);
+            recording = false;
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    plugin.getLogger().log(Level.WARNING, "Could not close the combat trace file.", e);
+                }
+            }
+            plugin.getLogger().info("Combat recording stopped: " + recorded.sum() + " events recorded, " + dropped.sum() + " dropped.");
+        }
+    }
+
+    private void pruneOldFiles(File directory, int maxFiles) {
+        File[] traces = directory.listFiles((dir, name) -> name.endsWith(CombatTrace.FILE_EXTENSION));
+        if (traces == null || traces.length <= maxFiles) return;
+        Arrays.sort(traces, Comparator.comparingLong(File::lastModified).thenComparing(File::getName));
+        for (int i = 0; i < traces.length - maxFiles; i++) {
+            if (!traces[i].delete()) plugin.getLogger().warning("Could not delete old combat trace " + traces[i].getName());
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.vortex.mythicforge.recording;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The compact binary format of recorded combat traces. A trace starts with a small header,
+ * followed by a stream of tagged records. Strings and loadouts are written once, the first
+ * time they appear in a file, and referenced by a numeric ID afterwards, so a long fight
+ * between the same few players costs a couple of dozen bytes per event.
+ * <pre>
+ * header:  int magic "MFRC", short version, long recording start (epoch millis)
+ * STRING:  varint id, UTF value
+ * LOADOUT: varint id, varint piece count, per piece: varint material, varint enchants json, varint sockets json
+ * COMBAT:  varint tick, varint attacker type, varint defender type, varint attacker loadout,
+ *          varint defender loadout, float damage, varint cause, long rng seed
+ * </pre>
+ * String ID 0 is reserved for "absent".
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class CombatTrace {
+
+    public static final String FILE_EXTENSION = ".mftrace";
+    private static final int MAGIC = 0x4D465243;
+    private static final short VERSION = 1;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_LOADOUT = 2;
+    private static final byte TAG_COMBAT = 3;
+
+    private CombatTrace() {}
+
+    /** One equipped item, as far as MythicForge is concerned. */
+    public record Piece(String material, String enchantsJson, String socketsJson) {}
+
+    /** The equipment an entity had when a combat event happened, in EffectProcessor's slot order. */
+    public record Loadout(List<Piece> pieces) {}
+
+    /** A single recorded combat event. */
+    public record CombatRecord(int tick, String attackerType, String defenderType, Loadout attackerLoadout,
+                               Loadout defenderLoadout, float damage, String cause, long seed) {}
+
+    /**
+     * Encodes combat records into a trace file. Not thread-safe; owned by the recorder's
+     * writer thread.
+     */
+    public static final class Writer implements Closeable {
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<Loadout, Integer> loadouts = new HashMap<>();
+
+        public Writer(File file, long startedAt) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(startedAt);
+        }
+
+        public void write(CombatRecord record) throws IOException {
+            int attackerType = stringId(record.attackerType());
+            int defenderType = stringId(record.defenderType());
+            int attackerLoadout = loadoutId(record.attackerLoadout());
+            int defenderLoadout = loadoutId(record.defenderLoadout());
+            int cause = stringId(record.cause());
+            out.writeByte(TAG_COMBAT);
+            writeVarInt(out, record.tick());
+            writeVarInt(out, attackerType);
+            writeVarInt(out, defenderType);
+            writeVarInt(out, attackerLoadout);
+            writeVarInt(out, defenderLoadout);
+            out.writeFloat(record.damage());
+            writeVarInt(out, cause);
+            out.writeLong(record.seed());
+        }
+
+        /** @return The number of bytes written to this file so far, including buffered ones. */
+        public int size() {
+            return out.size();
+        }
+
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        private int stringId(String value) throws IOException {
+            if (value == null) return 0;
+            Integer id = strings.get(value);
+            if (id != null) return id;
+            id = strings.size() + 1;
+            strings.put(value, id);
+            out.writeByte(TAG_STRING);
+            writeVarInt(out, id);
+            out.writeUTF(value);
+            return id;
+        }
+
+        private int loadoutId(Loadout loadout) throws IOException {
+            Integer id = loadouts.get(loadout);
+            if (id != null) return id;
+            int[] pieceIds = new int[loadout.pieces().size() * 3];
+            for (int i = 0; i < loadout.pieces().size(); i++) {
+                Piece piece = loadout.pieces().get(i);
+                pieceIds[i * 3] = stringId(piece.material());
+                pieceIds[i * 3 + 1] = stringId(piece.enchantsJson());
+                pieceIds[i * 3 + 2] = stringId(piece.socketsJson());
+            }
+            id = loadouts.size();
+            loadouts.put(loadout, id);
+            out.writeByte(TAG_LOADOUT);
+            writeVarInt(out, id);
+            writeVarInt(out, loadout.pieces().size());
+            for (int pieceId : pieceIds) writeVarInt(out, pieceId);
+            return id;
+        }
+    }
+
+    /**
+     * Decodes a trace file back into combat records.
+     */
+    public static final class Reader implements Closeable {
+        private final DataInputStream in;
+        private final long startedAt;
+        private final Map<Integer, String> strings = new HashMap<>();
+        private final Map<Integer, Loadout> loadouts = new HashMap<>();
+
+        public Reader(File file) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 64 * 1024));
+            if (in.readInt() != MAGIC) throw new IOException(file.getName() + " is not a MythicForge combat trace.");
+            short version = in.readShort();
+            if (version != VERSION) throw new IOException("Unsupported combat trace version " + version + " in " + file.getName());
+            this.startedAt = in.readLong();
+        }
+
+        public long getStartedAt() {
+            return startedAt;
+        }
+
+        /**
+         * @return The next combat record, or null at the end of the trace.
+         */
+        public CombatRecord next() throws IOException {
+            while (true) {
+                int tag = in.read();
+                switch (tag) {
+                    case -1:
+                        return null;
+                    case TAG_STRING:
+                        strings.put(readVarInt(in), in.readUTF());
+                        break;
+                    case TAG_LOADOUT:
+                        int id = readVarInt(in);
+                        int count = readVarInt(in);
+                        List<Piece> pieces = new ArrayList<>(count);
+                        for (int i = 0; i < count; i++) {
+                            pieces.add(new Piece(string(readVarInt(in)), string(readVarInt(in)), string(readVarInt(in))));
+                        }
+                        loadouts.put(id, new Loadout(List.copyOf(pieces)));
+                        break;
+                    case TAG_COMBAT:
+                        return new CombatRecord(readVarInt(in), string(readVarInt(in)), string(readVarInt(in)),
+                                loadouts.get(readVarInt(in)), loadouts.get(readVarInt(in)), in.readFloat(),
+                                string(readVarInt(in)), in.readLong());
+                    default:
+                        throw new IOException("Corrupt combat trace: unknown record tag " + tag);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private String string(int id) {
+            return id == 0 ? null : strings.get(id);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
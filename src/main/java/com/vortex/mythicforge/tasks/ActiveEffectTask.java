@@ -3,79 +3,125 @@ package com.vortex.mythicforge.tasks;
 import com.vortex.mythicforge.MythicForge;
 import com.vortex.mythicforge.enchants.Rune;
 import com.vortex.mythicforge.enchants.SetBonus;
+import com.vortex.mythicforge.jfr.PassiveEffectPassEvent;
+import com.vortex.mythicforge.managers.LoadoutManager.LoadoutSnapshot;
+import com.vortex.mythicforge.managers.SessionManager.PlayerSession;
+import com.vortex.mythicforge.metrics.MythicMetrics;
+import com.vortex.mythicforge.utils.EffectProcessor;
+import com.vortex.mythicforge.utils.MythicProfiler;
+import com.vortex.mythicforge.utils.MythicProfiler.Category;
+import com.vortex.mythicforge.utils.MythicScheduler;
 import org.bukkit.Bukkit;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.attribute.AttributeInstance;
 import org.bukkit.attribute.AttributeModifier;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.PlayerInventory;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.*;
 
 /**
- * Periodically scans all online players' equipment to apply passive effects from Runes and Set Bonuses.
+ * Periodically scans every online player's equipment to apply passive effects from Runes and Set Bonuses.
  * This is the core task that brings the advanced RPG systems to life.
+ * <p>
+ * Each player gets their own repeating task, run by whichever thread owns the player: the
+ * main thread on Paper, the player's region on Folia. The task ends when the player leaves.
+ * While the server is under heavy tick pressure, the TickGovernor has it skip runs.
  *
  * @author Vortex
- * @version 1.0.3
+ * @version 1.0.8
  */
-public final class ActiveEffectTask extends BukkitRunnable {
+public final class ActiveEffectTask {
+
+    private static final long PERIOD_TICKS = 20L;
 
     private final MythicForge plugin;
-    // Tracks which passive potion effects were applied last tick to handle removal.
-    private final Map<UUID, Set<PotionEffectType>> lastAppliedPotions = new HashMap<>();
 
     public ActiveEffectTask(MythicForge plugin) {
         this.plugin = plugin;
     }
 
-    @Override
-    public void run() {
+    /**
+     * Starts the passive effects for every player already online, and the global task that
+     * publishes the cooldown gauge.
+     *
+     * @param initialDelay The delay in ticks before the first run.
+     */
+    public void start(long initialDelay) {
         for (Player player : Bukkit.getOnlinePlayers()) {
-            try {
-                // These maps will aggregate all effects from all sources for this player.
-                final Map<PotionEffectType, Integer> passivePotions = new HashMap<>();
-                final Map<Attribute, Double> attributeModifiers = new HashMap<>();
+            start(player, initialDelay);
+        }
+        MythicScheduler.runGlobalTimer(plugin,
+                () -> MythicMetrics.COOLDOWN_ENTRIES.set(EffectProcessor.getCooldownEntryCount()),
+                initialDelay, PERIOD_TICKS);
+    }
 
-                gatherAllPassiveEffects(player, passivePotions, attributeModifiers);
-                applyAllEffects(player, passivePotions, attributeModifiers);
+    /**
+     * Starts applying a player's passive effects. Called when the player joins.
+     *
+     * @param player       The player.
+     * @param initialDelay The delay in ticks before the first run.
+     */
+    public void start(Player player, long initialDelay) {
+        int[] skipped = new int[1];
+        MythicScheduler.runForTimer(plugin, player, () -> {
+            if (++skipped[0] < plugin.getTickGovernor().getPassiveCadence()) return;
+            skipped[0] = 0;
+            run(player);
+        }, null, initialDelay, PERIOD_TICKS);
+    }
 
-            } catch (Exception e) {
-                // Catch any unexpected errors for a single player without stopping the task for others.
-                plugin.getLogger().severe("Error updating active effects for player " + player.getName() + ": " + e.getMessage());
-                e.printStackTrace();
-            }
+    private void run(Player player) {
+        boolean profiled = MythicProfiler.shouldSample();
+        long start = System.nanoTime();
+        PassiveEffectPassEvent jfrEvent = new PassiveEffectPassEvent();
+        jfrEvent.begin();
+        try {
+            // These maps will aggregate all effects from all sources for this player.
+            final Map<PotionEffectType, Integer> passivePotions = new HashMap<>();
+            final Map<Attribute, Double> attributeModifiers = new HashMap<>();
+            final Set<String> auras = new LinkedHashSet<>();
+
+            gatherAllPassiveEffects(player, passivePotions, attributeModifiers, auras);
+            applyAllEffects(player, passivePotions, attributeModifiers);
+            plugin.getAuraRenderer().setAuras(player, auras);
+
+        } catch (Exception e) {
+            // Catch any unexpected errors so the player's task keeps running.
+            plugin.getLogger().severe("Error updating active effects for player " + player.getName() + ": " + e.getMessage());
+            e.printStackTrace();
         }
+        long elapsed = System.nanoTime() - start;
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.player = player.getName();
+            jfrEvent.commit();
+        }
+        if (profiled) MythicProfiler.record(Category.TASK, "ActiveEffectTask", elapsed);
+        MythicMetrics.PASSIVE_TASK_DURATION.observe(elapsed);
+        plugin.getTickGovernor().recordWork(elapsed);
     }
 
-    private void gatherAllPassiveEffects(Player player, Map<PotionEffectType, Integer> potions, Map<Attribute, Double> attributes) {
-        List<ItemStack> equippedItems = getEquippedItems(player);
+    private void gatherAllPassiveEffects(Player player, Map<PotionEffectType, Integer> potions, Map<Attribute, Double> attributes, Set<String> auras) {
+        // Rebuilding the snapshot here also keeps it fresh for placeholders and other readers.
+        LoadoutSnapshot snapshot = plugin.getLoadoutManager().refresh(player);
 
         // 1. Gather effects from Runes
-        for (ItemStack item : equippedItems) {
-            if (item == null || !item.hasItemMeta()) continue;
-            List<String> socketedRunes = plugin.getItemManager().getSockets(item.getItemMeta());
-            for (String runeId : socketedRunes) {
-                Rune rune = plugin.getRuneManager().getRuneById(runeId);
-                if (rune != null) {
-                    parseEffects(rune.getEffects(), potions, attributes);
-                }
+        for (String runeId : snapshot.socketedRunes()) {
+            Rune rune = plugin.getRuneManager().getRuneById(runeId);
+            if (rune != null) {
+                parseEffects(rune.getEffects(), potions, attributes, auras);
             }
         }
 
         // 2. Gather effects from Set Bonuses
-        List<String> equippedEnchantIds = getEnchantIdsFromItems(equippedItems);
         for (SetBonus set : plugin.getSetBonusManager().getAllSets()) {
-            long equippedCount = set.getRequiredEnchantments().stream().filter(equippedEnchantIds::contains).count();
-            if (equippedCount > 0) {
+            Integer equippedCount = snapshot.setPieceCounts().get(set.getSetId());
+            if (equippedCount != null) {
                 // CORRECTED: Use the new getBonusTierFor method and handle the Optional result.
-                set.getBonusTierFor((int) equippedCount).ifPresent(tier -> 
-                    parseEffects(tier.getPassiveEffects(), potions, attributes)
+                set.getBonusTierFor(equippedCount).ifPresent(tier ->
+                    parseEffects(tier.getPassiveEffects(), potions, attributes, auras)
                 );
             }
         }
@@ -112,7 +158,9 @@ public final class ActiveEffectTask extends BukkitRunnable {
     }
     
     private void applyPotionEffects(Player player, Map<PotionEffectType, Integer> effects) {
-        Set<PotionEffectType> lastEffects = lastAppliedPotions.getOrDefault(player.getUniqueId(), new HashSet<>());
+        // The session remembers which passive potions were applied last run, to remove them once gone.
+        PlayerSession session = plugin.getSessionManager().get(player);
+        Set<PotionEffectType> lastEffects = session.getAppliedPotions();
         Set<PotionEffectType> currentEffects = effects.keySet();
 
         for (PotionEffectType oldEffect : lastEffects) {
@@ -121,17 +169,24 @@ public final class ActiveEffectTask extends BukkitRunnable {
             }
         }
 
+        // Lasts two runs past the next one, so effects do not flicker when runs are skipped.
+        int duration = (int) PERIOD_TICKS * (plugin.getTickGovernor().getPassiveCadence() + 2);
         effects.forEach((type, amplifier) -> 
-            player.addPotionEffect(new PotionEffect(type, 60, amplifier, true, false, false))
+            player.addPotionEffect(new PotionEffect(type, duration, amplifier, true, false, false))
         );
         
-        lastAppliedPotions.put(player.getUniqueId(), currentEffects);
+        session.setAppliedPotions(currentEffects);
     }
     
-    private void parseEffects(List<String> effects, Map<PotionEffectType, Integer> potions, Map<Attribute, Double> attributes) {
+    private void parseEffects(List<String> effects, Map<PotionEffectType, Integer> potions, Map<Attribute, Double> attributes, Set<String> auras) {
         for (String effect : effects) {
             String[] parts = effect.split(":");
             try {
+                if (parts[0].equalsIgnoreCase("AMBIENT_PARTICLE")) {
+                    // Rendered by the AuraRenderer; the arguments may contain colons of their own.
+                    auras.add(effect.substring(effect.indexOf(':') + 1));
+                    continue;
+                }
                 if (parts[0].equalsIgnoreCase("POTION")) {
                     PotionEffectType type = PotionEffectType.getByName(parts[1].toUpperCase());
                     int amplifier = Integer.parseInt(parts[2]);
@@ -145,24 +200,6 @@ public final class ActiveEffectTask extends BukkitRunnable {
         }
     }
 
-    private List<ItemStack> getEquippedItems(Player player) {
-        PlayerInventory inv = player.getInventory();
-        List<ItemStack> items = new ArrayList<>(Arrays.asList(inv.getArmorContents()));
-        items.add(inv.getItemInMainHand());
-        items.removeIf(Objects::isNull);
-        return items;
-    }
-    
-    private List<String> getEnchantIdsFromItems(List<ItemStack> items) {
-        Set<String> ids = new HashSet<>();
-        for (ItemStack item : items) {
-            if (item != null && item.hasItemMeta()) {
-                ids.addAll(plugin.getItemManager().getEnchants(item.getItemMeta()).keySet());
-            }
-        }
-        return new ArrayList<>(ids);
-    }
-
     private boolean isModifiableAttribute(Attribute attribute) {
         switch (attribute) {
             case GENERIC_MAX_HEALTH:
@@ -2,7 +2,14 @@ package com.vortex.mythicforge.utils;
 
 import com.vortex.mythicforge.MythicForge;
 import com.vortex.mythicforge.enchants.CustomEnchant;
+import com.vortex.mythicforge.jfr.CombatTriggerEvent;
+import com.vortex.mythicforge.managers.AoeManager.TargetGroup;
+import com.vortex.mythicforge.managers.MiningManager.MiningOrder;
+import com.vortex.mythicforge.managers.ProjectileManager;
+import com.vortex.mythicforge.managers.ProjectileManager.ProjectileSnapshot;
 import com.vortex.mythicforge.managers.SetBonusManager.ActiveBonus;
+import com.vortex.mythicforge.metrics.MythicMetrics;
+import com.vortex.mythicforge.utils.MythicProfiler.Category;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
@@ -11,8 +18,11 @@ import org.bukkit.attribute.AttributeInstance;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
 import org.bukkit.event.Event;
+import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityShootBowEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
 import org.bukkit.potion.PotionEffect;
@@ -21,25 +31,31 @@ import org.bukkit.potion.PotionEffectType;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.Level;
+import java.util.random.RandomGenerator;
 
 /**
  * A final, static utility class that processes and executes all triggered effects
  * from enchantments, runes, and set bonuses. This is the core scripting engine.
  *
  * @author Vortex
- * @version 1.0.4
+ * @version 1.1.3
  */
 public final class EffectProcessor {
 
     private static final ScriptEngine scriptEngine = new ScriptEngineManager().getEngineByName("JavaScript");
-    private static final Map<UUID, Map<String, Long>> cooldowns = new HashMap<>();
+    // Cooldowns of mobs; players keep theirs in their session. Concurrent, as on Folia
+    // entities in different regions proc their effects at the same time.
+    private static final Map<UUID, Map<String, Long>> mobCooldowns = new ConcurrentHashMap<>();
 
     private EffectProcessor() {}
 
     public enum TriggerType {
-        ATTACK, DEFEND
+        ATTACK, DEFEND, MINE, SHOOT_BOW, PROJECTILE_HIT,
+        // Fired by the TickTriggerManager every 'interval' ticks while worn, not by an event.
+        TICK
     }
 
     /**
@@ -47,126 +63,410 @@ public final class EffectProcessor {
      * @param event The EntityDamageByEntityEvent to process.
      */
     public static void processCombatEvent(EntityDamageByEntityEvent event) {
+        processCombatEvent(event, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Processes a combat event with a specific source of randomness for all chance rolls.
+     * Passing a generator seeded per event makes the outcome reproducible, which the
+     * combat recorder and its replay tool rely on.
+     * @param event  The EntityDamageByEntityEvent to process.
+     * @param random The generator used for every roll made while processing this event.
+     */
+    public static void processCombatEvent(EntityDamageByEntityEvent event, RandomGenerator random) {
+        // The only profiler cost while it is stopped: one volatile read per event.
+        boolean profiled = MythicProfiler.shouldSample();
+        MythicMetrics.COMBAT_EVENTS.inc();
+        boolean handled = false;
         if (event.getDamager() instanceof LivingEntity) {
-            processAllEffectsFor((LivingEntity) event.getDamager(), TriggerType.ATTACK, event);
+            handled = processAllEffectsFor((LivingEntity) event.getDamager(), TriggerType.ATTACK, event, null, null, random, profiled);
+        } else if (event.getDamager() instanceof Projectile) {
+            handled = processProjectileHit((Projectile) event.getDamager(), event, random, profiled);
         }
         if (event.getEntity() instanceof LivingEntity) {
-            processAllEffectsFor((LivingEntity) event.getEntity(), TriggerType.DEFEND, event);
+            handled |= processAllEffectsFor((LivingEntity) event.getEntity(), TriggerType.DEFEND, event, null, null, random, profiled);
+        }
+        if (!handled) MythicMetrics.COMBAT_EVENTS_REJECTED.inc();
+    }
+
+    /**
+     * The main entry point for processing block breaks. MINE effects only describe which
+     * extra blocks to break; the MiningManager breaks them over the following ticks.
+     * @param event The BlockBreakEvent to process.
+     */
+    public static void processMineEvent(BlockBreakEvent event) {
+        boolean profiled = MythicProfiler.shouldSample();
+        MiningOrder order = new MiningOrder();
+        processAllEffectsFor(event.getPlayer(), TriggerType.MINE, event, null, order, ThreadLocalRandom.current(), profiled);
+        MythicForge.getInstance().getMiningManager().submit(event, order);
+    }
+
+    /**
+     * The main entry point for processing bow and crossbow shots. The shot's loadout is
+     * captured once, used for SHOOT_BOW effects and, if it has PROJECTILE_HIT effects,
+     * stored on the projectile for when it lands.
+     * @param event The EntityShootBowEvent to process.
+     */
+    public static void processShootEvent(EntityShootBowEvent event) {
+        LivingEntity shooter = event.getEntity();
+        ProjectileManager projectiles = MythicForge.getInstance().getProjectileManager();
+        ProjectileSnapshot snapshot = projectiles.capture(shooter, event.getBow());
+        if (snapshot.enchants().isEmpty() && snapshot.activeBonus() == null) return;
+
+        boolean profiled = MythicProfiler.shouldSample();
+        processAllEffectsFor(shooter, TriggerType.SHOOT_BOW, event, snapshot, null, ThreadLocalRandom.current(), profiled);
+        if (event.getProjectile() instanceof Projectile && snapshot.uses(TriggerType.PROJECTILE_HIT)) {
+            projectiles.attach((Projectile) event.getProjectile(), shooter, event.getBow());
         }
     }
 
+    /**
+     * The entry point for TICK effect groups, called by their timer every interval.
+     * @param entity      The entity wearing the group.
+     * @param effectGroup The TICK effect group.
+     * @param source      The enchant ID or set the group comes from, for the profiler.
+     */
+    public static void processTickGroup(LivingEntity entity, Map<?, ?> effectGroup, String source) {
+        boolean profiled = MythicProfiler.shouldSample();
+        long start = profiled ? System.nanoTime() : 0L;
+        processGroup(effectGroup, entity, null, null, ThreadLocalRandom.current(), profiled);
+        if (profiled) {
+            long elapsed = System.nanoTime() - start;
+            MythicProfiler.record(Category.ENCHANT, source, elapsed);
+            MythicProfiler.record(Category.TRIGGER, TriggerType.TICK.name(), elapsed);
+        }
+    }
+
+    /**
+     * Processes PROJECTILE_HIT effects from the snapshot the projectile was fired with,
+     * without looking at what its shooter is holding now.
+     * @return true if the projectile carried a snapshot with effect groups to evaluate.
+     */
+    private static boolean processProjectileHit(Projectile projectile, EntityDamageByEntityEvent event, RandomGenerator random, boolean profiled) {
+        if (!(projectile.getShooter() instanceof LivingEntity)) return false;
+        ProjectileSnapshot snapshot = MythicForge.getInstance().getProjectileManager().read(projectile);
+        if (snapshot == null) return false;
+        return processAllEffectsFor((LivingEntity) projectile.getShooter(), TriggerType.PROJECTILE_HIT, event, snapshot, null, random, profiled);
+    }
+
     /**
      * Gathers and processes all effects for a specific entity and trigger type.
+     * @param snapshot The loadout a projectile was fired with, used instead of the entity's
+     *                 current equipment; null to read the equipment.
+     * @param order    Collects the MINE effects that fire; null for every other trigger.
+     * @return true if the entity had any effect groups to evaluate.
      */
-    private static void processAllEffectsFor(LivingEntity entity, TriggerType trigger, EntityDamageByEntityEvent event) {
+    private static boolean processAllEffectsFor(LivingEntity entity, TriggerType trigger, Event event, ProjectileSnapshot snapshot, MiningOrder order, RandomGenerator random, boolean profiled) {
+        long triggerStart = profiled ? System.nanoTime() : 0L;
+        // Disabled JFR events are never committed and are optimised away by the JIT.
+        CombatTriggerEvent jfrEvent = new CombatTriggerEvent();
+        jfrEvent.begin();
+        int procs = 0;
         List<Map<?, ?>> allEffectGroups = new ArrayList<>();
+        // The source (enchant ID or set) of each effect group, used to attribute profiler time.
+        // Only collected for sampled events; null otherwise.
+        List<String> groupSources = profiled ? new ArrayList<>() : null;
         Map<String, Integer> allEnchantsOnEntity = new HashMap<>();
 
-        // 1. Get effects from equipped items (enchantments)
-        for (ItemStack item : getEquippedItems(entity)) {
-            if (item == null || !item.hasItemMeta()) continue;
-            Map<String, Integer> itemEnchants = MythicForge.getInstance().getItemManager().getEnchants(item.getItemMeta());
+        // 1. Get effects from equipped items (enchantments), or from the projectile's snapshot
+        List<Map<String, Integer>> enchantSources = new ArrayList<>();
+        if (snapshot != null) {
+            enchantSources.add(snapshot.enchants());
+        } else {
+            for (ItemStack item : getEquippedItems(entity)) {
+                if (item == null || !item.hasItemMeta()) continue;
+                enchantSources.add(MythicForge.getInstance().getItemManager().getEnchants(item.getItemMeta()));
+            }
+        }
+        for (Map<String, Integer> itemEnchants : enchantSources) {
             allEnchantsOnEntity.putAll(itemEnchants);
             for (String enchantId : itemEnchants.keySet()) {
                 CustomEnchant enchant = MythicForge.getInstance().getEnchantmentManager().getEnchantById(enchantId);
-                if (enchant != null) allEffectGroups.addAll(enchant.getEffects());
+                if (enchant != null) {
+                    allEffectGroups.addAll(enchant.getEffects());
+                    if (groupSources != null) {
+                        for (int i = 0; i < enchant.getEffects().size(); i++) groupSources.add(enchant.getId());
+                    }
+                }
             }
         }
 
         // 2. Get effects from active Set Bonuses if the entity is a player
-        if (entity instanceof Player) {
-            Optional<ActiveBonus> activeBonusOpt = MythicForge.getInstance().getSetBonusManager().getActiveBonusFor((Player) entity);
-            activeBonusOpt.ifPresent(activeBonus -> allEffectGroups.addAll(activeBonus.tier().getTriggeredEffects()));
+        Optional<ActiveBonus> activeBonusOpt = Optional.empty();
+        if (snapshot != null) {
+            activeBonusOpt = Optional.ofNullable(snapshot.activeBonus());
+        } else if (entity instanceof Player) {
+            activeBonusOpt = MythicForge.getInstance().getSetBonusManager().getActiveBonusFor((Player) entity);
         }
+        activeBonusOpt.ifPresent(activeBonus -> {
+            allEffectGroups.addAll(activeBonus.tier().getTriggeredEffects());
+            if (groupSources == null) return;
+            for (int i = 0; i < activeBonus.tier().getTriggeredEffects().size(); i++) {
+                groupSources.add("set:" + activeBonus.set().getSetId());
+            }
+        });
 
         // 3. Process all gathered effect groups
-        for (Map<?, ?> effectGroup : allEffectGroups) {
+        for (int i = 0; i < allEffectGroups.size(); i++) {
+            Map<?, ?> effectGroup = allEffectGroups.get(i);
             if (trigger.name().equalsIgnoreCase(String.valueOf(effectGroup.get("trigger")))) {
-                int level = 1; // Default level for set/rune effects
-                String cooldownId = entity.getUniqueId().toString() + ":" + effectGroup.hashCode();
-                
-                if (checkConditions(effectGroup, entity, level, event, cooldownId)) {
-                    executeEffects(effectGroup, entity, level, event);
-                    if (getCooldownDuration(effectGroup) > 0) {
-                        startCooldown(entity.getUniqueId(), cooldownId);
-                    }
-                }
+                long groupStart = profiled ? System.nanoTime() : 0L;
+                if (processGroup(effectGroup, entity, event, order, random, profiled)) procs++;
+                if (profiled) MythicProfiler.record(Category.ENCHANT, groupSources.get(i), System.nanoTime() - groupStart);
             }
         }
+        if (profiled) MythicProfiler.record(Category.TRIGGER, trigger.name(), System.nanoTime() - triggerStart);
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.entityType = entity.getType().name();
+            jfrEvent.trigger = trigger.name();
+            jfrEvent.enchantCount = allEnchantsOnEntity.size();
+            jfrEvent.effectGroups = allEffectGroups.size();
+            jfrEvent.procs = procs;
+            jfrEvent.commit();
+        }
+        return !allEffectGroups.isEmpty();
     }
     
     // --- All Helper Methods ---
 
-    private static boolean checkConditions(Map<?, ?> effectGroup, LivingEntity owner, int level, EntityDamageByEntityEvent event, String cooldownId) {
+    /**
+     * Checks a group's conditions and, if they pass, executes its effects and starts its cooldown.
+     * @return true if the group's effects were executed.
+     */
+    private static boolean processGroup(Map<?, ?> effectGroup, LivingEntity entity, Event event, MiningOrder order, RandomGenerator random, boolean profiled) {
+        int level = 1; // Default level for set/rune effects
+        String cooldownId = entity.getUniqueId().toString() + ":" + effectGroup.hashCode();
+
+        if (!checkConditions(effectGroup, entity, level, event, cooldownId, random, profiled)) return false;
+        executeEffects(effectGroup, entity, level, event, order, profiled);
+        long cooldownSeconds = getCooldownDuration(effectGroup);
+        if (cooldownSeconds > 0) {
+            startCooldown(entity, cooldownId, cooldownSeconds * 1000);
+        }
+        return true;
+    }
+
+    private static boolean checkConditions(Map<?, ?> effectGroup, LivingEntity owner, int level, Event event, String cooldownId, RandomGenerator random, boolean profiled) {
         List<?> conditions = (List<?>) effectGroup.get("conditions");
         if (conditions == null || conditions.isEmpty()) return true;
 
         for (Object conditionObj : conditions) {
+            long conditionStart = profiled ? System.nanoTime() : 0L;
             String condition = String.valueOf(conditionObj);
             String[] parts = condition.split(" ", 2);
-            switch (parts[0].toLowerCase()) {
-                case "chance":
-                    if (ThreadLocalRandom.current().nextDouble(100) >= evaluateExpression(parts[1], level, event)) return false;
-                    break;
-                case "health_below_percent":
-                    AttributeInstance maxHealth = owner.getAttribute(Attribute.GENERIC_MAX_HEALTH);
-                    if (maxHealth == null || (owner.getHealth() / maxHealth.getValue()) * 100 > Double.parseDouble(parts[1])) return false;
-                    break;
-                case "is_projectile":
-                    if (!event.getCause().name().contains("PROJECTILE")) return false;
-                    break;
-                case "cooldown":
-                    if (isOnCooldown(owner.getUniqueId(), cooldownId, Long.parseLong(parts[1]) * 1000)) return false;
-                    break;
-            }
+            boolean passed = checkCondition(parts, owner, level, event, cooldownId, random);
+            if (profiled) MythicProfiler.record(Category.CONDITION, parts[0].toLowerCase(), System.nanoTime() - conditionStart);
+            if (!passed) return false;
         }
         return true;
     }
 
-    private static void executeEffects(Map<?, ?> effectGroup, LivingEntity owner, int level, EntityDamageByEntityEvent event) {
+    private static boolean checkCondition(String[] parts, LivingEntity owner, int level, Event event, String cooldownId, RandomGenerator random) {
+        switch (parts[0].toLowerCase()) {
+            case "chance":
+                if (random.nextDouble(100) >= evaluateExpression(parts[1], level, event)) return false;
+                break;
+            case "health_below_percent":
+                AttributeInstance maxHealth = owner.getAttribute(Attribute.GENERIC_MAX_HEALTH);
+                if (maxHealth == null || (owner.getHealth() / maxHealth.getValue()) * 100 > Double.parseDouble(parts[1])) return false;
+                break;
+            case "is_projectile":
+                if (!(event instanceof EntityDamageByEntityEvent)
+                        || !((EntityDamageByEntityEvent) event).getCause().name().contains("PROJECTILE")) return false;
+                break;
+            case "cooldown":
+                if (isOnCooldown(owner, cooldownId)) return false;
+                break;
+        }
+        return true;
+    }
+
+    private static void executeEffects(Map<?, ?> effectGroup, LivingEntity owner, int level, Event event, MiningOrder order, boolean profiled) {
         List<?> effects = (List<?>) effectGroup.get("effects");
         if (effects == null) return;
         
-        LivingEntity target = (event.getEntity() instanceof LivingEntity) ? (LivingEntity) event.getEntity() : null;
-        LivingEntity attacker = (event.getDamager() instanceof LivingEntity) ? (LivingEntity) event.getDamager() : null;
+        LivingEntity target = null;
+        LivingEntity attacker = null;
+        if (event instanceof EntityDamageByEntityEvent) {
+            EntityDamageByEntityEvent combat = (EntityDamageByEntityEvent) event;
+            target = (combat.getEntity() instanceof LivingEntity) ? (LivingEntity) combat.getEntity() : null;
+            if (combat.getDamager() instanceof LivingEntity) {
+                attacker = (LivingEntity) combat.getDamager();
+            } else if (combat.getDamager() instanceof Projectile && ((Projectile) combat.getDamager()).getShooter() instanceof LivingEntity) {
+                attacker = (LivingEntity) ((Projectile) combat.getDamager()).getShooter();
+            }
+        }
+        executeEffects(effects, 0, owner, target, attacker, level, event, order, profiled);
+    }
 
-        for (Object effectObj : effects) {
-            String effect = String.valueOf(effectObj);
-            String[] parts = effect.split(":", 2);
-            String type = parts[0].toUpperCase();
-            String args = parts.length > 1 ? parts[1] : "";
+    /**
+     * Executes a list of effects from the given index. A DELAY effect stops the run and
+     * schedules the remaining effects for later, on the owner's timers, so they are dropped
+     * if the owner dies or leaves first.
+     */
+    private static void executeEffects(List<?> effects, int from, LivingEntity owner, LivingEntity target, LivingEntity attacker, int level, Event event, MiningOrder order, boolean profiled) {
+        for (int i = from; i < effects.size(); i++) {
+            String effect = String.valueOf(effects.get(i));
+            // Most effects are 'TYPE:args', but some, like AOE_EFFECT, are 'TYPE key:value ...'.
+            int colon = effect.indexOf(':');
+            int space = effect.indexOf(' ');
+            int split = (space >= 0 && (colon < 0 || space < colon)) ? space : colon;
+            String type = (split >= 0 ? effect.substring(0, split) : effect).toUpperCase();
+            String args = split >= 0 ? effect.substring(split + 1) : "";
+            long effectStart = profiled ? System.nanoTime() : 0L;
+            long delayTicks = -1;
 
             try {
                 switch (type) {
+                    // Format: DELAY:<ticks>. The effects after it run that many ticks later.
+                    case "DELAY":
+                        delayTicks = Math.max(1L, (long) evaluateExpression(args, level, event));
+                        break;
                     case "HEAL":
                         AttributeInstance maxHealth = owner.getAttribute(Attribute.GENERIC_MAX_HEALTH);
                         if(maxHealth != null) {
                             double amount = evaluateExpression(args, level, event);
                             owner.setHealth(Math.min(maxHealth.getValue(), owner.getHealth() + amount));
+                            MythicMetrics.EFFECT_PROCS.inc(type);
                         }
                         break;
                     case "TARGET_POTION":
-                        if (target != null) applyPotion(target, args);
+                        if (target != null) {
+                            applyPotion(target, args);
+                            MythicMetrics.EFFECT_PROCS.inc(type);
+                        }
                         break;
                     case "ATTACKER_POTION":
-                        if (attacker != null) applyPotion(attacker, args);
+                        if (attacker != null) {
+                            applyPotion(attacker, args);
+                            MythicMetrics.EFFECT_PROCS.inc(type);
+                        }
                         break;
-                    // Add other effect implementations here
+                    // Format: SOUND:<SOUND> [volume:v] [pitch:p], PARTICLE:<PARTICLE> [count:n] [speed:s] [radius:r] [material:m]
+                    // Played on the target if there is one, otherwise on the owner, at the end of the tick.
+                    case "SOUND":
+                    case "PARTICLE":
+                        LivingEntity at = target != null ? target : owner;
+                        MythicForge.getInstance().getCosmeticDispatcher().queue(type, args,
+                                at.getLocation().add(0, at.getHeight() / 2, 0));
+                        MythicMetrics.EFFECT_PROCS.inc(type);
+                        break;
+                    // Format: AOE_EFFECT target:<friends/enemies/all> radius:<blocks> effect:'<effect_string>'
+                    // Centred on the target if there is one, otherwise on the owner.
+                    case "AOE_EFFECT":
+                        executeAoeEffect(owner, target != null ? target : owner, args, level, event);
+                        MythicMetrics.EFFECT_PROCS.inc(type);
+                        break;
+                    // Format: AREA:<radius>, VEIN:<max_blocks>, AUTO_SMELT. Only used by the MINE trigger.
+                    case "AREA":
+                        if (order != null) {
+                            order.area((int) evaluateExpression(args, level, event));
+                            MythicMetrics.EFFECT_PROCS.inc(type);
+                        }
+                        break;
+                    case "VEIN":
+                        if (order != null) {
+                            order.vein((int) evaluateExpression(args, level, event));
+                            MythicMetrics.EFFECT_PROCS.inc(type);
+                        }
+                        break;
+                    case "AUTO_SMELT":
+                        if (order != null) {
+                            order.autoSmelt();
+                            MythicMetrics.EFFECT_PROCS.inc(type);
+                        }
+                        break;
+                    // Add other effect implementations here. Each counts itself in EFFECT_PROCS
+                    // once it has run, so DELAY and unknown types never become metric labels.
                 }
             } catch (Exception e) {
                 MythicForge.getInstance().getLogger().warning("Could not execute effect: " + effect + " | Error: " + e.getMessage());
             }
+            if (profiled) MythicProfiler.record(Category.EFFECT, type, System.nanoTime() - effectStart);
+            if (delayTicks >= 0) {
+                scheduleRemainingEffects(effects, i + 1, owner, target, attacker, level, event, delayTicks);
+                return;
+            }
         }
     }
 
+    private static void scheduleRemainingEffects(List<?> effects, int from, LivingEntity owner, LivingEntity target, LivingEntity attacker, int level, Event event, long delayTicks) {
+        if (from >= effects.size()) return;
+        // The mining order has been carried out by then, so AREA, VEIN and AUTO_SMELT after a DELAY do nothing.
+        MythicForge.getInstance().getTimerManager().runLater(owner, delayTicks, () ->
+                executeEffects(effects, from, owner, stillReachable(target), stillReachable(attacker), level, event, null,
+                        MythicProfiler.shouldSample()));
+    }
+
+    /**
+     * @return The entity if a delayed effect may still act on it from the owner's thread, otherwise null.
+     */
+    private static LivingEntity stillReachable(LivingEntity entity) {
+        return entity != null && entity.isValid() && MythicScheduler.ownsEntity(entity) ? entity : null;
+    }
+
     private static double evaluateExpression(String expression, int level, Event event) {
         try {
             double damage = (event instanceof EntityDamageByEntityEvent) ? ((EntityDamageByEntityEvent) event).getFinalDamage() : 0;
             String processed = expression.replace("{level_number}", String.valueOf(level)).replace("{damage}", String.valueOf(damage));
-            return Double.parseDouble(scriptEngine.eval(processed).toString());
+            // Plain numbers, like most AREA and VEIN sizes, do not need the script engine.
+            try {
+                return Double.parseDouble(processed.trim());
+            } catch (NumberFormatException notANumber) {
+                // The script engine is not thread-safe, and regions evaluate concurrently on Folia.
+                synchronized (scriptEngine) {
+                    return Double.parseDouble(scriptEngine.eval(processed).toString());
+                }
+            }
         } catch (Exception e) { return 0.0; }
     }
     
+    /**
+     * Applies an AOE_EFFECT's inner effect to every entity it reaches. Supported inner effects
+     * are POTION:<TYPE>:<AMPLIFIER>:<DURATION_TICKS>, DAMAGE:<amount> and HEAL:<amount>.
+     */
+    private static void executeAoeEffect(LivingEntity owner, LivingEntity center, String args, int level, Event event) {
+        int effectStart = args.indexOf("effect:");
+        if (effectStart < 0) throw new IllegalArgumentException("AOE_EFFECT needs an effect:'<effect_string>'");
+        String innerEffect = args.substring(effectStart + "effect:".length()).trim();
+        if (innerEffect.length() >= 2 && innerEffect.startsWith("'") && innerEffect.endsWith("'")) {
+            innerEffect = innerEffect.substring(1, innerEffect.length() - 1);
+        }
+        TargetGroup group = TargetGroup.ENEMIES;
+        double radius = 3;
+        for (String option : args.substring(0, effectStart).trim().split("\\s+")) {
+            String[] pair = option.split(":", 2);
+            if (pair.length < 2) continue;
+            if (pair[0].equalsIgnoreCase("target")) group = TargetGroup.valueOf(pair[1].toUpperCase());
+            else if (pair[0].equalsIgnoreCase("radius")) radius = evaluateExpression(pair[1], level, event);
+        }
+
+        String[] innerParts = innerEffect.split(":", 2);
+        String innerType = innerParts[0].toUpperCase();
+        String innerArgs = innerParts.length > 1 ? innerParts[1] : "";
+        Location location = center.getLocation();
+        for (LivingEntity entity : MythicForge.getInstance().getAoeManager().findTargets(owner, location, radius, group)) {
+            switch (innerType) {
+                case "POTION":
+                    applyPotion(entity, innerArgs);
+                    break;
+                case "DAMAGE":
+                    // No damage source, so the hit cannot set off the ATTACK effects of the owner again.
+                    entity.damage(evaluateExpression(innerArgs, level, event));
+                    break;
+                case "HEAL":
+                    AttributeInstance maxHealth = entity.getAttribute(Attribute.GENERIC_MAX_HEALTH);
+                    if (maxHealth != null) {
+                        entity.setHealth(Math.min(maxHealth.getValue(), entity.getHealth() + evaluateExpression(innerArgs, level, event)));
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported AOE_EFFECT effect: " + innerEffect);
+            }
+        }
+    }
+
     private static void applyPotion(LivingEntity entity, String args) {
         try {
             String[] parts = args.split(":");
@@ -181,12 +481,54 @@ public final class EffectProcessor {
         }
     }
 
-    private static boolean isOnCooldown(UUID uuid, String id, long duration) {
-        return cooldowns.getOrDefault(uuid, Collections.emptyMap()).getOrDefault(id, 0L) + duration > System.currentTimeMillis();
+    private static Map<String, Long> cooldownsOf(LivingEntity entity) {
+        if (entity instanceof Player) {
+            return MythicForge.getInstance().getSessionManager().get((Player) entity).getCooldowns();
+        }
+        return mobCooldowns.computeIfAbsent(entity.getUniqueId(), k -> new ConcurrentHashMap<>());
+    }
+
+    private static boolean isOnCooldown(LivingEntity entity, String id) {
+        Map<String, Long> entityCooldowns = entity instanceof Player ? cooldownsOf(entity) : mobCooldowns.get(entity.getUniqueId());
+        return entityCooldowns != null && entityCooldowns.getOrDefault(id, 0L) > System.currentTimeMillis();
     }
 
-    private static void startCooldown(UUID uuid, String id) {
-        cooldowns.computeIfAbsent(uuid, k -> new HashMap<>()).put(id, System.currentTimeMillis());
+    private static void startCooldown(LivingEntity entity, String id, long durationMillis) {
+        // Cooldowns are stored as expiry timestamps so they can be counted without their config.
+        cooldownsOf(entity).put(id, System.currentTimeMillis() + durationMillis);
+    }
+
+    /**
+     * Counts the cooldowns that are still running for a player, pruning expired ones.
+     * Safe to call from any thread.
+     *
+     * @param player The player.
+     * @return The number of effect groups currently on cooldown.
+     */
+    public static int countActiveCooldowns(Player player) {
+        Map<String, Long> playerCooldowns = cooldownsOf(player);
+        long now = System.currentTimeMillis();
+        playerCooldowns.values().removeIf(expiry -> expiry <= now);
+        return playerCooldowns.size();
+    }
+
+    /**
+     * Forgets a mob's cooldowns, typically when it dies, unloads or is removed.
+     *
+     * @param uuid The UUID of the mob.
+     */
+    public static void forgetCooldowns(UUID uuid) {
+        mobCooldowns.remove(uuid);
+    }
+
+    /**
+     * @return The total number of cooldown entries held in memory, including expired ones
+     *         that have not been pruned yet. Safe to call from any thread.
+     */
+    public static int getCooldownEntryCount() {
+        int total = MythicForge.getInstance().getSessionManager().countCooldownEntries();
+        for (Map<String, Long> entityCooldowns : mobCooldowns.values()) total += entityCooldowns.size();
+        return total;
     }
     
     private static long getCooldownDuration(Map<?, ?> effectGroup) {
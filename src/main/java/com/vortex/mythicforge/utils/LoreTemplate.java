@@ -0,0 +1,89 @@
+package com.vortex.mythicforge.utils;
+
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A line of display text compiled once into literal segments and placeholder slots. Filling
+ * it in is then a single pass into one StringBuilder, instead of a String.replace and a color
+ * translation per placeholder on every use.
+ * <p>
+ * The '&' color codes of the template are translated when it is compiled. Values filled in
+ * are inserted as they are, so they must already be colored. Braces that do not name one of
+ * the template's placeholders are kept as text.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class LoreTemplate {
+
+    private final String[] literals;
+    private final int[] slots;
+    private final int literalLength;
+
+    private LoreTemplate(String[] literals, int[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) length += literal.length();
+        this.literalLength = length;
+    }
+
+    /**
+     * Compiles a template.
+     *
+     * @param text         The template text, with '&' color codes.
+     * @param placeholders The placeholder names, without braces, in the order
+     *                     {@link #render} takes their values.
+     * @return The compiled template.
+     */
+    public static LoreTemplate compile(String text, String... placeholders) {
+        String colored = ChatColor.translateAlternateColorCodes('&', text);
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < colored.length()) {
+            char c = colored.charAt(i);
+            if (c == '{') {
+                int end = colored.indexOf('}', i + 1);
+                int slot = end > 0 ? indexOf(placeholders, colored.substring(i + 1, end)) : -1;
+                if (slot >= 0) {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    slots.add(slot);
+                    i = end + 1;
+                    continue;
+                }
+            }
+            literal.append(c);
+            i++;
+        }
+        literals.add(literal.toString());
+        return new LoreTemplate(literals.toArray(new String[0]), slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Fills in the template.
+     *
+     * @param values The placeholder values, in the order the placeholders were compiled with.
+     * @return The finished line.
+     */
+    public String render(String... values) {
+        if (slots.length == 0) return literals[0];
+        StringBuilder line = new StringBuilder(literalLength + 16 * slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            line.append(literals[i]).append(values[slots[i]]);
+        }
+        return line.append(literals[slots.length]).toString();
+    }
+
+    private static int indexOf(String[] placeholders, String name) {
+        for (int i = 0; i < placeholders.length; i++) {
+            if (placeholders[i].equals(name)) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,178 @@
+package com.vortex.mythicforge.utils;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules MythicForge's work on the thread that is allowed to do it. On Folia, where every
+ * region of a world ticks on its own thread, work goes to the global region, to the region
+ * that owns a location or to the scheduler of an entity. On Paper all of these are the main
+ * thread, so the plain BukkitScheduler is used, which also keeps MockBukkit working.
+ * <p>
+ * Entity tasks behave the same on both platforms: they stop, and run their retired callback,
+ * once the entity is removed or its player leaves.
+ *
+ * @author Vortex
+ * @version 1.0.2
+ */
+public final class MythicScheduler {
+
+    /** true if the server ticks its regions on separate threads. */
+    public static final boolean FOLIA = detectFolia();
+
+    private static final long MILLIS_PER_TICK = 50L;
+
+    /** A scheduled task, on either platform. */
+    @FunctionalInterface
+    public interface Task {
+        void cancel();
+    }
+
+    private MythicScheduler() {}
+
+    private static boolean detectFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Runs work that belongs to no region, like shop rotation, on the next tick.
+     */
+    public static Task runGlobal(Plugin plugin, Runnable work) {
+        if (FOLIA) {
+            return Bukkit.getGlobalRegionScheduler().run(plugin, task -> work.run())::cancel;
+        }
+        return Bukkit.getScheduler().runTask(plugin, work)::cancel;
+    }
+
+    /**
+     * Repeats work that belongs to no region.
+     */
+    public static Task runGlobalTimer(Plugin plugin, Runnable work, long delayTicks, long periodTicks) {
+        if (FOLIA) {
+            return Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, task -> work.run(), Math.max(1L, delayTicks), periodTicks)::cancel;
+        }
+        return Bukkit.getScheduler().runTaskTimer(plugin, work, delayTicks, periodTicks)::cancel;
+    }
+
+    /**
+     * Repeats work on the region that owns a location. The work must stay within a few chunks
+     * of that location.
+     */
+    public static Task runAtTimer(Plugin plugin, Location location, Runnable work, long delayTicks, long periodTicks) {
+        if (FOLIA) {
+            return Bukkit.getRegionScheduler().runAtFixedRate(plugin, location, task -> work.run(), Math.max(1L, delayTicks), periodTicks)::cancel;
+        }
+        return Bukkit.getScheduler().runTaskTimer(plugin, work, delayTicks, periodTicks)::cancel;
+    }
+
+    /**
+     * Runs work on the thread that owns an entity, after a delay. Nothing runs if the entity
+     * is gone by then.
+     */
+    public static Task runFor(Plugin plugin, Entity entity, Runnable work, long delayTicks) {
+        if (FOLIA) {
+            ScheduledTask task = entity.getScheduler().runDelayed(plugin, t -> work.run(), null, Math.max(1L, delayTicks));
+            return task != null ? task::cancel : () -> {};
+        }
+        return Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            if (exists(entity)) work.run();
+        }, delayTicks)::cancel;
+    }
+
+    /**
+     * Repeats work on the thread that owns an entity, for as long as the entity exists.
+     *
+     * @param retired Runs once when the task stops because the entity is gone. May be null.
+     */
+    public static Task runForTimer(Plugin plugin, Entity entity, Runnable work, Runnable retired, long delayTicks, long periodTicks) {
+        if (FOLIA) {
+            ScheduledTask task = entity.getScheduler().runAtFixedRate(plugin, t -> work.run(), retired, Math.max(1L, delayTicks), periodTicks);
+            if (task == null && retired != null) retired.run();
+            return task != null ? task::cancel : () -> {};
+        }
+        BukkitTask[] handle = new BukkitTask[1];
+        handle[0] = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            if (exists(entity)) {
+                work.run();
+                return;
+            }
+            handle[0].cancel();
+            if (retired != null) retired.run();
+        }, delayTicks, periodTicks);
+        return handle[0]::cancel;
+    }
+
+    /**
+     * Mirrors when Folia retires an entity's scheduler: players live until they leave, even
+     * while dead, and other entities until they are removed. A player counts as gone once they
+     * leave even if they rejoin: isOnline() only looks up the UUID, so the Player of an earlier
+     * login would otherwise keep its tasks running next to the new login's.
+     */
+    public static boolean exists(Entity entity) {
+        if (entity instanceof Player) {
+            Player player = (Player) entity;
+            return Bukkit.getPlayer(player.getUniqueId()) == player;
+        }
+        return entity.isValid();
+    }
+
+    /**
+     * Runs work off the server threads, for file and network I/O.
+     */
+    public static Task runAsync(Plugin plugin, Runnable work) {
+        if (FOLIA) {
+            return Bukkit.getAsyncScheduler().runNow(plugin, task -> work.run())::cancel;
+        }
+        return Bukkit.getScheduler().runTaskAsynchronously(plugin, work)::cancel;
+    }
+
+    /**
+     * Repeats work off the server threads.
+     */
+    public static Task runAsyncTimer(Plugin plugin, Runnable work, long delayTicks, long periodTicks) {
+        if (FOLIA) {
+            return Bukkit.getAsyncScheduler().runAtFixedRate(plugin, task -> work.run(),
+                    Math.max(1L, delayTicks) * MILLIS_PER_TICK, periodTicks * MILLIS_PER_TICK, TimeUnit.MILLISECONDS)::cancel;
+        }
+        return Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, work, delayTicks, periodTicks)::cancel;
+    }
+
+    /**
+     * @return true if the current thread may read and modify the entity right now.
+     */
+    public static boolean ownsEntity(Entity entity) {
+        return FOLIA ? Bukkit.isOwnedByCurrentRegion(entity) : Bukkit.isPrimaryThread();
+    }
+
+    /**
+     * @return true if the current thread may read and modify the world at a location right now.
+     */
+    public static boolean ownsLocation(Location location) {
+        return FOLIA ? Bukkit.isOwnedByCurrentRegion(location) : Bukkit.isPrimaryThread();
+    }
+
+    /**
+     * Cancels every task the plugin scheduled that is not tied to an entity. Entity tasks end
+     * with their entities.
+     */
+    public static void cancelAll(Plugin plugin) {
+        if (FOLIA) {
+            Bukkit.getGlobalRegionScheduler().cancelTasks(plugin);
+            Bukkit.getAsyncScheduler().cancelTasks(plugin);
+        } else {
+            Bukkit.getScheduler().cancelTasks(plugin);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.vortex.mythicforge.utils;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+
+import java.util.*;
+
+/**
+ * A spatial hash of the living entities in one world, bucketed into cubic cells. Building it
+ * costs one pass over the world's entities; after that, every radius query only looks at the
+ * cells the radius overlaps. It is meant to be built once per tick and shared by all queries
+ * made in that tick.
+ *
+ * @author Vortex
+ * @version 1.0.0
+ */
+public final class SpatialIndex {
+
+    private static final int CELL_SHIFT = 3; // 8-block cells
+    private static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+    private final Map<Long, List<LivingEntity>> cells = new HashMap<>();
+
+    /**
+     * Indexes every living entity in the world, as they are right now.
+     *
+     * @param world The world to index.
+     */
+    public SpatialIndex(World world) {
+        for (LivingEntity entity : world.getLivingEntities()) {
+            Location location = entity.getLocation();
+            cells.computeIfAbsent(key(location.getBlockX() >> CELL_SHIFT, location.getBlockY() >> CELL_SHIFT, location.getBlockZ() >> CELL_SHIFT),
+                    k -> new ArrayList<>(4)).add(entity);
+        }
+    }
+
+    /**
+     * Finds the living entities within a radius of a point, nearest first. Entities that
+     * died or moved since the index was built are judged by where they are now.
+     *
+     * @param center The centre of the sphere.
+     * @param radius The radius in blocks.
+     * @return The entities in range, sorted by distance.
+     */
+    public List<LivingEntity> query(Location center, double radius) {
+        double radiusSquared = radius * radius;
+        int reach = (int) Math.ceil(radius / CELL_SIZE) + 1;
+        int cx = center.getBlockX() >> CELL_SHIFT;
+        int cy = center.getBlockY() >> CELL_SHIFT;
+        int cz = center.getBlockZ() >> CELL_SHIFT;
+
+        List<LivingEntity> found = new ArrayList<>();
+        Map<LivingEntity, Double> distances = new HashMap<>();
+        for (int x = cx - reach; x <= cx + reach; x++) {
+            for (int y = cy - reach; y <= cy + reach; y++) {
+                for (int z = cz - reach; z <= cz + reach; z++) {
+                    List<LivingEntity> cell = cells.get(key(x, y, z));
+                    if (cell == null) continue;
+                    for (LivingEntity entity : cell) {
+                        if (!entity.isValid()) continue;
+                        double distanceSquared = entity.getLocation().distanceSquared(center);
+                        if (distanceSquared > radiusSquared) continue;
+                        found.add(entity);
+                        distances.put(entity, distanceSquared);
+                    }
+                }
+            }
+        }
+        found.sort(Comparator.comparingDouble(distances::get));
+        return found;
+    }
+
+    private static long key(int x, int y, int z) {
+        // 26 bits for x and z, 12 bits for y: ample for world borders and build heights in cells.
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+}
@@ -0,0 +1,193 @@
+package com.vortex.mythicforge.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A hashed timing wheel: a ring of slots, one per tick, that holds every pending timeout in
+ * the slot of its deadline. Scheduling and cancelling only link or unlink a list node, so
+ * both are O(1) however many timeouts are pending, and each {@link #tick()} only looks at
+ * the timeouts in one slot. Timeouts further away than one turn of the wheel share a slot
+ * with nearer ones and are simply passed over until their deadline comes round.
+ * <p>
+ * Every timeout belongs to an owner, such as the UUID of an entity, and all timeouts of an
+ * owner can be cancelled at once in time proportional to their number. The wheel is safe to
+ * use from any thread; the tasks themselves run on the thread calling {@link #tick()}.
+ * Each task is handed its own {@link Timeout} when it runs, so it never has to read a handle
+ * that another thread may not have published yet.
+ *
+ * @author Vortex
+ * @version 1.0.1
+ */
+public final class TimingWheel {
+
+    private final Timeout[] slots;
+    private final int mask;
+    // The first timeout of each owner; the rest are linked from it.
+    private final Map<Object, Timeout> owners = new HashMap<>();
+    private long currentTick;
+    private int size;
+
+    /**
+     * A task waiting in the wheel. Cancelling it is safe at any time, even while it runs.
+     */
+    public final class Timeout {
+        private final Object owner;
+        private final Consumer<Timeout> task;
+        private final long period;
+        private long deadline;
+        private boolean linked;
+        private volatile boolean cancelled;
+        private Timeout slotPrev, slotNext;
+        private Timeout ownerPrev, ownerNext;
+
+        private Timeout(Object owner, Consumer<Timeout> task, long deadline, long period) {
+            this.owner = owner;
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        /**
+         * Stops the task. A one-shot task that already ran is unaffected.
+         */
+        public void cancel() {
+            synchronized (TimingWheel.this) {
+                if (cancelled) return;
+                cancelled = true;
+                if (linked) remove(this);
+            }
+        }
+
+        /**
+         * @return true if the task was cancelled, either on its own or with its owner.
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * @param slotCount The number of slots, rounded up to a power of two. A wheel with at
+     *                  least as many slots as the usual delay in ticks works best.
+     */
+    public TimingWheel(int slotCount) {
+        int slots = Integer.highestOneBit(Math.max(2, slotCount) - 1) << 1;
+        this.slots = new Timeout[slots];
+        this.mask = slots - 1;
+    }
+
+    /**
+     * Schedules a task.
+     *
+     * @param owner        What the task belongs to, for {@link #cancelAll(Object)}.
+     * @param delayTicks   The ticks until the first run, at least 1.
+     * @param periodTicks  The ticks between runs, or 0 to run once.
+     * @param task         The task, given its own handle every time it runs.
+     * @return The handle to cancel the task with.
+     */
+    public synchronized Timeout schedule(Object owner, long delayTicks, long periodTicks, Consumer<Timeout> task) {
+        Timeout timeout = new Timeout(owner, task, currentTick + Math.max(1L, delayTicks), Math.max(0L, periodTicks));
+        linkSlot(timeout);
+        Timeout head = owners.put(owner, timeout);
+        if (head != null) {
+            timeout.ownerNext = head;
+            head.ownerPrev = timeout;
+        }
+        timeout.linked = true;
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels every pending task of an owner.
+     *
+     * @param owner The owner.
+     */
+    public synchronized void cancelAll(Object owner) {
+        Timeout timeout = owners.remove(owner);
+        while (timeout != null) {
+            Timeout next = timeout.ownerNext;
+            timeout.cancelled = true;
+            timeout.linked = false;
+            timeout.ownerPrev = timeout.ownerNext = null;
+            unlinkSlot(timeout);
+            size--;
+            timeout = next;
+        }
+    }
+
+    /**
+     * Advances the wheel by one tick and runs every task that is due. Tasks may schedule
+     * and cancel tasks; anything they schedule runs on a later tick.
+     */
+    public void tick() {
+        List<Timeout> due = new ArrayList<>();
+        synchronized (this) {
+            currentTick++;
+            Timeout timeout = slots[(int) (currentTick & mask)];
+            while (timeout != null) {
+                Timeout next = timeout.slotNext;
+                if (timeout.deadline <= currentTick) {
+                    due.add(timeout);
+                    if (timeout.period > 0) {
+                        unlinkSlot(timeout);
+                        timeout.deadline = currentTick + timeout.period;
+                        linkSlot(timeout);
+                    } else {
+                        remove(timeout);
+                    }
+                }
+                timeout = next;
+            }
+        }
+        // Run outside the lock, so tasks can use the wheel and other threads are not held up.
+        for (Timeout timeout : due) {
+            if (!timeout.cancelled) timeout.task.accept(timeout);
+        }
+    }
+
+    /**
+     * @return The number of tasks waiting in the wheel.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void remove(Timeout timeout) {
+        unlinkSlot(timeout);
+        if (timeout.ownerPrev != null) {
+            timeout.ownerPrev.ownerNext = timeout.ownerNext;
+        } else if (timeout.ownerNext != null) {
+            owners.put(timeout.owner, timeout.ownerNext);
+        } else {
+            owners.remove(timeout.owner);
+        }
+        if (timeout.ownerNext != null) timeout.ownerNext.ownerPrev = timeout.ownerPrev;
+        timeout.ownerPrev = timeout.ownerNext = null;
+        timeout.linked = false;
+        size--;
+    }
+
+    private void linkSlot(Timeout timeout) {
+        int slot = (int) (timeout.deadline & mask);
+        Timeout head = slots[slot];
+        timeout.slotPrev = null;
+        timeout.slotNext = head;
+        if (head != null) head.slotPrev = timeout;
+        slots[slot] = timeout;
+    }
+
+    private void unlinkSlot(Timeout timeout) {
+        if (timeout.slotPrev != null) {
+            timeout.slotPrev.slotNext = timeout.slotNext;
+        } else {
+            slots[(int) (timeout.deadline & mask)] = timeout.slotNext;
+        }
+        if (timeout.slotNext != null) timeout.slotNext.slotPrev = timeout.slotPrev;
+        timeout.slotPrev = timeout.slotNext = null;
+    }
+}